@@ -0,0 +1,113 @@
+package com.reliaquest.api.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Salary column scans with the stream code they replaced, the scalar kernel and the SIMD kernel, side by side. Run
+ * with {@code ./gradlew api:jmh -Pvector}; without {@code -Pvector} the vector benchmarks report the scalar kernel's
+ * numbers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColumnScanBenchmark {
+
+    private static final int MIN_SALARY = 50_000;
+    private static final int MAX_SALARY = 120_000;
+
+    @Param({"10000", "1000000"})
+    private int rows;
+
+    private List<EmployeeDto> employees;
+    private RosterSnapshot roster;
+    private int[] salaries;
+    private ColumnKernel scalar;
+    private ColumnKernel vector;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        employees = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            employees.add(new EmployeeDto(UUID.randomUUID(), "e" + i,
+                    random.nextInt(50) == 0 ? null : 20_000 + random.nextInt(480_000), 16 + random.nextInt(50),
+                    "t", null));
+        }
+        roster = RosterSnapshot.of(1, employees);
+        salaries = roster.salaryColumn();
+        scalar = ColumnKernels.scalar();
+        vector = ColumnKernels.vector() != null ? ColumnKernels.vector() : scalar;
+    }
+
+    @Benchmark
+    public int highestSalary_stream() {
+        return employees.stream()
+                .filter(employee -> employee.salary() != null)
+                .mapToInt(EmployeeDto::salary)
+                .max()
+                .orElse(0);
+    }
+
+    @Benchmark
+    public int highestSalary_scalar() {
+        return scalar.max(salaries);
+    }
+
+    @Benchmark
+    public int highestSalary_vector() {
+        return vector.max(salaries);
+    }
+
+    @Benchmark
+    public int[] salaryRange_stream() {
+        return IntStream.range(0, roster.size())
+                .filter(row -> roster.salary(row) != RosterSnapshot.MISSING
+                        && roster.salary(row) >= MIN_SALARY && roster.salary(row) <= MAX_SALARY)
+                .toArray();
+    }
+
+    @Benchmark
+    public int[] salaryRange_scalar() {
+        return scalar.rowsInRange(salaries, MIN_SALARY, MAX_SALARY);
+    }
+
+    @Benchmark
+    public int[] salaryRange_vector() {
+        return vector.rowsInRange(salaries, MIN_SALARY, MAX_SALARY);
+    }
+
+    @Benchmark
+    public List<EmployeeDto> topTen_stream() {
+        return employees.stream()
+                .filter(employee -> employee.salary() != null)
+                .sorted(Comparator.comparing(EmployeeDto::salary).reversed())
+                .limit(10)
+                .toList();
+    }
+
+    @Benchmark
+    public int[] topTen_prunedRanking() {
+        return RowRanking.highest(roster, RankBy.SALARY, 10);
+    }
+}
@@ -0,0 +1,18 @@
+package com.reliaquest.api.cache;
+
+import java.io.IOException;
+
+/**
+ * Binary form of a cached value, for the caches that are shared with other replicas.
+ */
+public interface CacheValueCodec {
+
+    /**
+     * @return whether the value can be encoded; null values and unexpected types stay in the local tier only
+     */
+    boolean supports(Object value);
+
+    byte[] encode(Object value) throws IOException;
+
+    Object decode(byte[] bytes) throws IOException;
+}
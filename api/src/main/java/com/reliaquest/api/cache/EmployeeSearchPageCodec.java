@@ -0,0 +1,45 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.EmployeeSearchPage;
+import com.reliaquest.api.model.RosterSnapshot;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Binary form of an {@link EmployeeSearchPage}: the next cursor, if any, followed by the page's employees in the column
+ * layout of {@link RosterSnapshotCodec}.
+ */
+public class EmployeeSearchPageCodec implements CacheValueCodec {
+
+    private final RosterSnapshotCodec snapshotCodec = new RosterSnapshotCodec();
+
+    @Override
+    public boolean supports(Object value) {
+        return value instanceof EmployeeSearchPage;
+    }
+
+    @Override
+    public byte[] encode(Object value) throws IOException {
+        EmployeeSearchPage page = (EmployeeSearchPage) value;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeBoolean(page.nextCursor() != null);
+        if (page.nextCursor() != null) {
+            out.writeUTF(page.nextCursor());
+        }
+        snapshotCodec.write(RosterSnapshot.of(0, page.content()), out);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public EmployeeSearchPage decode(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        String nextCursor = in.readBoolean() ? in.readUTF() : null;
+        return new EmployeeSearchPage(snapshotCodec.read(in).employees(), nextCursor);
+    }
+}
@@ -0,0 +1,207 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.RosterSnapshot;
+import com.reliaquest.api.model.StringColumn;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Compact binary form of a {@link RosterSnapshot}, written column by column: a header, the id, salary and age columns
+ * as raw primitives and then each string column as its pool followed by one reference per row.
+ */
+public class RosterSnapshotCodec implements CacheValueCodec {
+
+    private static final int MAGIC = 0x52534e31; // "RSN1"
+
+    // two ids, salary, age and three string refs
+    private static final int MIN_ROW_BYTES = 36;
+
+    /**
+     * Stale snapshots are not shared: the flag is not part of the format and peers should load their own.
+     */
+    @Override
+    public boolean supports(Object value) {
+        return value instanceof RosterSnapshot snapshot && !snapshot.stale();
+    }
+
+    @Override
+    public byte[] encode(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        write((RosterSnapshot) value, bytes);
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public RosterSnapshot decode(byte[] bytes) throws IOException {
+        return read(new ByteArrayInputStream(bytes));
+    }
+
+    public void write(RosterSnapshot snapshot, OutputStream target) throws IOException {
+        DataOutputStream out = new DataOutputStream(target);
+        int size = snapshot.size();
+        out.writeInt(MAGIC);
+        out.writeLong(snapshot.version());
+        out.writeInt(size);
+        for (int row = 0; row < size; row++) {
+            out.writeLong(snapshot.idMostSignificantBits(row));
+        }
+        for (int row = 0; row < size; row++) {
+            out.writeLong(snapshot.idLeastSignificantBits(row));
+        }
+        for (int row = 0; row < size; row++) {
+            out.writeInt(snapshot.salary(row));
+        }
+        for (int row = 0; row < size; row++) {
+            out.writeInt(snapshot.age(row));
+        }
+        writeColumn(snapshot.names(), out);
+        writeColumn(snapshot.titles(), out);
+        writeColumn(snapshot.emails(), out);
+        out.flush();
+    }
+
+    public RosterSnapshot read(InputStream source) throws IOException {
+        DataInputStream in = new DataInputStream(source);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a roster snapshot");
+        }
+        long version = in.readLong();
+        int size = in.readInt();
+        long[] most = new long[size];
+        long[] least = new long[size];
+        int[] salaries = new int[size];
+        int[] ages = new int[size];
+        for (int row = 0; row < size; row++) {
+            most[row] = in.readLong();
+        }
+        for (int row = 0; row < size; row++) {
+            least[row] = in.readLong();
+        }
+        for (int row = 0; row < size; row++) {
+            salaries[row] = in.readInt();
+        }
+        for (int row = 0; row < size; row++) {
+            ages[row] = in.readInt();
+        }
+        return RosterSnapshot.fromColumns(version, most, least, salaries, ages,
+                readColumn(in, size), readColumn(in, size), readColumn(in, size));
+    }
+
+    /**
+     * Reads a snapshot straight out of a buffer, e.g. a memory-mapped file: the primitive columns are bulk copies, and
+     * the size fields are checked against the bytes left, so a torn or corrupt buffer fails with an IOException rather
+     * than allocating huge arrays. The buffer's position is left unchanged.
+     */
+    public RosterSnapshot read(ByteBuffer source) throws IOException {
+        ByteBuffer in = source.slice().order(ByteOrder.BIG_ENDIAN);
+        try {
+            if (in.getInt() != MAGIC) {
+                throw new IOException("Not a roster snapshot");
+            }
+            long version = in.getLong();
+            int size = in.getInt();
+            if (size < 0 || size > in.remaining() / MIN_ROW_BYTES) {
+                throw new IOException("Truncated roster snapshot");
+            }
+            long[] most = new long[size];
+            long[] least = new long[size];
+            int[] salaries = new int[size];
+            int[] ages = new int[size];
+            in.asLongBuffer().get(most);
+            in.position(in.position() + size * Long.BYTES);
+            in.asLongBuffer().get(least);
+            in.position(in.position() + size * Long.BYTES);
+            in.asIntBuffer().get(salaries);
+            in.position(in.position() + size * Integer.BYTES);
+            in.asIntBuffer().get(ages);
+            in.position(in.position() + size * Integer.BYTES);
+            return RosterSnapshot.fromColumns(version, most, least, salaries, ages,
+                    readColumn(in, size), readColumn(in, size), readColumn(in, size));
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Truncated roster snapshot", e);
+        }
+    }
+
+    private static void writeColumn(StringColumn column, DataOutputStream out) throws IOException {
+        out.writeInt(column.poolSize());
+        for (int ref = 0; ref < column.poolSize(); ref++) {
+            out.writeUTF(column.poolValue(ref));
+        }
+        for (int row = 0; row < column.size(); row++) {
+            out.writeInt(column.ref(row));
+        }
+    }
+
+    private static StringColumn readColumn(DataInputStream in, int size) throws IOException {
+        String[] pool = new String[in.readInt()];
+        for (int ref = 0; ref < pool.length; ref++) {
+            pool[ref] = in.readUTF();
+        }
+        int[] refs = new int[size];
+        for (int row = 0; row < size; row++) {
+            refs[row] = in.readInt();
+        }
+        return StringColumn.fromPool(pool, refs);
+    }
+
+    private static StringColumn readColumn(ByteBuffer in, int size) throws IOException {
+        int poolSize = in.getInt();
+        // every pool entry takes at least its two length bytes
+        if (poolSize < 0 || poolSize > in.remaining() / 2) {
+            throw new IOException("Truncated roster snapshot");
+        }
+        DataInputStream strings = new DataInputStream(new ByteBufferInputStream(in));
+        String[] pool = new String[poolSize];
+        for (int ref = 0; ref < pool.length; ref++) {
+            pool[ref] = strings.readUTF();
+        }
+        int[] refs = new int[size];
+        in.asIntBuffer().get(refs);
+        in.position(in.position() + size * Integer.BYTES);
+        for (int ref : refs) {
+            if (ref < -1 || ref >= poolSize) {
+                throw new IOException("Corrupt roster snapshot");
+            }
+        }
+        return StringColumn.fromPool(pool, refs);
+    }
+
+    /**
+     * Reads through to the buffer without read-ahead, so the buffer's position stays exact.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(target, offset, count);
+            return count;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.RosterSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * Last-known-good roster on local disk, in the {@link RosterSnapshotCodec} format. It is replaced atomically (written
+ * next to the target and moved over it), so a crash mid-write leaves the previous copy intact. An empty
+ * {@code com.reliaquest.api.roster.snapshot-file} turns persistence off.
+ */
+@Component
+@Slf4j
+public class RosterSnapshotFile {
+
+    private final Path path;
+    private final RosterSnapshotCodec codec = new RosterSnapshotCodec();
+
+    public RosterSnapshotFile(@Value("${com.reliaquest.api.roster.snapshot-file:}") String path) {
+        this.path = path == null || path.isBlank() ? null : Path.of(path);
+    }
+
+    public Optional<RosterSnapshot> load() {
+        if (path == null || !Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            RosterSnapshot snapshot = codec.read(in);
+            log.info("Loaded roster snapshot version={} size={} from {}", snapshot.version(), snapshot.size(), path);
+            return Optional.of(snapshot);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable roster snapshot {}", path, e);
+            return Optional.empty();
+        }
+    }
+
+    public void save(RosterSnapshot snapshot) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Path directory = path.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                    codec.write(snapshot, out);
+                }
+                move(temp);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            log.warn("Unable to persist roster snapshot to {}", path, e);
+        }
+    }
+
+    private void move(Path temp) throws IOException {
+        try {
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
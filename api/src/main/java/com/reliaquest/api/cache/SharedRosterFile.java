@@ -0,0 +1,280 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.RosterSnapshot;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Roster snapshot shared by all api processes on one host through a memory-mapped file, so the mock employee service is
+ * called once per host rather than once per process. Only the encoded bytes are shared, through the page cache; every
+ * process still decodes the roster into its own heap, so memory use grows with the number of processes as before.
+ * Whichever process holds the lock on {@code <file>.lock} is the publisher: it loads the roster from downstream and
+ * writes it here; every other process reads it from the mapping. The OS drops the lock with its holder, and the next
+ * process to look takes over. A sidecar refresher can take the publisher's place, with the api processes set to
+ * {@code shared-publisher=false}.
+ * <p>
+ * The file is a 64 byte header followed by the snapshot in the {@link RosterSnapshotCodec} format. The header's
+ * sequence works as a seqlock: odd while the publisher rewrites the payload, so a reader that saw it change (or odd)
+ * discards what it decoded and retries. A publication older than {@code shared-max-age}, e.g. of a publisher that hung,
+ * is ignored and readers load the roster themselves. A reader caches what it adopted for the cache's TTL on top of that
+ * age, so the max age defaults to the TTL of the {@code employees} cache. An empty
+ * {@code com.reliaquest.api.roster.shared-file} turns sharing off.
+ */
+@Component
+@Slf4j
+public class SharedRosterFile {
+
+    private static final int MAGIC = 0x52534831; // "RSH1"
+    private static final int MAGIC_OFFSET = 0;
+    private static final int SEQUENCE_OFFSET = 8;
+    private static final int PUBLISHED_AT_OFFSET = 16;
+    private static final int LENGTH_OFFSET = 24;
+    private static final int HEADER_BYTES = 64;
+    private static final int MAX_READ_ATTEMPTS = 100;
+
+    // volatile access to the header fields, so they are ordered against the payload for other processes too
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final Path path;
+    private final boolean publisher;
+    private final Duration maxAge;
+    private final Clock clock;
+    private final RosterSnapshotCodec codec = new RosterSnapshotCodec();
+
+    private FileChannel channel;
+    private FileChannel lockChannel;
+    private FileLock lock;
+    private MappedByteBuffer mapped;
+    private long publishedVersion = Long.MIN_VALUE;
+
+    // the last decoded publication, handed out again until the sequence moves on
+    private long decodedSequence = -1;
+    private RosterSnapshot decoded;
+
+    @Autowired
+    public SharedRosterFile(@Value("${com.reliaquest.api.roster.shared-file:}") String path,
+                            @Value("${com.reliaquest.api.roster.shared-publisher:true}") boolean publisher,
+                            @Value("${com.reliaquest.api.roster.shared-max-age:5m}") Duration maxAge) {
+        this(path, publisher, maxAge, Clock.systemUTC());
+    }
+
+    SharedRosterFile(String path, boolean publisher, Duration maxAge, Clock clock) {
+        this.path = path == null || path.isBlank() ? null : Path.of(path);
+        this.publisher = publisher;
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    public boolean enabled() {
+        return path != null;
+    }
+
+    /**
+     * Takes the publisher lock if it is free. Cheap once held, so it is asked before every load.
+     *
+     * @return whether this process is the host's publisher
+     */
+    public synchronized boolean leading() {
+        if (path == null || !publisher) {
+            return false;
+        }
+        if (lock != null) {
+            return true;
+        }
+        try {
+            if (lockChannel == null) {
+                Files.createDirectories(path.toAbsolutePath().getParent());
+                lockChannel = FileChannel.open(lockPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            }
+            lock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // held by another instance within this JVM
+            lock = null;
+        } catch (IOException e) {
+            log.warn("Unable to contend for the shared roster lock {}", lockPath(), e);
+            lock = null;
+        }
+        if (lock != null) {
+            log.info("Publishing the roster for this host to {}", path);
+        }
+        return lock != null;
+    }
+
+    /**
+     * @return the roster last published on this host, unless none was or it is older than the max age
+     */
+    public synchronized Optional<RosterSnapshot> read() {
+        if (path == null) {
+            return Optional.empty();
+        }
+        try {
+            for (int attempt = 0; attempt < MAX_READ_ATTEMPTS; attempt++) {
+                if (!map(false)) {
+                    return Optional.empty();
+                }
+                long sequence = (long) LONG.getVolatile(mapped, SEQUENCE_OFFSET);
+                if ((int) INT.getVolatile(mapped, MAGIC_OFFSET) != MAGIC || sequence == 0) {
+                    return Optional.empty();
+                }
+                if ((sequence & 1) != 0) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                long publishedAt = (long) LONG.getVolatile(mapped, PUBLISHED_AT_OFFSET);
+                if (clock.millis() - publishedAt > maxAge.toMillis()) {
+                    return Optional.empty();
+                }
+                if (sequence == decodedSequence) {
+                    return Optional.of(decoded);
+                }
+                long length = (long) LONG.getVolatile(mapped, LENGTH_OFFSET);
+                if (length < 0 || HEADER_BYTES + length > mapped.capacity()) {
+                    // the publisher grew the file since it was mapped, or this is a torn header
+                    mapped = null;
+                    continue;
+                }
+                RosterSnapshot snapshot;
+                try {
+                    snapshot = codec.read(mapped.slice(HEADER_BYTES, (int) length));
+                } catch (IOException | RuntimeException e) {
+                    snapshot = null;
+                }
+                // keep the payload reads above from drifting past the second look at the sequence
+                VarHandle.acquireFence();
+                if ((long) LONG.getVolatile(mapped, SEQUENCE_OFFSET) != sequence) {
+                    continue;
+                }
+                if (snapshot == null) {
+                    log.warn("Ignoring unreadable shared roster {}", path);
+                    return Optional.empty();
+                }
+                decoded = snapshot;
+                decodedSequence = sequence;
+                return Optional.of(snapshot);
+            }
+        } catch (IOException e) {
+            log.warn("Unable to read shared roster {}", path, e);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Writes the snapshot for the other processes on this host if this process is the publisher. Publishing the
+     * version already published only renews its timestamp, so readers keep trusting an unchanged roster.
+     */
+    public synchronized void publish(RosterSnapshot snapshot) {
+        if (snapshot.stale() || !leading()) {
+            return;
+        }
+        try {
+            if (snapshot.version() == publishedVersion && map(true)) {
+                LONG.setVolatile(mapped, PUBLISHED_AT_OFFSET, clock.millis());
+                return;
+            }
+            byte[] payload = codec.encode(snapshot);
+            grow(HEADER_BYTES + payload.length);
+            // odd from here on; a publisher that died mid-write left it odd already
+            long sequence = (long) LONG.getVolatile(mapped, SEQUENCE_OFFSET) | 1;
+            LONG.setVolatile(mapped, SEQUENCE_OFFSET, sequence);
+            VarHandle.storeStoreFence();
+            mapped.put(HEADER_BYTES, payload);
+            LONG.setVolatile(mapped, LENGTH_OFFSET, (long) payload.length);
+            LONG.setVolatile(mapped, PUBLISHED_AT_OFFSET, clock.millis());
+            INT.setVolatile(mapped, MAGIC_OFFSET, MAGIC);
+            LONG.setVolatile(mapped, SEQUENCE_OFFSET, sequence + 1);
+            publishedVersion = snapshot.version();
+        } catch (IOException e) {
+            log.warn("Unable to publish the roster to {}", path, e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        mapped = null;
+        try {
+            if (lock != null) {
+                lock.release();
+            }
+            if (lockChannel != null) {
+                lockChannel.close();
+            }
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            log.warn("Unable to close shared roster {}", path, e);
+        } finally {
+            lock = null;
+            lockChannel = null;
+            channel = null;
+        }
+    }
+
+    /**
+     * Maps the whole file if it is not mapped yet. Readers only map a file a publisher has created.
+     *
+     * @return whether there is a mapping
+     */
+    private boolean map(boolean create) throws IOException {
+        if (mapped != null) {
+            return true;
+        }
+        if (channel == null) {
+            if (!create && !Files.isRegularFile(path)) {
+                return false;
+            }
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        }
+        long size = channel.size();
+        if (size < HEADER_BYTES) {
+            if (!create) {
+                return false;
+            }
+            size = extend(HEADER_BYTES);
+        }
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        return true;
+    }
+
+    private void grow(long bytes) throws IOException {
+        map(true);
+        if (mapped.capacity() < bytes) {
+            // twice what is needed, so a growing roster does not remap on every publication
+            extend(Math.min(Integer.MAX_VALUE, 2 * bytes));
+            mapped = null;
+            map(true);
+        }
+    }
+
+    private long extend(long size) throws IOException {
+        if (channel.size() < size) {
+            channel.write(ByteBuffer.wrap(new byte[1]), size - 1);
+        }
+        return channel.size();
+    }
+
+    private Path lockPath() {
+        return path.resolveSibling(path.getFileName() + ".lock");
+    }
+}
@@ -0,0 +1,164 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.store.SharedStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Caffeine cache (L1) backed by the {@link SharedStore} (L2). A local miss is looked up in the shared store before the
+ * value is loaded, and loaded values are written to both tiers, so a cold replica is warmed by its peers instead of by
+ * the mock employee service.
+ * <p>
+ * Shared keys are {@code <prefix>:<cache>:<generation>:<key>}. {@link #clear()} bumps the generation instead of
+ * scanning for keys; entries of older generations simply expire. The shared store is an optimisation only: when it
+ * fails, the failure is logged and treated as a miss.
+ */
+@Slf4j
+public class TwoTierCache extends CaffeineCache {
+
+    private final SharedStore sharedStore;
+    private final CacheValueCodec codec;
+    private final String keyPrefix;
+    private final Duration sharedTtl;
+
+    public TwoTierCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> localCache,
+                        SharedStore sharedStore, CacheValueCodec codec, String keyPrefix, Duration sharedTtl) {
+        super(name, localCache, false);
+        this.sharedStore = sharedStore;
+        this.codec = codec;
+        this.keyPrefix = keyPrefix + ":" + name;
+        this.sharedTtl = sharedTtl;
+    }
+
+    @Override
+    @Nullable
+    protected Object lookup(Object key) {
+        Object value = super.lookup(key);
+        if (value == null) {
+            value = readShared(key);
+            if (value != null) {
+                super.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return super.get(key, () -> {
+            Object shared = readShared(key);
+            if (shared != null) {
+                return (T) shared;
+            }
+            T value = valueLoader.call();
+            writeShared(key, value);
+            return value;
+        });
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        super.put(key, value);
+        writeShared(key, value);
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        ValueWrapper existing = super.putIfAbsent(key, value);
+        if (existing == null) {
+            writeShared(key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        super.evict(key);
+        deleteShared(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        deleteShared(key);
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        bumpGeneration();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean present = super.invalidate();
+        bumpGeneration();
+        return present;
+    }
+
+    /**
+     * Replaces the local entry only, e.g. when applying a change that every replica receives on its own.
+     */
+    public void putLocal(Object key, @Nullable Object value) {
+        super.put(key, value);
+    }
+
+    /**
+     * Drops the local tier only, e.g. after a peer announced that it replaced the shared entries.
+     */
+    public void clearLocal() {
+        super.clear();
+    }
+
+    private Object readShared(Object key) {
+        try {
+            byte[] bytes = sharedStore.get(sharedKey(key)).orElse(null);
+            return bytes == null ? null : codec.decode(bytes);
+        } catch (Exception e) {
+            log.warn("Shared cache read failed for cache={} key={}", getName(), key, e);
+            return null;
+        }
+    }
+
+    private void writeShared(Object key, Object value) {
+        if (value == null || !codec.supports(value)) {
+            return;
+        }
+        try {
+            sharedStore.put(sharedKey(key), codec.encode(value), sharedTtl);
+        } catch (Exception e) {
+            log.warn("Shared cache write failed for cache={} key={}", getName(), key, e);
+        }
+    }
+
+    private void deleteShared(Object key) {
+        try {
+            sharedStore.delete(sharedKey(key));
+        } catch (Exception e) {
+            log.warn("Shared cache delete failed for cache={} key={}", getName(), key, e);
+        }
+    }
+
+    private void bumpGeneration() {
+        try {
+            sharedStore.increment(generationKey());
+        } catch (Exception e) {
+            log.warn("Shared cache clear failed for cache={}", getName(), e);
+        }
+    }
+
+    private String sharedKey(Object key) {
+        return keyPrefix + ":" + sharedStore.getCounter(generationKey()) + ":" + key;
+    }
+
+    private String generationKey() {
+        return keyPrefix + ":generation";
+    }
+}
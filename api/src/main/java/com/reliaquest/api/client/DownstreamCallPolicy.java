@@ -0,0 +1,220 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.MockEmployeeServiceTooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Retries and hedging for idempotent reads of the mock employee service.
+ * <p>
+ * A read failing with an I/O error or a 429 is retried with jittered exponential backoff. A 429 carries the cooldown
+ * it started in the {@link DownstreamRequestBudget}, its {@code Retry-After} or else the configured default; that is a
+ * lower bound for the wait, since an earlier retry would only be turned away, and when it exceeds {@code max-wait}
+ * the 429 is passed on instead of blocking the caller. If {@code hedge.delay} is set, a read that has not answered
+ * within it gets a second, parallel request; whichever answers first wins and the other is cancelled. Retries and
+ * hedges are both paid from one {@link RetryBudget}.
+ */
+@Component
+@Slf4j
+public class DownstreamCallPolicy {
+
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration maxWait;
+    private final Duration hedgeDelay;
+    private final RetryBudget retryBudget;
+    private final Sleeper sleeper;
+    private volatile ExecutorService hedgeExecutor;
+
+    @Autowired
+    public DownstreamCallPolicy(@Value("${com.reliaquest.api.mockemployeeservice.retry.max-attempts:3}") int maxAttempts,
+                                @Value("${com.reliaquest.api.mockemployeeservice.retry.initial-backoff:200ms}") Duration initialBackoff,
+                                @Value("${com.reliaquest.api.mockemployeeservice.retry.max-backoff:2s}") Duration maxBackoff,
+                                @Value("${com.reliaquest.api.mockemployeeservice.retry.max-wait:2s}") Duration maxWait,
+                                @Value("${com.reliaquest.api.mockemployeeservice.retry.budget-ratio:0.1}") double budgetRatio,
+                                @Value("${com.reliaquest.api.mockemployeeservice.hedge.delay:}") Duration hedgeDelay) {
+        this(maxAttempts, initialBackoff, maxBackoff, maxWait, hedgeDelay, new RetryBudget(budgetRatio, 10),
+                Thread::sleep);
+    }
+
+    DownstreamCallPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff, Duration maxWait,
+                         Duration hedgeDelay, RetryBudget retryBudget, Sleeper sleeper) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.maxWait = maxWait;
+        this.hedgeDelay = hedgeDelay == null || hedgeDelay.isZero() ? null : hedgeDelay;
+        this.retryBudget = retryBudget;
+        this.sleeper = sleeper;
+    }
+
+    /**
+     * A single attempt, no hedging; for clients used outside the application context.
+     */
+    public static DownstreamCallPolicy none() {
+        return new DownstreamCallPolicy(1, Duration.ZERO, Duration.ZERO, Duration.ZERO, null,
+                new RetryBudget(0, 0), Thread::sleep);
+    }
+
+    public <T> T read(String operation, Supplier<T> call) {
+        Duration backoff = initialBackoff;
+        for (int attempt = 1; ; attempt++) {
+            retryBudget.recordCall();
+            try {
+                return hedgeDelay == null ? call.get() : hedged(operation, call);
+            } catch (MockEmployeeServiceTooManyRequestsException | ResourceAccessException e) {
+                Duration wait = jitter(backoff);
+                if (e instanceof MockEmployeeServiceTooManyRequestsException tooMany && tooMany.getRetryAfter() != null
+                        && tooMany.getRetryAfter().compareTo(wait) > 0) {
+                    wait = tooMany.getRetryAfter();
+                }
+                if (attempt >= maxAttempts || wait.compareTo(maxWait) > 0 || !retryBudget.tryWithdraw()) {
+                    throw e;
+                }
+                log.info("Retrying {} in {} after attempt {} failed: {}", operation, wait, attempt, e.getMessage());
+                sleep(wait, e);
+                backoff = backoff.multipliedBy(2).compareTo(maxBackoff) > 0 ? maxBackoff : backoff.multipliedBy(2);
+            }
+        }
+    }
+
+    private <T> T hedged(String operation, Supplier<T> call) {
+        CompletableFuture<T> primary = attempt(call);
+        CompletableFuture<T> hedge = null;
+        CompletableFuture<T> winner;
+        try {
+            return primary.get(hedgeDelay.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (retryBudget.tryWithdraw()) {
+                log.debug("Hedging {} after {}", operation, hedgeDelay);
+                hedge = attempt(call);
+                winner = firstSuccessful(primary, hedge);
+            } else {
+                winner = primary;
+            }
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            primary.cancel(true);
+            throw new ResourceAccessException("Interrupted while calling " + operation);
+        }
+        try {
+            return winner.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        } finally {
+            // the losing request would otherwise keep its scheduler slot, and its request budget token once admitted
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Runs {@code call} on the hedge executor. Unlike {@link CompletableFuture#supplyAsync}, cancelling the returned
+     * future interrupts the call, or keeps it from starting at all.
+     */
+    private <T> CompletableFuture<T> attempt(Supplier<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = hedgeExecutor().submit(() -> {
+            try {
+                result.complete(call.get());
+            } catch (Throwable error) {
+                result.completeExceptionally(error);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Completes with the first successful result, or with the failure of the request that failed last.
+     */
+    private static <T> CompletableFuture<T> firstSuccessful(CompletableFuture<T> first, CompletableFuture<T> second) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<T> future : List.of(first, second)) {
+            future.whenComplete((value, error) -> {
+                if (error == null) {
+                    result.complete(value);
+                } else if (failures.incrementAndGet() == 2) {
+                    result.completeExceptionally(error);
+                }
+            });
+        }
+        return result;
+    }
+
+    private static RuntimeException unwrap(Throwable error) {
+        return error instanceof RuntimeException runtime ? runtime : new IllegalStateException(error);
+    }
+
+    private ExecutorService hedgeExecutor() {
+        ExecutorService executor = hedgeExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                if (hedgeExecutor == null) {
+                    hedgeExecutor = Executors.newCachedThreadPool(runnable -> {
+                        Thread thread = new Thread(runnable, "mock-employee-hedge");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+                executor = hedgeExecutor;
+            }
+        }
+        return executor;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ExecutorService executor = hedgeExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void sleep(Duration wait, RuntimeException cause) {
+        try {
+            sleeper.sleep(wait.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+
+    private static Duration jitter(Duration backoff) {
+        long millis = backoff.toMillis();
+        return Duration.ofMillis(millis / 2 + ThreadLocalRandom.current().nextLong(millis / 2 + 1));
+    }
+
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(long millis) throws InterruptedException;
+    }
+}
@@ -0,0 +1,32 @@
+package com.reliaquest.api.client;
+
+import java.util.function.Supplier;
+
+/**
+ * Priority classes of calls to the mock employee service, highest first. Writes are always {@link #MUTATION}; reads
+ * take the priority of the current thread, {@link #INTERACTIVE} unless the caller runs them via {@link #callAs}.
+ */
+public enum DownstreamPriority {
+    MUTATION,
+    INTERACTIVE,
+    BACKGROUND;
+
+    private static final ThreadLocal<DownstreamPriority> CURRENT = ThreadLocal.withInitial(() -> INTERACTIVE);
+
+    public static DownstreamPriority current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs the work with downstream reads made on this thread scheduled at the given priority.
+     */
+    public static <T> T callAs(DownstreamPriority priority, Supplier<T> work) {
+        DownstreamPriority previous = CURRENT.get();
+        CURRENT.set(priority);
+        try {
+            return work.get();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+}
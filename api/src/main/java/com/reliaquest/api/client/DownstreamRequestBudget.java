@@ -0,0 +1,134 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.config.CacheProperties;
+import com.reliaquest.api.exception.MockEmployeeServiceUnavailableException;
+import com.reliaquest.api.store.InMemorySharedStore;
+import com.reliaquest.api.store.SharedStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Request budget for the mock employee service shared by every api replica. The downstream rate limit is global, so
+ * the replicas draw from one windowed counter in the {@link SharedStore} and stay below it together; after a 429 all
+ * of them pause for the cooldown instead of each one running into the limit on its own.
+ * <p>
+ * The budget is a guard, not a dependency: when the shared store is unreachable requests are let through.
+ */
+@Component
+@Slf4j
+public class DownstreamRequestBudget {
+
+    private final SharedStore sharedStore;
+    private final int requestsPerWindow;
+    private final Duration window;
+    private final Duration cooldown;
+    private final Clock clock;
+    private final String keyPrefix;
+    private final int backgroundReserve;
+
+    @Autowired
+    public DownstreamRequestBudget(SharedStore sharedStore, CacheProperties cacheProperties,
+                                   @Value("${com.reliaquest.api.mockemployeeservice.budget.requests-per-window:5}") int requestsPerWindow,
+                                   @Value("${com.reliaquest.api.mockemployeeservice.budget.window:30s}") Duration window,
+                                   @Value("${com.reliaquest.api.mockemployeeservice.budget.cooldown:60s}") Duration cooldown,
+                                   @Value("${com.reliaquest.api.mockemployeeservice.budget.background-reserve:2}") int backgroundReserve) {
+        this(sharedStore, cacheProperties.getSharedKeyPrefix(), requestsPerWindow, window, cooldown, backgroundReserve,
+                Clock.systemUTC());
+    }
+
+    DownstreamRequestBudget(SharedStore sharedStore, String keyPrefix, int requestsPerWindow, Duration window,
+                            Duration cooldown, Clock clock) {
+        this(sharedStore, keyPrefix, requestsPerWindow, window, cooldown, 0, clock);
+    }
+
+    DownstreamRequestBudget(SharedStore sharedStore, String keyPrefix, int requestsPerWindow, Duration window,
+                            Duration cooldown, int backgroundReserve, Clock clock) {
+        this.sharedStore = sharedStore;
+        this.backgroundReserve = backgroundReserve;
+        this.keyPrefix = keyPrefix + ":downstream";
+        this.requestsPerWindow = requestsPerWindow;
+        this.window = window;
+        this.cooldown = cooldown;
+        this.clock = clock;
+    }
+
+    /**
+     * Budget that never runs out, for clients used outside the application context.
+     */
+    public static DownstreamRequestBudget unlimited() {
+        return new DownstreamRequestBudget(new InMemorySharedStore(), "unlimited", Integer.MAX_VALUE,
+                Duration.ofSeconds(1), Duration.ZERO, Clock.systemUTC());
+    }
+
+    public void acquire(String operation) {
+        acquire(operation, DownstreamPriority.INTERACTIVE);
+    }
+
+    /**
+     * Takes one request from the budget. {@link DownstreamPriority#BACKGROUND} requests leave the last
+     * {@code background-reserve} requests of each window to user-facing calls.
+     *
+     * @throws MockEmployeeServiceUnavailableException when a cooldown is in effect or this window's budget is spent
+     */
+    public void acquire(String operation, DownstreamPriority priority) {
+        long now = clock.millis();
+        try {
+            long cooldownUntil = sharedStore.get(cooldownKey())
+                    .map(value -> Long.parseLong(new String(value, StandardCharsets.US_ASCII)))
+                    .orElse(0L);
+            if (cooldownUntil > now) {
+                throw new MockEmployeeServiceUnavailableException(
+                        "Mock employee service is cooling down, not calling " + operation,
+                        Duration.ofMillis(cooldownUntil - now));
+            }
+            long windowIndex = now / window.toMillis();
+            String windowKey = keyPrefix + ":window:" + windowIndex;
+            boolean background = priority == DownstreamPriority.BACKGROUND;
+            long used = sharedStore.increment(windowKey, window.multipliedBy(2));
+            boolean spent = used > requestsPerWindow - (background ? backgroundReserve : 0);
+            if (spent && background) {
+                // a refused background request gives its slot back, so it does not eat into the foreground budget
+                sharedStore.decrement(windowKey);
+            }
+            if (spent) {
+                throw new MockEmployeeServiceUnavailableException(
+                        "Mock employee service request budget spent, not calling " + operation,
+                        Duration.ofMillis((windowIndex + 1) * window.toMillis() - now));
+            }
+        } catch (MockEmployeeServiceUnavailableException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.warn("Request budget unavailable, letting {} through", operation, e);
+        }
+    }
+
+    /**
+     * Starts a fleet-wide cooldown, called when the downstream answered 429.
+     *
+     * @param retryAfter how long the downstream asked to wait, or null to use the configured cooldown
+     * @return how long calls are now held back, or null if no cooldown was started
+     */
+    public Duration coolDown(Duration retryAfter) {
+        Duration duration = retryAfter != null ? retryAfter : cooldown;
+        if (duration.isZero() || duration.isNegative() || cooldown.isZero()) {
+            return null;
+        }
+        long until = clock.millis() + duration.toMillis();
+        try {
+            sharedStore.put(cooldownKey(), Long.toString(until).getBytes(StandardCharsets.US_ASCII), duration);
+        } catch (RuntimeException e) {
+            log.warn("Unable to record downstream cooldown", e);
+        }
+        return duration;
+    }
+
+    private String cooldownKey() {
+        return keyPrefix + ":cooldown";
+    }
+}
@@ -0,0 +1,176 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.MockEmployeeServiceUnavailableException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Admission control in front of the mock employee service. At most {@code max-concurrent} calls are in flight; the
+ * others wait in one bounded queue per {@link DownstreamPriority} and a freed slot always goes to the highest priority
+ * waiting. {@link DownstreamPriority#BACKGROUND} work never takes the last {@code background-reserve} slots, so it
+ * cannot hold up user-facing calls.
+ * <p>
+ * Every waiter has a deadline derived from its class's {@code max-wait}. A call whose deadline passes while queued, or
+ * that finds its queue full, is dropped with a {@link MockEmployeeServiceUnavailableException} instead of being sent
+ * late, when its caller has most likely given up.
+ */
+@Component
+public class DownstreamScheduler {
+
+    private static final Duration DROPPED_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final int maxConcurrent;
+    private final int backgroundReserve;
+    private final int queueCapacity;
+    private final Map<DownstreamPriority, Duration> maxWait;
+    private final LongSupplier nanoClock;
+    private final Map<DownstreamPriority, ArrayDeque<Waiter>> queues = new EnumMap<>(DownstreamPriority.class);
+    private int inFlight;
+
+    @Autowired
+    public DownstreamScheduler(@Value("${com.reliaquest.api.mockemployeeservice.scheduler.max-concurrent:2}") int maxConcurrent,
+                               @Value("${com.reliaquest.api.mockemployeeservice.scheduler.background-reserve:1}") int backgroundReserve,
+                               @Value("${com.reliaquest.api.mockemployeeservice.scheduler.queue-capacity:32}") int queueCapacity,
+                               @Value("${com.reliaquest.api.mockemployeeservice.scheduler.max-wait.mutation:10s}") Duration mutationMaxWait,
+                               @Value("${com.reliaquest.api.mockemployeeservice.scheduler.max-wait.interactive:3s}") Duration interactiveMaxWait,
+                               @Value("${com.reliaquest.api.mockemployeeservice.scheduler.max-wait.background:30s}") Duration backgroundMaxWait) {
+        this(maxConcurrent, backgroundReserve, queueCapacity, Map.of(
+                DownstreamPriority.MUTATION, mutationMaxWait,
+                DownstreamPriority.INTERACTIVE, interactiveMaxWait,
+                DownstreamPriority.BACKGROUND, backgroundMaxWait), System::nanoTime);
+    }
+
+    DownstreamScheduler(int maxConcurrent, int backgroundReserve, int queueCapacity,
+                        Map<DownstreamPriority, Duration> maxWait, LongSupplier nanoClock) {
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.backgroundReserve = Math.min(backgroundReserve, this.maxConcurrent - 1);
+        this.queueCapacity = queueCapacity;
+        this.maxWait = maxWait;
+        this.nanoClock = nanoClock;
+        for (DownstreamPriority priority : DownstreamPriority.values()) {
+            queues.put(priority, new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Scheduler that admits everything at once, for clients used outside the application context.
+     */
+    public static DownstreamScheduler unbounded() {
+        Duration forever = Duration.ofDays(1);
+        return new DownstreamScheduler(Integer.MAX_VALUE, 0, Integer.MAX_VALUE, Map.of(
+                DownstreamPriority.MUTATION, forever,
+                DownstreamPriority.INTERACTIVE, forever,
+                DownstreamPriority.BACKGROUND, forever), System::nanoTime);
+    }
+
+    public <T> T call(DownstreamPriority priority, String operation, Supplier<T> call) {
+        acquire(priority, operation);
+        try {
+            return call.get();
+        } finally {
+            release();
+        }
+    }
+
+    synchronized int inFlight() {
+        return inFlight;
+    }
+
+    synchronized int queued(DownstreamPriority priority) {
+        return queues.get(priority).size();
+    }
+
+    private synchronized void acquire(DownstreamPriority priority, String operation) {
+        if (!hasWaitersAtOrAbove(priority) && hasFreeSlot(priority)) {
+            inFlight++;
+            return;
+        }
+        ArrayDeque<Waiter> queue = queues.get(priority);
+        if (queue.size() >= queueCapacity) {
+            throw dropped(operation, "queue full");
+        }
+        Waiter waiter = new Waiter(nanoClock.getAsLong() + maxWait.get(priority).toNanos());
+        queue.addLast(waiter);
+        try {
+            while (!waiter.granted) {
+                long remaining = waiter.deadlineNanos - nanoClock.getAsLong();
+                if (remaining <= 0) {
+                    queue.remove(waiter);
+                    throw dropped(operation, "deadline passed while queued");
+                }
+                wait(Math.max(1, remaining / 1_000_000));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (waiter.granted) {
+                release();
+            } else {
+                queue.remove(waiter);
+            }
+            throw dropped(operation, "interrupted while queued");
+        }
+    }
+
+    private synchronized void release() {
+        inFlight--;
+        grantNext();
+    }
+
+    private void grantNext() {
+        long now = nanoClock.getAsLong();
+        for (DownstreamPriority priority : DownstreamPriority.values()) {
+            Iterator<Waiter> waiters = queues.get(priority).iterator();
+            while (waiters.hasNext() && hasFreeSlot(priority)) {
+                Waiter waiter = waiters.next();
+                waiters.remove();
+                // expired waiters are dropped by their own thread once woken
+                if (waiter.deadlineNanos - now > 0) {
+                    waiter.granted = true;
+                    inFlight++;
+                }
+            }
+        }
+        notifyAll();
+    }
+
+    private boolean hasFreeSlot(DownstreamPriority priority) {
+        int limit = priority == DownstreamPriority.BACKGROUND ? maxConcurrent - backgroundReserve : maxConcurrent;
+        return inFlight < limit;
+    }
+
+    private boolean hasWaitersAtOrAbove(DownstreamPriority priority) {
+        for (DownstreamPriority other : DownstreamPriority.values()) {
+            if (!queues.get(other).isEmpty()) {
+                return true;
+            }
+            if (other == priority) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static MockEmployeeServiceUnavailableException dropped(String operation, String reason) {
+        return new MockEmployeeServiceUnavailableException(
+                "Not calling mock employee service for " + operation + ": " + reason, DROPPED_RETRY_AFTER);
+    }
+
+    private static final class Waiter {
+
+        private final long deadlineNanos;
+        private boolean granted;
+
+        private Waiter(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+}
@@ -6,83 +6,203 @@ import com.reliaquest.api.model.DeleteMockEmployeeInput;
 import com.reliaquest.api.model.MockEmployee;
 import com.reliaquest.api.model.Response;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 
 import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @Slf4j
 public class MockEmployeeClient {
 
-    //TODO: use cache to store cooldown period after 429 error from mockservice, call from this service during cooldown
-    // should thrown exception and return 503 service unavailable
-
     private final RestClient restClient;
 
     private final String mockEmployeeUrl;
 
     private static final String TARGET = "mockEmployeeService";
 
+    /*
+     * Last full roster together with its ETag, replayed when the downstream answers 304 Not Modified.
+     */
+    private final AtomicReference<CachedRoster> cachedRoster = new AtomicReference<>();
+
+
+    private final WireFormat wireFormat;
+
+    private final DownstreamRequestBudget requestBudget;
+
+    private final DownstreamCallPolicy callPolicy;
+
+    private final DownstreamScheduler scheduler;
+
+    public MockEmployeeClient(String baseUrl) {
+        this(baseUrl, WireFormat.JSON);
+    }
 
-    public MockEmployeeClient(@Value("${com.reliaquest.api.mockemployeeservice.baseurl}") String baseUrl) {
+    public MockEmployeeClient(String baseUrl, WireFormat wireFormat) {
+        this(baseUrl, wireFormat, DownstreamRequestBudget.unlimited());
+    }
+
+    public MockEmployeeClient(String baseUrl, WireFormat wireFormat, DownstreamRequestBudget requestBudget) {
+        this(baseUrl, wireFormat, requestBudget, DownstreamCallPolicy.none(), DownstreamScheduler.unbounded());
+    }
+
+    @Autowired
+    public MockEmployeeClient(@Value("${com.reliaquest.api.mockemployeeservice.baseurl}") String baseUrl,
+                              @Value("${com.reliaquest.api.mockemployeeservice.wire-format:json}") WireFormat wireFormat,
+                              DownstreamRequestBudget requestBudget,
+                              DownstreamCallPolicy callPolicy,
+                              DownstreamScheduler scheduler) {
         this.mockEmployeeUrl = baseUrl;
+        this.wireFormat = wireFormat;
+        this.requestBudget = requestBudget;
+        this.callPolicy = callPolicy;
+        this.scheduler = scheduler;
         restClient = RestClient.builder()
                 .baseUrl(this.mockEmployeeUrl)
                 .build();
     }
 
+    /**
+     * Conditional GET of the roster: the ETag of the previous response is sent along, and if nothing changed the
+     * previous response is returned as is, without the downstream re-sending the list. Retried and hedged as configured
+     * in {@link DownstreamCallPolicy}, each attempt admitted by the {@link DownstreamScheduler} on its own.
+     */
     public Response<List<MockEmployee>> getEmployees() {
+        DownstreamPriority priority = DownstreamPriority.current();
+        // a slot per attempt, so none is held through the backoff between retries
+        return callPolicy.read("getAllEmployees",
+                () -> scheduler.call(priority, "getAllEmployees", () -> fetchEmployees(priority)));
+    }
 
-        return restClient.get()
+    private Response<List<MockEmployee>> fetchEmployees(DownstreamPriority priority) {
+        requestBudget.acquire("getAllEmployees", priority);
+        CachedRoster cached = cachedRoster.get();
+        ResponseEntity<Response<List<MockEmployee>>> entity = restClient.get()
+                .accept(wireFormat.getAccept().toArray(MediaType[]::new))
+                .headers(headers -> {
+                    if (cached != null) {
+                        headers.setIfNoneMatch(cached.etag());
+                    }
+                })
                 .retrieve()
                 .onStatus(status -> true, (request, response) -> {
-                    logApi(response.getStatusCode().value(),request.getMethod(),request.getURI(),"getAllEmployees");
+                    logApi(response.getStatusCode().value(),request.getMethod(),request.getURI(),"getAllEmployees",
+                            response.getHeaders());
                 })
-                .body(new ParameterizedTypeReference<Response<List<MockEmployee>>>() {});
+                .toEntity(new ParameterizedTypeReference<Response<List<MockEmployee>>>() {});
+
+        if (cached != null && entity.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            return cached.response();
+        }
+        String etag = entity.getHeaders().getETag();
+        Response<List<MockEmployee>> body = entity.getBody();
+        if (etag != null && body != null && body.error() == null) {
+            cachedRoster.set(new CachedRoster(etag, body));
+        } else {
+            cachedRoster.set(null);
+        }
+        return body;
     }
 
     public Response<MockEmployee> createEmployee(CreateMockEmployeeInput input) {
+        return scheduler.call(DownstreamPriority.MUTATION, "createEmployee", () -> postEmployee(input));
+    }
+
+    private Response<MockEmployee> postEmployee(CreateMockEmployeeInput input) {
+        requestBudget.acquire("createEmployee", DownstreamPriority.MUTATION);
         return restClient.post()
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(input)
                 .retrieve()
                 .onStatus(status -> true, (request, response) -> {
-                    logApi(response.getStatusCode().value(),request.getMethod(),request.getURI(),"createEmployee");
+                    logApi(response.getStatusCode().value(),request.getMethod(),request.getURI(),"createEmployee",
+                            response.getHeaders());
                 })
                 .body(new ParameterizedTypeReference<Response<MockEmployee>>() {});
     }
 
     public Response<MockEmployee> getEmployee(String id) {
+        DownstreamPriority priority = DownstreamPriority.current();
+        return callPolicy.read("getEmployee",
+                () -> scheduler.call(priority, "getEmployee", () -> fetchEmployee(id, priority)));
+    }
+
+    private Response<MockEmployee> fetchEmployee(String id, DownstreamPriority priority) {
+        requestBudget.acquire("getEmployee", priority);
         return restClient.get()
                 .uri("/{id}", id)   // safer than manual string concat
+                .accept(wireFormat.getAccept().toArray(MediaType[]::new))
                 .retrieve()
                 .onStatus(status -> true, (request, response) -> {
-                    logApi(response.getStatusCode().value(),request.getMethod(),request.getURI(),"getEmployee");
+                    logApi(response.getStatusCode().value(),request.getMethod(),request.getURI(),"getEmployee",
+                            response.getHeaders());
                 })
                 .body(new ParameterizedTypeReference<Response<MockEmployee>>() {});
     }
 
     public Response<Boolean> deleteEmployee(DeleteMockEmployeeInput deleteRequest) {
+        return scheduler.call(DownstreamPriority.MUTATION, "deleteEmployeeById", () -> sendDelete(deleteRequest));
+    }
+
+    private Response<Boolean> sendDelete(DeleteMockEmployeeInput deleteRequest) {
+        requestBudget.acquire("deleteEmployeeById", DownstreamPriority.MUTATION);
         return restClient.method(HttpMethod.DELETE)
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(deleteRequest)
                 .retrieve()
                 .onStatus(status -> true, (request, response) -> {
-                    logApi(response.getStatusCode().value(),request.getMethod(),request.getURI(),"deleteEmployeeById");
+                    logApi(response.getStatusCode().value(),request.getMethod(),request.getURI(),"deleteEmployeeById",
+                            response.getHeaders());
                 })
                 .body(new ParameterizedTypeReference<Response<Boolean>>() {});
     }
 
-    private void logApi(int status,HttpMethod method, URI uri, String message) {
+    /**
+     * Parses {@code Retry-After}, given either as delay in seconds or as HTTP date.
+     */
+    static Duration retryAfter(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                Duration remaining = Duration.between(Instant.now(),
+                        ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+                return remaining.isNegative() ? Duration.ZERO : remaining;
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    private record CachedRoster(String etag, Response<List<MockEmployee>> response) {
+    }
+
+    private void logApi(int status,HttpMethod method, URI uri, String message, HttpHeaders headers) {
         log.warn("Downstream call status={} error target={} method={} uri={}", status,TARGET, method, uri);
         if(429 == status) {
-            throw new MockEmployeeServiceTooManyRequestsException("Rate limit exceeded calling " + message);
+            Duration retryAfter = retryAfter(headers.getFirst(HttpHeaders.RETRY_AFTER));
+            Duration cooldown = requestBudget.coolDown(retryAfter);
+            throw new MockEmployeeServiceTooManyRequestsException("Rate limit exceeded calling " + message,
+                    cooldown != null ? cooldown : retryAfter);
         }
     }
 
@@ -0,0 +1,171 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.MockEmployeeEvent;
+import com.reliaquest.api.service.EmployeeRosterUpdater;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * Long-lived subscriber to the mock employee service event stream. Every received change is handed to the
+ * {@link EmployeeRosterUpdater}; on disconnect it reconnects with backoff and resumes from the last event id it saw.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(value = "com.reliaquest.api.mockemployeeservice.events.enabled", havingValue = "true")
+public class MockEmployeeEventSubscriber {
+
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(60);
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final URI eventsUri;
+    private final ObjectMapper objectMapper;
+    private final EmployeeRosterUpdater rosterUpdater;
+
+    private volatile String lastEventId;
+    private volatile boolean running;
+    private Thread worker;
+
+    public MockEmployeeEventSubscriber(@Value("${com.reliaquest.api.mockemployeeservice.baseurl}") String baseUrl,
+                                       ObjectMapper objectMapper,
+                                       EmployeeRosterUpdater rosterUpdater) {
+        this.eventsUri = URI.create(baseUrl + "/events");
+        this.objectMapper = objectMapper;
+        this.rosterUpdater = rosterUpdater;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "mock-employee-events");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    private void run() {
+        Duration backoff = INITIAL_BACKOFF;
+        while (running) {
+            try {
+                if (subscribe()) {
+                    backoff = INITIAL_BACKOFF;
+                }
+            } catch (IOException e) {
+                log.warn("Event stream from {} failed: {}", eventsUri, e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                Thread.sleep(backoff.toMillis() + ThreadLocalRandom.current().nextLong(backoff.toMillis() / 2 + 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            Duration doubled = backoff.multipliedBy(2);
+            backoff = doubled.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : doubled;
+        }
+    }
+
+    /**
+     * @return true if the stream was established and consumed until the server closed it
+     */
+    private boolean subscribe() throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(eventsUri)
+                .header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE)
+                .GET();
+        if (lastEventId != null) {
+            request.header(LAST_EVENT_ID, lastEventId);
+        }
+        HttpResponse<Stream<String>> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+        try (Stream<String> lines = response.body()) {
+            if (response.statusCode() != 200) {
+                log.warn("Downstream call status={} error target=mockEmployeeService uri={}", response.statusCode(), eventsUri);
+                return false;
+            }
+            log.info("Subscribed to roster events from {} lastEventId={}", eventsUri, lastEventId);
+            consume(lines.iterator());
+            return true;
+        }
+    }
+
+    /*
+     * Minimal text/event-stream parser: only the id and data fields matter, the event name is repeated in the payload.
+     */
+    void consume(Iterator<String> lines) throws IOException {
+        String id = null;
+        StringBuilder data = new StringBuilder();
+        while (lines.hasNext()) {
+            String line = lines.next();
+            if (line.isEmpty()) {
+                dispatch(id, data.toString());
+                id = null;
+                data.setLength(0);
+                continue;
+            }
+            if (line.startsWith(":")) {
+                continue;
+            }
+            int colon = line.indexOf(':');
+            String field = colon < 0 ? line : line.substring(0, colon);
+            String value = colon < 0 ? "" : line.substring(colon + 1);
+            if (value.startsWith(" ")) {
+                value = value.substring(1);
+            }
+            if ("id".equals(field)) {
+                id = value;
+            } else if ("data".equals(field)) {
+                if (!data.isEmpty()) {
+                    data.append('\n');
+                }
+                data.append(value);
+            }
+        }
+    }
+
+    private void dispatch(String id, String data) throws IOException {
+        if (data.isEmpty()) {
+            return;
+        }
+        rosterUpdater.apply(objectMapper.readValue(data, MockEmployeeEvent.class));
+        if (id != null) {
+            lastEventId = id;
+        }
+    }
+
+    String getLastEventId() {
+        return lastEventId;
+    }
+}
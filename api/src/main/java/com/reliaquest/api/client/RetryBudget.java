@@ -0,0 +1,31 @@
+package com.reliaquest.api.client;
+
+/**
+ * Caps retries and hedged requests at a fraction of the calls made, so that extra attempts cannot multiply the load on
+ * the downstream while it is struggling. Each call deposits {@code ratio} tokens up to {@code maxTokens}; each retry
+ * withdraws a whole token.
+ */
+public class RetryBudget {
+
+    private final double ratio;
+    private final double maxTokens;
+    private double tokens;
+
+    public RetryBudget(double ratio, double maxTokens) {
+        this.ratio = ratio;
+        this.maxTokens = maxTokens;
+        this.tokens = maxTokens;
+    }
+
+    public synchronized void recordCall() {
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    public synchronized boolean tryWithdraw() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+}
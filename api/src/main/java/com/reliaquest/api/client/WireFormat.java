@@ -0,0 +1,25 @@
+package com.reliaquest.api.client;
+
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * Representation requested from the mock employee service for roster and single employee reads. JSON is what every
+ * server understands; Smile is Jackson's binary encoding of the same document and is much cheaper to parse.
+ */
+public enum WireFormat {
+    JSON(List.of(MediaType.APPLICATION_JSON)),
+    // JSON stays acceptable so a server without Smile support still answers
+    SMILE(List.of(MediaType.parseMediaType("application/x-jackson-smile"), MediaType.parseMediaType("application/json;q=0.5")));
+
+    private final List<MediaType> accept;
+
+    WireFormat(List<MediaType> accept) {
+        this.accept = accept;
+    }
+
+    public List<MediaType> getAccept() {
+        return accept;
+    }
+}
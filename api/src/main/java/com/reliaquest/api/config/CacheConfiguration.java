@@ -0,0 +1,71 @@
+package com.reliaquest.api.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.reliaquest.api.cache.CacheValueCodec;
+import com.reliaquest.api.cache.EmployeeSearchPageCodec;
+import com.reliaquest.api.cache.RosterSnapshotCodec;
+import com.reliaquest.api.cache.TwoTierCache;
+import com.reliaquest.api.store.SharedStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+/**
+ * Builds every cache from its own {@link CacheProperties.Spec} instead of one spec shared by all of them. Size limits
+ * are expressed in estimated bytes (see {@link CacheWeigher}) so the heap used by caches stays predictable. Caches
+ * marked {@code shared} get the {@link SharedStore} as a second tier (see {@link TwoTierCache}).
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfiguration {
+
+    static final Map<String, CacheValueCodec> SHARED_CODECS = Map.of(
+            "employees", new RosterSnapshotCodec(),
+            "employeeSearchPages", new EmployeeSearchPageCodec());
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties, SharedStore sharedStore) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                CacheProperties.Spec spec = cacheProperties.specFor(name);
+                CacheValueCodec codec = SHARED_CODECS.get(name);
+                if (!spec.isShared() || codec == null) {
+                    return super.adaptCaffeineCache(name, cache);
+                }
+                return new TwoTierCache(name, cache, sharedStore, codec, cacheProperties.getSharedKeyPrefix(),
+                        spec.getSharedExpireAfterWrite());
+            }
+        };
+        cacheManager.setCaffeine(caffeine(cacheProperties.getDefaults()));
+        cacheProperties.getCaches().forEach((name, spec) -> {
+            log.info("Cache {} maximumWeight={} maximumSize={} expireAfterWrite={} shared={}",
+                    name, spec.getMaximumWeight(), spec.getMaximumSize(), spec.getExpireAfterWrite(), spec.isShared());
+            cacheManager.registerCustomCache(name, caffeine(spec).build());
+        });
+        return cacheManager;
+    }
+
+    static Caffeine<Object, Object> caffeine(CacheProperties.Spec spec) {
+        Caffeine<Object, Object> caffeine = Caffeine.newBuilder();
+        if (spec.getMaximumWeight() != null) {
+            caffeine.maximumWeight(spec.getMaximumWeight().toBytes()).weigher(new CacheWeigher());
+        } else if (spec.getMaximumSize() != null) {
+            caffeine.maximumSize(spec.getMaximumSize());
+        }
+        if (spec.getExpireAfterWrite() != null) {
+            caffeine.expireAfter(new CacheExpiry(spec.getExpireAfterWrite(), spec.getStaleExpireAfterWrite()));
+        }
+        if (spec.isRecordStats()) {
+            caffeine.recordStats();
+        }
+        return caffeine;
+    }
+}
@@ -0,0 +1,38 @@
+package com.reliaquest.api.config;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.reliaquest.api.model.RosterSnapshot;
+
+import java.time.Duration;
+
+/**
+ * Expire-after-write with a shorter lifetime for stale roster snapshots, so a last-known-good copy served during an
+ * outage is replaced soon after the mock employee service is back.
+ */
+public class CacheExpiry implements Expiry<Object, Object> {
+
+    private final long expireAfterWriteNanos;
+    private final long staleExpireAfterWriteNanos;
+
+    public CacheExpiry(Duration expireAfterWrite, Duration staleExpireAfterWrite) {
+        this.expireAfterWriteNanos = expireAfterWrite.toNanos();
+        this.staleExpireAfterWriteNanos = Math.min(expireAfterWriteNanos, staleExpireAfterWrite.toNanos());
+    }
+
+    @Override
+    public long expireAfterCreate(Object key, Object value, long currentTime) {
+        return value instanceof RosterSnapshot snapshot && snapshot.stale()
+                ? staleExpireAfterWriteNanos
+                : expireAfterWriteNanos;
+    }
+
+    @Override
+    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+        return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+}
@@ -0,0 +1,58 @@
+package com.reliaquest.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per cache policies, e.g. {@code com.reliaquest.api.cache.caches[employeeSearchPages].maximum-weight=16MB}. Caches
+ * without an entry of their own use {@link #getDefaults()}.
+ */
+@Data
+@ConfigurationProperties(prefix = "com.reliaquest.api.cache")
+public class CacheProperties {
+
+    private Spec defaults = new Spec();
+
+    /**
+     * Namespace of the shared (L2) entries, so several deployments can use the same store.
+     */
+    private String sharedKeyPrefix = "employee-api";
+
+    private Map<String, Spec> caches = new LinkedHashMap<>();
+
+    public Spec specFor(String cacheName) {
+        return caches.getOrDefault(cacheName, defaults);
+    }
+
+    @Data
+    public static class Spec {
+
+        /**
+         * Upper bound of the estimated heap size of all entries; takes precedence over {@link #maximumSize}.
+         */
+        private DataSize maximumWeight;
+
+        private Long maximumSize;
+
+        private Duration expireAfterWrite = Duration.ofMinutes(5);
+
+        /**
+         * Lifetime of a stale roster snapshot, after which the mock employee service is tried again.
+         */
+        private Duration staleExpireAfterWrite = Duration.ofSeconds(15);
+
+        private boolean recordStats = true;
+
+        /**
+         * Whether the cache is backed by the shared store as a second tier; only caches with a codec can be shared.
+         */
+        private boolean shared;
+
+        private Duration sharedExpireAfterWrite = Duration.ofMinutes(5);
+    }
+}
@@ -0,0 +1,55 @@
+package com.reliaquest.api.config;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.EmployeeSearchPage;
+import com.reliaquest.api.model.RosterSnapshot;
+
+import java.util.Collection;
+
+/**
+ * Weighs cache entries by their estimated heap size in bytes, so a bounded cache is bounded in memory rather than in
+ * entry count: a search for "a" holding most of the roster weighs what it costs.
+ */
+public class CacheWeigher implements Weigher<Object, Object> {
+
+    private static final long OBJECT_BYTES = 16;
+    private static final long REFERENCE_BYTES = 8;
+    private static final long DEFAULT_BYTES = 64;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        return (int) Math.min(Integer.MAX_VALUE, estimate(key) + estimate(value));
+    }
+
+    static long estimate(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof RosterSnapshot snapshot) {
+            return snapshot.estimatedBytes();
+        }
+        if (value instanceof String string) {
+            return 40 + string.length();
+        }
+        if (value instanceof byte[] bytes) {
+            return OBJECT_BYTES + bytes.length;
+        }
+        if (value instanceof EmployeeDto employee) {
+            // record header, six fields, UUID and the two boxed integers
+            return OBJECT_BYTES + 6 * REFERENCE_BYTES + 32 + 32
+                    + estimate(employee.name()) + estimate(employee.title()) + estimate(employee.email());
+        }
+        if (value instanceof EmployeeSearchPage page) {
+            return OBJECT_BYTES + 2 * REFERENCE_BYTES + estimate(page.content()) + estimate(page.nextCursor());
+        }
+        if (value instanceof Collection<?> collection) {
+            long bytes = OBJECT_BYTES + REFERENCE_BYTES * collection.size();
+            for (Object element : collection) {
+                bytes += estimate(element);
+            }
+            return bytes;
+        }
+        return DEFAULT_BYTES;
+    }
+}
@@ -0,0 +1,50 @@
+package com.reliaquest.api.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Inbound concurrency limits, one bulkhead per kind of endpoint, e.g.
+ * {@code com.reliaquest.api.concurrency-limit.downstream.max-limit=50}.
+ */
+@Data
+@ConfigurationProperties(prefix = "com.reliaquest.api.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Endpoints answered from the cached roster.
+     */
+    private Spec cached = new Spec(100, 20, 400);
+
+    /**
+     * Endpoints that always call the mock employee service: lookups by id, creates and deletes.
+     */
+    private Spec downstream = new Spec(10, 2, 50);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Spec {
+
+        private int initialLimit;
+
+        private int minLimit;
+
+        private int maxLimit;
+
+        /**
+         * How much slower than the baseline a request may be before the limit shrinks.
+         */
+        private double tolerance = 1.5;
+
+        private int probeInterval = 500;
+
+        public Spec(int initialLimit, int minLimit, int maxLimit) {
+            this(initialLimit, minLimit, maxLimit, 1.5, 500);
+        }
+    }
+}
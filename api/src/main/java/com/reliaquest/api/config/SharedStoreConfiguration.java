@@ -0,0 +1,73 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.store.InMemoryMessageBus;
+import com.reliaquest.api.store.InMemorySharedStore;
+import com.reliaquest.api.store.MessageBus;
+import com.reliaquest.api.store.RedisMessageBus;
+import com.reliaquest.api.store.RedisSharedStore;
+import com.reliaquest.api.store.SharedStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Selects the {@link SharedStore} and {@link MessageBus} with {@code com.reliaquest.api.store.type}: {@code memory}
+ * (default) keeps them in process, {@code redis} shares them across replicas through the connection configured under
+ * {@code spring.data.redis}.
+ */
+@Configuration
+public class SharedStoreConfiguration {
+
+    private static final String STORE_TYPE = "com.reliaquest.api.store.type";
+
+    @Configuration
+    @ConditionalOnProperty(name = STORE_TYPE, havingValue = "memory", matchIfMissing = true)
+    static class InMemory {
+
+        @Bean
+        public SharedStore inMemorySharedStore() {
+            return new InMemorySharedStore();
+        }
+
+        @Bean
+        public MessageBus inMemoryMessageBus() {
+            return new InMemoryMessageBus();
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = STORE_TYPE, havingValue = "redis")
+    static class Redis {
+
+        @Bean
+        public RedisTemplate<String, byte[]> sharedStoreRedisTemplate(RedisConnectionFactory connectionFactory) {
+            RedisTemplate<String, byte[]> redisTemplate = new RedisTemplate<>();
+            redisTemplate.setConnectionFactory(connectionFactory);
+            redisTemplate.setKeySerializer(RedisSerializer.string());
+            redisTemplate.setValueSerializer(RedisSerializer.byteArray());
+            return redisTemplate;
+        }
+
+        @Bean
+        public RedisMessageListenerContainer sharedStoreListenerContainer(RedisConnectionFactory connectionFactory) {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(connectionFactory);
+            return container;
+        }
+
+        @Bean
+        public SharedStore redisSharedStore(RedisTemplate<String, byte[]> sharedStoreRedisTemplate) {
+            return new RedisSharedStore(sharedStoreRedisTemplate);
+        }
+
+        @Bean
+        public MessageBus redisMessageBus(RedisTemplate<String, byte[]> sharedStoreRedisTemplate,
+                                          RedisMessageListenerContainer sharedStoreListenerContainer) {
+            return new RedisMessageBus(sharedStoreRedisTemplate, sharedStoreListenerContainer);
+        }
+    }
+}
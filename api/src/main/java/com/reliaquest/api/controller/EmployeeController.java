@@ -2,9 +2,17 @@ package com.reliaquest.api.controller;
 
 import com.reliaquest.api.model.CreateMockEmployeeInput;
 import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.model.EmployeeSearchPage;
+import com.reliaquest.api.model.EmployeeQuery;
+import com.reliaquest.api.model.RosterSnapshot;
+import com.reliaquest.api.model.SalaryStatistics;
+import com.reliaquest.api.model.TitleAggregate;
 import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.web.CachedResponseBody;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -15,12 +23,21 @@ import java.util.List;
 @RequiredArgsConstructor
 public class EmployeeController implements IEmployeeController<EmployeeDto, CreateMockEmployeeInput> {
 
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
     private final EmployeeService employeeService;
 
     //TODO: Enhancement: If downstream Mockservice implemented a Pageaable interface this would reduce memory requirements
     @Override
     public ResponseEntity<List<EmployeeDto>> getAllEmployees() {
-        return ResponseEntity.ok(employeeService.getAllEmployees());
+        // a request carrying a matching If-None-Match is answered with 304 by Spring, without serializing the body
+        RosterSnapshot snapshot = employeeService.getRosterSnapshot();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(snapshot.etag());
+        if (snapshot.stale()) {
+            // last-known-good copy, the mock employee service is currently failing or rate limiting
+            response.header(HttpHeaders.WARNING, STALE_WARNING);
+        }
+        return response.body(snapshot.employees());
     }
 
     @Override
@@ -29,6 +46,71 @@ public class EmployeeController implements IEmployeeController<EmployeeDto, Crea
         return ResponseEntity.ok(employeeService.getAllEmployeesBySearch(searchString));
     }
 
+    /**
+     * Search across name, title and email, e.g. {@code /search?q=title:engineer name:smi}.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<EmployeeDto>> searchEmployees(@RequestParam("q") String query) {
+        return ResponseEntity.ok(employeeService.searchEmployees(query));
+    }
+
+    /**
+     * Bounded name search; follow {@code nextCursor} for further pages. Paged searches live outside {@code /search},
+     * where a path segment is a search string.
+     */
+    @CachedResponseBody
+    @GetMapping("/pagedSearch/{searchString}")
+    public ResponseEntity<EmployeeSearchPage> getEmployeesBySearchPage(
+            @PathVariable("searchString") String searchString,
+            @RequestParam(name = "limit", defaultValue = "20") int limit,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        return ResponseEntity.ok(employeeService.getEmployeesBySearchPage(searchString, limit, cursor));
+    }
+
+    /**
+     * Bounded multi-field search; follow {@code nextCursor} for further pages.
+     */
+    @CachedResponseBody
+    @GetMapping("/pagedSearch")
+    public ResponseEntity<EmployeeSearchPage> searchEmployeesPage(
+            @RequestParam("q") String query,
+            @RequestParam(name = "limit", defaultValue = "20") int limit,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        return ResponseEntity.ok(employeeService.searchEmployeesPage(query, limit, cursor));
+    }
+
+    @GetMapping("/search/fuzzy/{searchString}")
+    public ResponseEntity<List<EmployeeDto>> getEmployeesByFuzzySearch(
+            @PathVariable("searchString") String searchString,
+            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(employeeService.getEmployeesByFuzzySearch(searchString, limit));
+    }
+
+    /**
+     * Filtered, paged view of the roster, e.g. {@code /query?title=engineer&minSalary=200000}; served from the cached
+     * snapshot.
+     */
+    @GetMapping("/query")
+    public ResponseEntity<EmployeePage> queryEmployees(
+            @RequestParam(name = "minSalary", required = false) Integer minSalary,
+            @RequestParam(name = "maxSalary", required = false) Integer maxSalary,
+            @RequestParam(name = "minAge", required = false) Integer minAge,
+            @RequestParam(name = "maxAge", required = false) Integer maxAge,
+            @RequestParam(name = "title", required = false) String title,
+            @RequestParam(name = "namePrefix", required = false) String namePrefix,
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "size", defaultValue = "50") int size) {
+        EmployeeQuery query = EmployeeQuery.builder()
+                .minSalary(minSalary)
+                .maxSalary(maxSalary)
+                .minAge(minAge)
+                .maxAge(maxAge)
+                .title(title)
+                .namePrefix(namePrefix)
+                .build();
+        return ResponseEntity.ok(employeeService.queryEmployees(query, page, size));
+    }
+
     @Override
     @GetMapping("/{id}")
     public ResponseEntity<EmployeeDto> getEmployeeById(@PathVariable("id") String id) {
@@ -40,7 +122,32 @@ public class EmployeeController implements IEmployeeController<EmployeeDto, Crea
         return ResponseEntity.ok(employeeService.getHighestSalary());
     }
 
+    @GetMapping("/salaryStatistics")
+    public ResponseEntity<SalaryStatistics> getSalaryStatistics() {
+        return ResponseEntity.ok(employeeService.getSalaryStatistics());
+    }
+
+    @GetMapping("/top")
+    public ResponseEntity<List<EmployeeDto>> getTopEmployees(
+            @RequestParam(name = "by", defaultValue = "salary") String by,
+            @RequestParam(name = "n", defaultValue = "10") int n) {
+        return ResponseEntity.ok(employeeService.getTopEmployees(by, n));
+    }
+
+    @GetMapping("/bottom")
+    public ResponseEntity<List<EmployeeDto>> getBottomEmployees(
+            @RequestParam(name = "by", defaultValue = "salary") String by,
+            @RequestParam(name = "n", defaultValue = "10") int n) {
+        return ResponseEntity.ok(employeeService.getBottomEmployees(by, n));
+    }
+
+    @GetMapping("/titleAggregates")
+    public ResponseEntity<List<TitleAggregate>> getTitleAggregates() {
+        return ResponseEntity.ok(employeeService.getTitleAggregates());
+    }
+
     @Override
+    @CachedResponseBody
     public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
         return ResponseEntity.ok(employeeService.getTopTenSalaryEmployees());
     }
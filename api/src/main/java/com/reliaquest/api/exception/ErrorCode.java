@@ -5,7 +5,8 @@ public enum ErrorCode {
     INVALID_INPUT("INVALID_INPUT"),
     EMPLOYEE_NOT_FOUND("EMPLOYEE_NOT_FOUND"),
     NO_EMPLOYEES_FOUND("NO_EMPLOYEES_FOUND"),
-    TOO_MANY_REQUESTS("TOO_MANY_REQUESTS"),;
+    TOO_MANY_REQUESTS("TOO_MANY_REQUESTS"),
+    SERVICE_UNAVAILABLE("SERVICE_UNAVAILABLE"),;
 
     private final String value;
     ErrorCode(String value) { this.value = value; }
@@ -1,11 +1,13 @@
 package com.reliaquest.api.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 @RestControllerAdvice
@@ -57,7 +59,11 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(value = MockEmployeeServiceTooManyRequestsException.class)
     public ResponseEntity<ErrorResponse> handleTooManyRequestsException(MockEmployeeServiceTooManyRequestsException ex) {
-        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS);
+        if (ex.getRetryAfter() != null) {
+            response.header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(ex.getRetryAfter()));
+        }
+        return response.body(
                 ErrorResponse.builder()
                         .code(ErrorCode.TOO_MANY_REQUESTS.getValue())
                         .message(ex.getMessage())
@@ -68,6 +74,19 @@ public class GlobalExceptionHandler {
 
     }
 
+    @ExceptionHandler(value = MockEmployeeServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailableException(MockEmployeeServiceUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(ex.getRetryAfter()))
+                .body(
+                ErrorResponse.builder()
+                        .code(ErrorCode.SERVICE_UNAVAILABLE.getValue())
+                        .message(ex.getMessage())
+                        .timestamp(LocalDateTime.now())
+                        .build()
+        );
+    }
+
     @ExceptionHandler(value = InvalidInputException.class)
     public ResponseEntity<ErrorResponse> handleInvalidInputExceptionException(InvalidInputException ex) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
@@ -81,5 +100,10 @@ public class GlobalExceptionHandler {
 
     }
 
-
+    /**
+     * Whole seconds of {@code retryAfter}, rounded up so a client waiting that long is let through.
+     */
+    private static String retryAfterSeconds(Duration retryAfter) {
+        return String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
 }
@@ -1,7 +1,25 @@
 package com.reliaquest.api.exception;
 
+import java.time.Duration;
+
 public class MockEmployeeServiceTooManyRequestsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
     public MockEmployeeServiceTooManyRequestsException(String message) {
+        this(message, null);
+    }
+
+    public MockEmployeeServiceTooManyRequestsException(String message, Duration retryAfter) {
         super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return the cooldown the 429 started, the downstream's {@code Retry-After} or else the configured default, or
+     *         null if none was started and the downstream did not say
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
     }
 }
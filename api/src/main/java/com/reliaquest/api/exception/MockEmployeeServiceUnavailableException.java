@@ -0,0 +1,21 @@
+package com.reliaquest.api.exception;
+
+import java.time.Duration;
+
+/**
+ * The mock employee service is not called at all because the fleet-wide request budget is spent or a cooldown after
+ * a 429 is in effect.
+ */
+public class MockEmployeeServiceUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public MockEmployeeServiceUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
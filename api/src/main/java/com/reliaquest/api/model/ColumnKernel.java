@@ -0,0 +1,29 @@
+package com.reliaquest.api.model;
+
+/**
+ * Scans over a primitive int column of a {@link RosterSnapshot}, where rows without a value hold
+ * {@link RosterSnapshot#MISSING}. Obtain the implementation with {@link ColumnKernels#get()}.
+ */
+public interface ColumnKernel {
+
+    /**
+     * @return the largest value, or {@link RosterSnapshot#MISSING} if the column has no values; as MISSING is the
+     * smallest int, it never wins over a real value
+     */
+    int max(int[] column);
+
+    /**
+     * @return the smallest value at or above {@code floor}, or {@link Integer#MAX_VALUE} if there is none
+     */
+    int min(int[] column, int floor);
+
+    /**
+     * @return number of values within {@code [min, max]}; MISSING never counts
+     */
+    int countInRange(int[] column, int min, int max);
+
+    /**
+     * @return rows whose value is within {@code [min, max]}, ascending; MISSING never matches
+     */
+    int[] rowsInRange(int[] column, int min, int max);
+}
@@ -0,0 +1,48 @@
+package com.reliaquest.api.model;
+
+/**
+ * Picks the {@link ColumnKernel} once per JVM: the SIMD {@code VectorColumnKernel} when it was built (with
+ * {@code -Pvector}) and the JVM was started with {@code --add-modules jdk.incubator.vector}, unless disabled with
+ * {@code -Dcom.reliaquest.api.vector.enabled=false}, and the {@link ScalarColumnKernel} otherwise.
+ */
+public final class ColumnKernels {
+
+    private static final ColumnKernel SCALAR = new ScalarColumnKernel();
+    private static final ColumnKernel INSTANCE = load();
+
+    private ColumnKernels() {
+    }
+
+    public static ColumnKernel get() {
+        return INSTANCE;
+    }
+
+    public static ColumnKernel scalar() {
+        return SCALAR;
+    }
+
+    /**
+     * @return the SIMD kernel, or null if it was not built or the Vector API is not available in this JVM
+     */
+    public static ColumnKernel vector() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            // by name, so this class never links against the incubator module when it is absent
+            return (ColumnKernel) Class.forName(ColumnKernels.class.getPackageName() + ".VectorColumnKernel")
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static ColumnKernel load() {
+        if (!Boolean.parseBoolean(System.getProperty("com.reliaquest.api.vector.enabled", "true"))) {
+            return SCALAR;
+        }
+        ColumnKernel vector = vector();
+        return vector != null ? vector : SCALAR;
+    }
+}
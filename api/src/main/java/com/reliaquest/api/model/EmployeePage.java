@@ -0,0 +1,16 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+
+/**
+ * One page of query results, in roster order.
+ *
+ * @param totalElements number of employees matching the query across all pages
+ */
+public record EmployeePage(
+        List<EmployeeDto> content,
+        int page,
+        int size,
+        int totalElements
+) {
+}
@@ -0,0 +1,26 @@
+package com.reliaquest.api.model;
+
+import lombok.Builder;
+
+/**
+ * Filter over the roster; every criterion is optional and all given ones must match. Ranges are inclusive, the title
+ * is compared ignoring case and the name prefix is matched ignoring case too.
+ */
+@Builder
+public record EmployeeQuery(
+        Integer minSalary,
+        Integer maxSalary,
+        Integer minAge,
+        Integer maxAge,
+        String title,
+        String namePrefix
+) {
+
+    public boolean hasSalaryRange() {
+        return minSalary != null || maxSalary != null;
+    }
+
+    public boolean hasAgeRange() {
+        return minAge != null || maxAge != null;
+    }
+}
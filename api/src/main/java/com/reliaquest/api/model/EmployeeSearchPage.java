@@ -0,0 +1,14 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+
+/**
+ * One bounded page of search results, in roster order.
+ *
+ * @param nextCursor pass back as {@code cursor} for the following page; null on the last page
+ */
+public record EmployeeSearchPage(
+        List<EmployeeDto> content,
+        String nextCursor
+) {
+}
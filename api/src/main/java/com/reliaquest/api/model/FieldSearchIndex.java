@@ -0,0 +1,170 @@
+package com.reliaquest.api.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Inverted indexes over the name, title and email of one {@link RosterSnapshot}: per field, the sorted distinct
+ * lower-cased words and for each the ascending rows containing it. A {@link SearchQuery} resolves each term to the
+ * union of the posting lists of all words starting with it, then walks the shortest list and probes the others, so the
+ * most selective term bounds the work.
+ */
+public final class FieldSearchIndex {
+
+    private final Map<SearchQuery.Field, Postings> byField;
+
+    private FieldSearchIndex(Map<SearchQuery.Field, Postings> byField) {
+        this.byField = byField;
+    }
+
+    public static FieldSearchIndex of(RosterSnapshot roster) {
+        Map<SearchQuery.Field, Postings> byField = new EnumMap<>(SearchQuery.Field.class);
+        byField.put(SearchQuery.Field.NAME, Postings.of(roster.size(), roster::name));
+        byField.put(SearchQuery.Field.TITLE, Postings.of(roster.size(), roster::title));
+        byField.put(SearchQuery.Field.EMAIL, Postings.of(roster.size(), roster::email));
+        return new FieldSearchIndex(byField);
+    }
+
+    /**
+     * @return rows matching every term, ascending
+     */
+    public int[] search(SearchQuery query) {
+        return search(query, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * The first {@code maxRows} matches at or after {@code fromRow}. The shortest posting list drives from the first row
+     * at or after {@code fromRow}; every other list is probed by binary search from where its previous probe ended, and
+     * the walk stops as soon as enough rows matched, so a page costs about its size times the number of terms.
+     *
+     * @return matching rows, ascending
+     */
+    public int[] search(SearchQuery query, int fromRow, int maxRows) {
+        List<int[]> postings = new ArrayList<>(query.terms().size());
+        for (SearchQuery.Term term : query.terms()) {
+            int[] rows = rowsMatching(term);
+            if (rows.length == 0) {
+                return rows;
+            }
+            postings.add(rows);
+        }
+        postings.sort(Comparator.comparingInt(rows -> rows.length));
+        int[] driver = postings.get(0);
+        int[] positions = new int[postings.size()];
+        int[] result = new int[Math.min(maxRows, driver.length)];
+        int count = 0;
+        candidates:
+        for (int i = firstAtLeast(driver, 0, fromRow); i < driver.length && count < result.length; i++) {
+            int row = driver[i];
+            for (int list = 1; list < postings.size(); list++) {
+                int[] other = postings.get(list);
+                int found = firstAtLeast(other, positions[list], row);
+                positions[list] = found;
+                if (found == other.length) {
+                    break candidates;
+                }
+                if (other[found] != row) {
+                    continue candidates;
+                }
+            }
+            result[count++] = row;
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private int[] rowsMatching(SearchQuery.Term term) {
+        if (term.field() != null) {
+            return byField.get(term.field()).rowsWithPrefix(term.prefix());
+        }
+        List<int[]> perField = new ArrayList<>(byField.size());
+        for (Postings postings : byField.values()) {
+            perField.add(postings.rowsWithPrefix(term.prefix()));
+        }
+        return union(perField);
+    }
+
+    private static int firstAtLeast(int[] rows, int from, int row) {
+        int found = Arrays.binarySearch(rows, from, rows.length, row);
+        return found >= 0 ? found : -found - 1;
+    }
+
+    /**
+     * @return ascending union of ascending arrays, without duplicates
+     */
+    static int[] union(List<int[]> lists) {
+        if (lists.size() == 1) {
+            return lists.get(0);
+        }
+        int total = 0;
+        for (int[] list : lists) {
+            total += list.length;
+        }
+        int[] all = new int[total];
+        int offset = 0;
+        for (int[] list : lists) {
+            System.arraycopy(list, 0, all, offset, list.length);
+            offset += list.length;
+        }
+        Arrays.sort(all);
+        int count = 0;
+        for (int i = 0; i < all.length; i++) {
+            if (i == 0 || all[i] != all[i - 1]) {
+                all[count++] = all[i];
+            }
+        }
+        return Arrays.copyOf(all, count);
+    }
+
+    private static final class Postings {
+
+        private final String[] words;
+        private final int[][] rows;
+
+        private Postings(String[] words, int[][] rows) {
+            this.words = words;
+            this.rows = rows;
+        }
+
+        static Postings of(int size, IntFunction<String> field) {
+            TreeMap<String, IntStream.Builder> rowsPerWord = new TreeMap<>();
+            for (int row = 0; row < size; row++) {
+                String value = field.apply(row);
+                if (value != null) {
+                    for (String word : distinctWords(value)) {
+                        rowsPerWord.computeIfAbsent(word, ignored -> IntStream.builder()).add(row);
+                    }
+                }
+            }
+            String[] words = rowsPerWord.keySet().toArray(String[]::new);
+            int[][] rows = rowsPerWord.values().stream()
+                    .map(builder -> builder.build().toArray())
+                    .toArray(int[][]::new);
+            return new Postings(words, rows);
+        }
+
+        int[] rowsWithPrefix(String prefix) {
+            int from = firstAtLeast(prefix);
+            int to = firstAtLeast(prefix + Character.MAX_VALUE);
+            if (to - from == 1) {
+                return rows[from];
+            }
+            return union(Arrays.asList(rows).subList(from, to));
+        }
+
+        private int firstAtLeast(String value) {
+            int found = Arrays.binarySearch(words, value);
+            return found >= 0 ? found : -found - 1;
+        }
+
+        private static List<String> distinctWords(String value) {
+            return NameSearchIndex.words(value).stream().distinct().toList();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.reliaquest.api.model;
+
+/**
+ * Roster change pushed by the mock employee service over its event stream, copied across like the other contract classes.
+ * {@link Type#RESET} means the subscriber may have missed changes and has to drop whatever it has cached.
+ */
+public record MockEmployeeEvent(long version, Type type, MockEmployee employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED,
+        RESET
+    }
+}
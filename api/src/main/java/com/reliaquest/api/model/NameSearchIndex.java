@@ -0,0 +1,205 @@
+package com.reliaquest.api.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Typo tolerant name search over one {@link RosterSnapshot}: a BK-tree of the distinct lower-cased words of all names,
+ * each word pointing at the rows whose name contains it. A lookup only computes Levenshtein distances to the words whose
+ * subtrees can be within range, and each distance computation gives up as soon as it exceeds the range.
+ */
+public final class NameSearchIndex {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Node root;
+
+    private NameSearchIndex(Node root) {
+        this.root = root;
+    }
+
+    public static NameSearchIndex of(RosterSnapshot roster) {
+        Map<String, List<Integer>> rowsPerWord = new LinkedHashMap<>();
+        for (int row = 0; row < roster.size(); row++) {
+            String name = roster.name(row);
+            if (name != null) {
+                for (String word : words(name)) {
+                    List<Integer> rows = rowsPerWord.computeIfAbsent(word, ignored -> new ArrayList<>());
+                    // a name repeating a word still lists its row once
+                    if (rows.isEmpty() || rows.get(rows.size() - 1) != row) {
+                        rows.add(row);
+                    }
+                }
+            }
+        }
+        Node root = null;
+        for (Map.Entry<String, List<Integer>> entry : rowsPerWord.entrySet()) {
+            Node node = new Node(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+            if (root == null) {
+                root = node;
+            } else {
+                root.add(node);
+            }
+        }
+        return new NameSearchIndex(root);
+    }
+
+    /**
+     * Rows whose name has, for every word of the query, a word within {@link #maxDistance} edits, ranked by the sum of
+     * those distances and then by row. Exact matches are looked for first and the range is widened one edit at a time
+     * only while fewer than {@code limit} rows are known to rank best, so a common name stops after a single pass.
+     *
+     * @return up to {@code limit} rows, best first
+     */
+    public int[] search(String query, int limit) {
+        List<String> queryWords = words(query);
+        if (root == null || queryWords.isEmpty()) {
+            return new int[0];
+        }
+        int widest = queryWords.stream().mapToInt(word -> maxDistance(word.length())).max().orElse(0);
+        Map<Integer, Integer> totals = Map.of();
+        for (int range = 0; range <= widest; range++) {
+            totals = totalDistances(queryWords, range);
+            int finalRange = range;
+            // rows not found yet are at least range + 1 away, so these are certain to rank first
+            long settled = totals.values().stream().filter(total -> total <= finalRange).count();
+            if (settled >= limit) {
+                break;
+            }
+        }
+        return totals.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Integer>comparingByValue()
+                        .thenComparing(Map.Entry.<Integer, Integer>comparingByKey()))
+                .limit(limit)
+                .mapToInt(Map.Entry::getKey)
+                .toArray();
+    }
+
+    /**
+     * Edits allowed for a query word: none up to two letters, where any typo matches too much, one for three letters and
+     * two from four letters on, enough for a swapped pair such as "jonh".
+     */
+    static int maxDistance(int wordLength) {
+        return wordLength <= 2 ? 0 : wordLength == 3 ? 1 : 2;
+    }
+
+    /**
+     * @return total distance per row that matches every query word within the range, capped per word
+     */
+    private Map<Integer, Integer> totalDistances(List<String> queryWords, int range) {
+        Map<Integer, Integer> totals = null;
+        for (String queryWord : queryWords) {
+            Map<Integer, Integer> best = new HashMap<>();
+            root.collect(queryWord, Math.min(range, maxDistance(queryWord.length())), best);
+            if (totals == null) {
+                totals = best;
+            } else {
+                Map<Integer, Integer> previous = totals;
+                totals = new HashMap<>();
+                for (Map.Entry<Integer, Integer> entry : best.entrySet()) {
+                    Integer sum = previous.get(entry.getKey());
+                    if (sum != null) {
+                        totals.put(entry.getKey(), sum + entry.getValue());
+                    }
+                }
+            }
+            if (totals.isEmpty()) {
+                break;
+            }
+        }
+        return totals;
+    }
+
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        for (String word : WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Levenshtein distance, or {@code bound + 1} as soon as the distance is known to exceed the bound.
+     */
+    static int distance(String left, String right, int bound) {
+        if (Math.abs(left.length() - right.length()) > bound) {
+            return bound + 1;
+        }
+        int[] previous = new int[right.length() + 1];
+        int[] current = new int[right.length() + 1];
+        for (int j = 0; j <= right.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= left.length(); i++) {
+            current[0] = i;
+            int rowMinimum = i;
+            for (int j = 1; j <= right.length(); j++) {
+                int substitution = previous[j - 1] + (left.charAt(i - 1) == right.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > bound) {
+                return bound + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[right.length()], bound + 1);
+    }
+
+    private static final class Node {
+
+        private final String word;
+        private final int[] rows;
+        private Map<Integer, Node> children;
+        private int maxChildDistance;
+
+        Node(String word, int[] rows) {
+            this.word = word;
+            this.rows = rows;
+        }
+
+        void add(Node node) {
+            Node parent = this;
+            while (true) {
+                int distance = distance(parent.word, node.word, Integer.MAX_VALUE - 1);
+                if (parent.children == null) {
+                    parent.children = new HashMap<>();
+                }
+                Node child = parent.children.putIfAbsent(distance, node);
+                if (child == null) {
+                    parent.maxChildDistance = Math.max(parent.maxChildDistance, distance);
+                    return;
+                }
+                parent = child;
+            }
+        }
+
+        void collect(String query, int range, Map<Integer, Integer> best) {
+            // beyond this bound neither this word nor any child can be in range, so the exact distance does not matter
+            int distance = distance(word, query, maxChildDistance + range);
+            if (distance <= range) {
+                for (int row : rows) {
+                    best.merge(row, distance, Math::min);
+                }
+            }
+            if (children != null) {
+                int last = Math.min(maxChildDistance, distance + range);
+                for (int childDistance = Math.max(1, distance - range); childDistance <= last; childDistance++) {
+                    Node child = children.get(childDistance);
+                    if (child != null) {
+                        child.collect(query, range, best);
+                    }
+                }
+            }
+        }
+    }
+}
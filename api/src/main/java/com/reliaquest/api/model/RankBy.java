@@ -0,0 +1,31 @@
+package com.reliaquest.api.model;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Numeric column employees can be ranked by.
+ */
+public enum RankBy {
+    SALARY,
+    AGE;
+
+    /**
+     * @return the row's value, or {@link RosterSnapshot#MISSING}
+     */
+    public int valueOf(RosterSnapshot roster, int row) {
+        return this == SALARY ? roster.salary(row) : roster.age(row);
+    }
+
+    int[] column(RosterSnapshot roster) {
+        return this == SALARY ? roster.salaryColumn() : roster.ageColumn();
+    }
+
+    public static Optional<RankBy> parse(String value) {
+        try {
+            return Optional.of(valueOf(value.trim().toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return Optional.empty();
+        }
+    }
+}
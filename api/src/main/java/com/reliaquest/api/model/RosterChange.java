@@ -0,0 +1,15 @@
+package com.reliaquest.api.model;
+
+/**
+ * Roster mutation made through one api replica, broadcast so the other replicas can apply it to their caches.
+ *
+ * @param origin     id of the replica that made the change; it ignores its own broadcasts
+ * @param generation value of the shared roster generation counter after the change
+ */
+public record RosterChange(String origin, long generation, Type type, EmployeeDto employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,256 @@
+package com.reliaquest.api.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Read-only indexes over one {@link RosterSnapshot}, built once per snapshot the first time it is queried: sorted
+ * indexes on salary, age and lower-cased name, and a hash index on lower-cased title whose rows are kept sorted by
+ * salary, so a title plus salary range query is a hash lookup and two binary searches. A query walks the narrowest
+ * index that applies and checks the remaining criteria row by row. A wide salary or age range is instead rescanned
+ * from the column with a {@link ColumnKernel}, which yields rows already in ascending order and spares sorting them.
+ */
+public final class RosterIndex {
+
+    private static final int[] NO_ROWS = new int[0];
+    private static final int WIDE_RANGE_DIVISOR = 8;
+
+    private final RosterSnapshot roster;
+    private final SortedRows bySalary;
+    private final SortedRows byAge;
+    private final String[] sortedNames;
+    private final int[] rowsByName;
+    private final Map<String, SortedRows> bySalaryPerTitle;
+
+    private RosterIndex(RosterSnapshot roster, SortedRows bySalary, SortedRows byAge, String[] sortedNames,
+                        int[] rowsByName, Map<String, SortedRows> bySalaryPerTitle) {
+        this.roster = roster;
+        this.bySalary = bySalary;
+        this.byAge = byAge;
+        this.sortedNames = sortedNames;
+        this.rowsByName = rowsByName;
+        this.bySalaryPerTitle = bySalaryPerTitle;
+    }
+
+    public static RosterIndex of(RosterSnapshot roster) {
+        int size = roster.size();
+        int[] salaries = new int[size];
+        int[] ages = new int[size];
+        Map<String, int[]> rowsPerTitle = new HashMap<>();
+        Map<String, Integer> rowCountPerTitle = new HashMap<>();
+        for (int row = 0; row < size; row++) {
+            salaries[row] = roster.salary(row);
+            ages[row] = roster.age(row);
+            String title = lowerCase(roster.title(row));
+            if (title != null) {
+                rowCountPerTitle.merge(title, 1, Integer::sum);
+            }
+        }
+        Map<String, Integer> filled = new HashMap<>();
+        for (int row = 0; row < size; row++) {
+            String title = lowerCase(roster.title(row));
+            if (title != null) {
+                int[] rows = rowsPerTitle.computeIfAbsent(title, ignored -> new int[rowCountPerTitle.get(title)]);
+                rows[filled.merge(title, 1, Integer::sum) - 1] = row;
+            }
+        }
+        Map<String, SortedRows> bySalaryPerTitle = new HashMap<>(rowsPerTitle.size() * 2);
+        rowsPerTitle.forEach((title, rows) -> bySalaryPerTitle.put(title, SortedRows.of(salaries, rows)));
+
+        Integer[] byName = new Integer[size];
+        String[] names = new String[size];
+        int named = 0;
+        for (int row = 0; row < size; row++) {
+            names[row] = lowerCase(roster.name(row));
+            if (names[row] != null) {
+                byName[named++] = row;
+            }
+        }
+        Integer[] namedRows = Arrays.copyOf(byName, named);
+        Arrays.sort(namedRows, (left, right) -> names[left].compareTo(names[right]));
+        String[] sortedNames = new String[named];
+        int[] rowsByName = new int[named];
+        for (int i = 0; i < named; i++) {
+            rowsByName[i] = namedRows[i];
+            sortedNames[i] = names[namedRows[i]];
+        }
+        return new RosterIndex(roster, SortedRows.of(salaries, null), SortedRows.of(ages, null), sortedNames, rowsByName,
+                bySalaryPerTitle);
+    }
+
+    /**
+     * @return the rows matching every criterion of the query, in ascending order
+     */
+    public int[] rowsMatching(EmployeeQuery query) {
+        String title = lowerCase(query.title());
+        String namePrefix = lowerCase(query.namePrefix());
+        int minSalary = lowerBound(query.minSalary());
+        int maxSalary = upperBound(query.maxSalary());
+        int minAge = lowerBound(query.minAge());
+        int maxAge = upperBound(query.maxAge());
+
+        // pick the narrowest candidate range among the indexes the query can use
+        int[] candidates = null;
+        int from = 0;
+        int to = roster.size();
+        if (title != null) {
+            SortedRows rows = bySalaryPerTitle.get(title);
+            if (rows == null) {
+                return NO_ROWS;
+            }
+            candidates = rows.rows;
+            from = query.hasSalaryRange() ? rows.firstAtLeast(minSalary) : 0;
+            to = query.hasSalaryRange() ? rows.firstAbove(maxSalary) : rows.rows.length;
+        }
+        if (query.hasSalaryRange() && title == null) {
+            candidates = bySalary.rows;
+            from = bySalary.firstAtLeast(minSalary);
+            to = bySalary.firstAbove(maxSalary);
+        }
+        if (query.hasAgeRange()) {
+            int ageFrom = byAge.firstAtLeast(minAge);
+            int ageTo = byAge.firstAbove(maxAge);
+            if (candidates == null || ageTo - ageFrom < to - from) {
+                candidates = byAge.rows;
+                from = ageFrom;
+                to = ageTo;
+            }
+        }
+        if (namePrefix != null) {
+            int nameFrom = firstNameAtLeast(namePrefix);
+            int nameTo = firstNameAtLeast(namePrefix + Character.MAX_VALUE);
+            if (candidates == null || nameTo - nameFrom < to - from) {
+                candidates = rowsByName;
+                from = nameFrom;
+                to = nameTo;
+            }
+        }
+
+        boolean ascending = candidates == null;
+        boolean salaryRange = candidates == bySalary.rows;
+        if ((salaryRange || candidates == byAge.rows) && to - from > roster.size() / WIDE_RANGE_DIVISOR) {
+            candidates = salaryRange
+                    ? ColumnKernels.get().rowsInRange(roster.salaryColumn(), minSalary, maxSalary)
+                    : ColumnKernels.get().rowsInRange(roster.ageColumn(), minAge, maxAge);
+            from = 0;
+            to = candidates.length;
+            ascending = true;
+        }
+
+        int[] matches = new int[Math.max(0, to - from)];
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            int row = candidates == null ? i : candidates[i];
+            if (query.hasSalaryRange() && !within(roster.salary(row), minSalary, maxSalary)) {
+                continue;
+            }
+            if (query.hasAgeRange() && !within(roster.age(row), minAge, maxAge)) {
+                continue;
+            }
+            if (title != null && !title.equals(lowerCase(roster.title(row)))) {
+                continue;
+            }
+            if (namePrefix != null) {
+                String name = lowerCase(roster.name(row));
+                if (name == null || !name.startsWith(namePrefix)) {
+                    continue;
+                }
+            }
+            matches[count++] = row;
+        }
+        int[] result = Arrays.copyOf(matches, count);
+        if (!ascending) {
+            Arrays.sort(result);
+        }
+        return result;
+    }
+
+    private int firstNameAtLeast(String value) {
+        int low = 0;
+        int high = sortedNames.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedNames[mid].compareTo(value) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static boolean within(int value, int min, int max) {
+        return value != RosterSnapshot.MISSING && value >= min && value <= max;
+    }
+
+    private static int lowerBound(Integer min) {
+        // MISSING is Integer.MIN_VALUE, so an open lower bound still excludes rows without a value
+        return min == null ? RosterSnapshot.MISSING + 1 : min;
+    }
+
+    private static int upperBound(Integer max) {
+        return max == null ? Integer.MAX_VALUE : max;
+    }
+
+    private static String lowerCase(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Rows ordered by an int key, rows without a value left out.
+     */
+    private static final class SortedRows {
+
+        private final int[] keys;
+        private final int[] rows;
+
+        private SortedRows(int[] keys, int[] rows) {
+            this.keys = keys;
+            this.rows = rows;
+        }
+
+        /**
+         * @param candidates rows to index, or null for all rows
+         */
+        static SortedRows of(int[] column, int[] candidates) {
+            int size = candidates == null ? column.length : candidates.length;
+            // key in the high half and row in the low half, so a primitive sort orders by key, then row
+            long[] packed = new long[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                int row = candidates == null ? i : candidates[i];
+                if (column[row] != RosterSnapshot.MISSING) {
+                    packed[count++] = ((long) column[row] << 32) | row;
+                }
+            }
+            Arrays.sort(packed, 0, count);
+            int[] keys = new int[count];
+            int[] rows = new int[count];
+            for (int i = 0; i < count; i++) {
+                keys[i] = (int) (packed[i] >> 32);
+                rows[i] = (int) packed[i];
+            }
+            return new SortedRows(keys, rows);
+        }
+
+        int firstAtLeast(int key) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid] < key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        int firstAbove(int key) {
+            return key == Integer.MAX_VALUE ? keys.length : firstAtLeast(key + 1);
+        }
+    }
+}
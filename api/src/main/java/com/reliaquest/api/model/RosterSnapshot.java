@@ -0,0 +1,389 @@
+package com.reliaquest.api.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.UUID;
+
+/**
+ * Immutable, column-wise copy of the employee roster as cached by the api. Numbers live in primitive arrays and strings
+ * in dictionary encoded columns; {@link EmployeeDto}s are only materialised when a row is read, e.g. while a response is
+ * written. The version changes whenever the content does, so it doubles as the ETag of the roster endpoint. A stale
+ * snapshot is a last-known-good copy served while the mock employee service cannot be reached.
+ */
+public final class RosterSnapshot {
+
+    /**
+     * Stored in the salary and age columns for rows without a value.
+     */
+    public static final int MISSING = Integer.MIN_VALUE;
+
+    private final long version;
+    private final long[] idMostSignificantBits;
+    private final long[] idLeastSignificantBits;
+    private final int[] salaries;
+    private final int[] ages;
+    private final StringColumn names;
+    private final StringColumn titles;
+    private final StringColumn emails;
+    private final boolean stale;
+
+    // a single view instance, which viewedBy maps back to its snapshot
+    private final List<EmployeeDto> employees = new EmployeeView();
+
+    // built on the first query; racing threads may both build it, which is harmless
+    private volatile RosterIndex index;
+
+    // built on first use like the index, then carried over to snapshots derived by single row changes
+    private volatile SalaryHistogram salaryHistogram;
+
+    private volatile TitleAggregates titleAggregates;
+
+    private volatile NameSearchIndex nameSearchIndex;
+
+    private volatile FieldSearchIndex fieldSearchIndex;
+
+    private RosterSnapshot(long version, long[] idMostSignificantBits, long[] idLeastSignificantBits, int[] salaries,
+                           int[] ages, StringColumn names, StringColumn titles, StringColumn emails, boolean stale) {
+        this.version = version;
+        this.idMostSignificantBits = idMostSignificantBits;
+        this.idLeastSignificantBits = idLeastSignificantBits;
+        this.salaries = salaries;
+        this.ages = ages;
+        this.names = names;
+        this.titles = titles;
+        this.emails = emails;
+        this.stale = stale;
+    }
+
+    public static RosterSnapshot of(long version, List<EmployeeDto> employees) {
+        int size = employees.size();
+        long[] most = new long[size];
+        long[] least = new long[size];
+        int[] salaries = new int[size];
+        int[] ages = new int[size];
+        String[] names = new String[size];
+        String[] titles = new String[size];
+        String[] emails = new String[size];
+        for (int row = 0; row < size; row++) {
+            EmployeeDto employee = employees.get(row);
+            if (employee.id() != null) {
+                most[row] = employee.id().getMostSignificantBits();
+                least[row] = employee.id().getLeastSignificantBits();
+            }
+            salaries[row] = toColumn(employee.salary());
+            ages[row] = toColumn(employee.age());
+            names[row] = employee.name();
+            titles[row] = employee.title();
+            emails[row] = employee.email();
+        }
+        return new RosterSnapshot(version, most, least, salaries, ages,
+                StringColumn.of(names), StringColumn.of(titles), StringColumn.of(emails), false);
+    }
+
+    /**
+     * Snapshot over existing columns, e.g. ones read back by a codec. Takes ownership of all arrays, which must have the
+     * same length; ids are split into their most and least significant bits, both zero for a missing id.
+     */
+    public static RosterSnapshot fromColumns(long version, long[] idMostSignificantBits, long[] idLeastSignificantBits,
+                                             int[] salaries, int[] ages,
+                                             StringColumn names, StringColumn titles, StringColumn emails) {
+        int size = salaries.length;
+        if (idMostSignificantBits.length != size || idLeastSignificantBits.length != size || ages.length != size
+                || names.size() != size || titles.size() != size || emails.size() != size) {
+            throw new IllegalArgumentException("All columns of a snapshot must have the same length");
+        }
+        return new RosterSnapshot(version, idMostSignificantBits, idLeastSignificantBits, salaries, ages,
+                names, titles, emails, false);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    /**
+     * @return the snapshot whose {@link #employees()} view {@code body} is, or null for any other object
+     */
+    public static RosterSnapshot viewedBy(Object body) {
+        return body instanceof EmployeeView view ? view.snapshot() : null;
+    }
+
+    public String etag() {
+        return "\"" + version + "\"";
+    }
+
+    public int size() {
+        return salaries.length;
+    }
+
+    public boolean stale() {
+        return stale;
+    }
+
+    /**
+     * The same rows and version, flagged as stale; the columns are shared.
+     */
+    public RosterSnapshot asStale() {
+        if (stale) {
+            return this;
+        }
+        RosterSnapshot copy = new RosterSnapshot(version, idMostSignificantBits, idLeastSignificantBits, salaries, ages,
+                names, titles, emails, true);
+        copy.index = index;
+        copy.nameSearchIndex = nameSearchIndex;
+        copy.fieldSearchIndex = fieldSearchIndex;
+        copy.salaryHistogram = salaryHistogram;
+        copy.titleAggregates = titleAggregates;
+        return copy;
+    }
+
+    /**
+     * Rows as DTOs, materialised on access. The list is the same instance for the lifetime of the snapshot.
+     */
+    public List<EmployeeDto> employees() {
+        return employees;
+    }
+
+    /**
+     * Query indexes over this snapshot, built on first use.
+     */
+    public RosterIndex index() {
+        RosterIndex built = index;
+        if (built == null) {
+            built = RosterIndex.of(this);
+            index = built;
+        }
+        return built;
+    }
+
+    /**
+     * Fuzzy name search tree, built on first use like {@link #index()}.
+     */
+    public NameSearchIndex nameSearchIndex() {
+        NameSearchIndex built = nameSearchIndex;
+        if (built == null) {
+            built = NameSearchIndex.of(this);
+            nameSearchIndex = built;
+        }
+        return built;
+    }
+
+    /**
+     * Inverted indexes for multi-field search, built on first use like {@link #index()}.
+     */
+    public FieldSearchIndex fieldSearchIndex() {
+        FieldSearchIndex built = fieldSearchIndex;
+        if (built == null) {
+            built = FieldSearchIndex.of(this);
+            fieldSearchIndex = built;
+        }
+        return built;
+    }
+
+    /**
+     * Distribution of the salary column. Snapshots derived with {@link #withAdded} or {@link #withoutRow} update their
+     * parent's histogram instead of scanning the column again.
+     */
+    public SalaryHistogram salaryHistogram() {
+        SalaryHistogram built = salaryHistogram;
+        if (built == null) {
+            built = SalaryHistogram.of(salaries);
+            salaryHistogram = built;
+        }
+        return built;
+    }
+
+    /**
+     * Per-title aggregates; carried over to derived snapshots the same way as {@link #salaryHistogram()}.
+     */
+    public TitleAggregates titleAggregates() {
+        TitleAggregates built = titleAggregates;
+        if (built == null) {
+            built = TitleAggregates.of(this);
+            titleAggregates = built;
+        }
+        return built;
+    }
+
+    public EmployeeDto employee(int row) {
+        return new EmployeeDto(id(row), name(row), boxed(salaries[row]), boxed(ages[row]), title(row), email(row));
+    }
+
+    public UUID id(int row) {
+        long most = idMostSignificantBits[row];
+        long least = idLeastSignificantBits[row];
+        return most == 0 && least == 0 ? null : new UUID(most, least);
+    }
+
+    public long idMostSignificantBits(int row) {
+        return idMostSignificantBits[row];
+    }
+
+    public long idLeastSignificantBits(int row) {
+        return idLeastSignificantBits[row];
+    }
+
+    public String name(int row) {
+        return names.get(row);
+    }
+
+    public String title(int row) {
+        return titles.get(row);
+    }
+
+    public String email(int row) {
+        return emails.get(row);
+    }
+
+    public StringColumn names() {
+        return names;
+    }
+
+    public StringColumn titles() {
+        return titles;
+    }
+
+    public StringColumn emails() {
+        return emails;
+    }
+
+    /**
+     * @return the salary of the row, or {@link #MISSING}
+     */
+    public int salary(int row) {
+        return salaries[row];
+    }
+
+    /**
+     * @return the age of the row, or {@link #MISSING}
+     */
+    public int age(int row) {
+        return ages[row];
+    }
+
+    /**
+     * The salary column itself, for {@link ColumnKernel} scans; callers must not modify it.
+     */
+    int[] salaryColumn() {
+        return salaries;
+    }
+
+    /**
+     * The age column itself, for {@link ColumnKernel} scans; callers must not modify it.
+     */
+    int[] ageColumn() {
+        return ages;
+    }
+
+    /**
+     * Rough heap footprint in bytes, used to weigh cache entries.
+     */
+    public long estimatedBytes() {
+        return 96L + 24L * size() + names.estimatedBytes() + titles.estimatedBytes() + emails.estimatedBytes();
+    }
+
+    /**
+     * @return the row holding the employee, or -1; a linear scan over two primitive arrays
+     */
+    public int indexOf(UUID id) {
+        if (id == null) {
+            return -1;
+        }
+        long most = id.getMostSignificantBits();
+        long least = id.getLeastSignificantBits();
+        for (int row = 0; row < idMostSignificantBits.length; row++) {
+            if (idMostSignificantBits[row] == most && idLeastSignificantBits[row] == least) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Copy of this snapshot with the employee appended as a new last row.
+     */
+    public RosterSnapshot withAdded(long newVersion, EmployeeDto employee) {
+        int size = size();
+        long[] most = Arrays.copyOf(idMostSignificantBits, size + 1);
+        long[] least = Arrays.copyOf(idLeastSignificantBits, size + 1);
+        if (employee.id() != null) {
+            most[size] = employee.id().getMostSignificantBits();
+            least[size] = employee.id().getLeastSignificantBits();
+        }
+        int[] newSalaries = Arrays.copyOf(salaries, size + 1);
+        newSalaries[size] = toColumn(employee.salary());
+        int[] newAges = Arrays.copyOf(ages, size + 1);
+        newAges[size] = toColumn(employee.age());
+        RosterSnapshot copy = new RosterSnapshot(newVersion, most, least, newSalaries, newAges,
+                names.withAppended(employee.name()), titles.withAppended(employee.title()),
+                emails.withAppended(employee.email()), stale);
+        SalaryHistogram histogram = salaryHistogram;
+        if (histogram != null) {
+            copy.salaryHistogram = histogram.withValue(newSalaries[size]);
+        }
+        TitleAggregates aggregates = titleAggregates;
+        if (aggregates != null) {
+            copy.titleAggregates = aggregates.withAdded(employee.title(), employee.name(), newSalaries[size]);
+        }
+        return copy;
+    }
+
+    /**
+     * Copy of this snapshot without the given row.
+     */
+    public RosterSnapshot withoutRow(long newVersion, int row) {
+        int[] newSalaries = removeRow(salaries, row);
+        RosterSnapshot copy = new RosterSnapshot(newVersion, removeRow(idMostSignificantBits, row),
+                removeRow(idLeastSignificantBits, row), newSalaries, removeRow(ages, row),
+                names.withoutRow(row), titles.withoutRow(row), emails.withoutRow(row), stale);
+        SalaryHistogram histogram = salaryHistogram;
+        if (histogram != null) {
+            copy.salaryHistogram = histogram.withoutValue(salaries[row], newSalaries);
+        }
+        TitleAggregates aggregates = titleAggregates;
+        if (aggregates != null) {
+            copy.titleAggregates = aggregates.withRemoved(title(row), name(row), salaries[row], copy);
+        }
+        return copy;
+    }
+
+    private static int toColumn(Integer value) {
+        return value == null ? MISSING : value;
+    }
+
+    private static Integer boxed(int value) {
+        return value == MISSING ? null : value;
+    }
+
+    private static long[] removeRow(long[] column, int row) {
+        long[] copy = new long[column.length - 1];
+        System.arraycopy(column, 0, copy, 0, row);
+        System.arraycopy(column, row + 1, copy, row, column.length - row - 1);
+        return copy;
+    }
+
+    private static int[] removeRow(int[] column, int row) {
+        int[] copy = new int[column.length - 1];
+        System.arraycopy(column, 0, copy, 0, row);
+        System.arraycopy(column, row + 1, copy, row, column.length - row - 1);
+        return copy;
+    }
+
+    private final class EmployeeView extends AbstractList<EmployeeDto> implements RandomAccess {
+
+        RosterSnapshot snapshot() {
+            return RosterSnapshot.this;
+        }
+
+        @Override
+        public EmployeeDto get(int index) {
+            return employee(index);
+        }
+
+        @Override
+        public int size() {
+            return RosterSnapshot.this.size();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.reliaquest.api.model;
+
+/**
+ * Partial selection of the n highest or lowest rows of a snapshot column with a bounded heap of primitive longs, so a
+ * top ten over a large roster costs O(rows * log 10) and allocates n slots instead of sorting every row. Each heap entry
+ * packs the value into the high half and the row into the low half, encoded so that a larger entry is always the better
+ * one and ties go to the earlier row. Rows without a value are never selected.
+ * <p>
+ * Over a large roster the heap is not fed every row: a selection over a prefix yields a threshold the true n-th value
+ * cannot be worse than, and a {@link ColumnKernel} range scan over the column keeps only the rows that reach it. A
+ * chunked scan takes the {@link #threshold} once and passes it to each chunk's {@link #select}.
+ */
+public final class RowRanking {
+
+    private static final long ROW_MASK = 0xFFFFFFFFL;
+    private static final int PRUNE_MIN_ROWS = 4096;
+    private static final int SAMPLE_PER_RESULT = 8;
+
+    private RowRanking() {
+    }
+
+    /**
+     * @return up to n rows with the highest values, highest first
+     */
+    public static int[] highest(RosterSnapshot roster, RankBy by, int n) {
+        return pruned(roster, by, n, true);
+    }
+
+    /**
+     * @return up to n rows with the lowest values, lowest first
+     */
+    public static int[] lowest(RosterSnapshot roster, RankBy by, int n) {
+        return pruned(roster, by, n, false);
+    }
+
+    /**
+     * Selection within rows {@code from} (inclusive) to {@code to} (exclusive), e.g. one chunk of a parallel scan.
+     */
+    public static int[] select(RosterSnapshot roster, RankBy by, int n, boolean highest, int from, int to) {
+        return select(roster, by, n, highest, null, from, to, unbounded(highest));
+    }
+
+    /**
+     * Like {@link #select(RosterSnapshot, RankBy, int, boolean, int, int)}, skipping rows worse than the
+     * {@link #threshold}.
+     */
+    public static int[] select(RosterSnapshot roster, RankBy by, int n, boolean highest, int from, int to,
+                               int threshold) {
+        return select(roster, by, n, highest, null, from, to, threshold);
+    }
+
+    /**
+     * @return a value the n-th best row of the whole roster is at least as good as, sampled from a prefix; one that
+     * skips nothing if the roster is too small to be worth sampling
+     */
+    public static int threshold(RosterSnapshot roster, RankBy by, int n, boolean highest) {
+        int size = roster.size();
+        int sample = (int) Math.min(size, Math.max(PRUNE_MIN_ROWS, (long) n * SAMPLE_PER_RESULT));
+        if (n <= 0 || sample >= size) {
+            return unbounded(highest);
+        }
+        // the n-th best value of a prefix is no better than the n-th best of the whole column
+        int[] seed = select(roster, by, n, highest, null, 0, sample, unbounded(highest));
+        return seed.length < n ? unbounded(highest) : by.valueOf(roster, seed[n - 1]);
+    }
+
+    /**
+     * Selection among the given rows, e.g. the combined winners of all chunks; ties still go to the earlier row, so the
+     * result equals a selection over the whole roster.
+     */
+    public static int[] selectAmong(RosterSnapshot roster, RankBy by, int n, boolean highest, int[] rows) {
+        return select(roster, by, n, highest, rows, 0, rows.length, unbounded(highest));
+    }
+
+    private static int[] pruned(RosterSnapshot roster, RankBy by, int n, boolean highest) {
+        int threshold = threshold(roster, by, n, highest);
+        if (threshold == unbounded(highest)) {
+            return select(roster, by, n, highest, null, 0, roster.size(), threshold);
+        }
+        int[] column = by.column(roster);
+        int[] candidates = highest
+                ? ColumnKernels.get().rowsInRange(column, threshold, Integer.MAX_VALUE)
+                : ColumnKernels.get().rowsInRange(column, RosterSnapshot.MISSING + 1, threshold);
+        // candidates are ascending, so ties still go to the earlier row
+        return select(roster, by, n, highest, candidates, 0, candidates.length, threshold);
+    }
+
+    private static int unbounded(boolean highest) {
+        return highest ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+    }
+
+    private static int[] select(RosterSnapshot roster, RankBy by, int n, boolean highest, int[] candidates, int from,
+                                int to, int threshold) {
+        // min-heap on the packed entry: the root is the worst row kept so far
+        long[] heap = new long[Math.max(0, Math.min(n, to - from))];
+        int size = 0;
+        for (int i = from; i < to; i++) {
+            int row = candidates == null ? i : candidates[i];
+            int value = by.valueOf(roster, row);
+            if (value == RosterSnapshot.MISSING || (highest ? value < threshold : value > threshold)) {
+                continue;
+            }
+            long entry = highest ? ((long) value << 32) | (ROW_MASK - row) : -(((long) value << 32) | row);
+            if (size < heap.length) {
+                heap[size] = entry;
+                siftUp(heap, size++);
+            } else if (size > 0 && entry > heap[0]) {
+                heap[0] = entry;
+                siftDown(heap, size);
+            }
+        }
+        // drain worst first into the back of the result, leaving the best row at index 0
+        int[] rows = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            long entry = heap[0];
+            rows[i] = highest ? (int) (ROW_MASK - (entry & ROW_MASK)) : (int) (-entry & ROW_MASK);
+            heap[0] = heap[i];
+            siftDown(heap, i);
+        }
+        return rows;
+    }
+
+    private static void siftUp(long[] heap, int index) {
+        long entry = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] <= entry) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = entry;
+    }
+
+    private static void siftDown(long[] heap, int size) {
+        if (size == 0) {
+            return;
+        }
+        long entry = heap[0];
+        int index = 0;
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (entry <= heap[child]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = entry;
+    }
+}
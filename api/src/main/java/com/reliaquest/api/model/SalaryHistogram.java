@@ -0,0 +1,191 @@
+package com.reliaquest.api.model;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable salary distribution in the style of an HDR histogram: values below 128 get a bucket each, larger values
+ * share log-linear buckets of 64 per power of two, so any quantile is within 1/64 of the true value while the whole
+ * int range fits in under 1700 counters. Count, sum, min and max are kept exactly. Instances are immutable; adding or
+ * removing a value copies the counters, which is independent of the roster size.
+ */
+public final class SalaryHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = bucketOf(Integer.MAX_VALUE) + 1;
+
+    private static final SalaryHistogram EMPTY = new SalaryHistogram(new long[BUCKETS], 0, 0, Integer.MAX_VALUE, 0);
+
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final int min;
+    private final int max;
+
+    private SalaryHistogram(long[] counts, long count, long sum, int min, int max) {
+        this.counts = counts;
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+    }
+
+    public static SalaryHistogram empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Histogram of a salary column; {@link RosterSnapshot#MISSING} and negative values are left out.
+     */
+    public static SalaryHistogram of(int[] salaries) {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        long sum = 0;
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        for (int salary : salaries) {
+            if (salary >= 0) {
+                counts[bucketOf(salary)]++;
+                count++;
+                sum += salary;
+                min = Math.min(min, salary);
+                max = Math.max(max, salary);
+            }
+        }
+        return new SalaryHistogram(counts, count, sum, min, max);
+    }
+
+    public SalaryHistogram withValue(int salary) {
+        if (salary < 0) {
+            return this;
+        }
+        long[] newCounts = counts.clone();
+        newCounts[bucketOf(salary)]++;
+        return new SalaryHistogram(newCounts, count + 1, sum + salary, Math.min(min, salary), Math.max(max, salary));
+    }
+
+    /**
+     * @param remaining the salary column after the removal; only scanned when the removed value was the minimum or the
+     *                  maximum, as the buckets alone cannot tell the exact runner-up
+     */
+    public SalaryHistogram withoutValue(int salary, int[] remaining) {
+        if (salary < 0) {
+            return this;
+        }
+        if (count == 1) {
+            return EMPTY;
+        }
+        long[] newCounts = counts.clone();
+        newCounts[bucketOf(salary)]--;
+        int newMin = min;
+        int newMax = max;
+        if (salary == min || salary == max) {
+            // count stays positive, so the remaining column holds a value >= 0 and neither scan comes back empty
+            ColumnKernel kernel = ColumnKernels.get();
+            newMin = kernel.min(remaining, 0);
+            newMax = kernel.max(remaining);
+        }
+        return new SalaryHistogram(newCounts, count - 1, sum - salary, newMin, newMax);
+    }
+
+    /**
+     * Combined distribution of both histograms, e.g. of rosters held by different replicas.
+     */
+    public SalaryHistogram merge(SalaryHistogram other) {
+        long[] merged = counts.clone();
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            merged[bucket] += other.counts[bucket];
+        }
+        return new SalaryHistogram(merged, count + other.count, sum + other.sum, Math.min(min, other.min),
+                Math.max(max, other.max));
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long sum() {
+        return sum;
+    }
+
+    /**
+     * @throws IllegalStateException if the histogram is empty
+     */
+    public int min() {
+        requireValues();
+        return min;
+    }
+
+    /**
+     * @throws IllegalStateException if the histogram is empty
+     */
+    public int max() {
+        requireValues();
+        return max;
+    }
+
+    /**
+     * @throws IllegalStateException if the histogram is empty
+     */
+    public double mean() {
+        requireValues();
+        return (double) sum / count;
+    }
+
+    /**
+     * Smallest value such that at least {@code quantile} of all values are at or below it, as the midpoint of its
+     * bucket, clamped to the exact min and max.
+     *
+     * @throws IllegalStateException if the histogram is empty
+     */
+    public int valueAtQuantile(double quantile) {
+        requireValues();
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("quantile must be between 0 and 1");
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                long midpoint = lowestValueOf(bucket) + (bucketWidth(bucket) - 1) / 2;
+                return (int) Math.max(min, Math.min(max, midpoint));
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof SalaryHistogram histogram && count == histogram.count && sum == histogram.sum
+                && min == histogram.min && max == histogram.max && Arrays.equals(counts, histogram.counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(sum) + Arrays.hashCode(counts);
+    }
+
+    private void requireValues() {
+        if (count == 0) {
+            throw new IllegalStateException("Histogram is empty");
+        }
+    }
+
+    static int bucketOf(int value) {
+        int shift = Math.max(0, 31 - Integer.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        return shift == 0 ? value : shift * SUB_BUCKETS + (value >>> shift);
+    }
+
+    static long lowestValueOf(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        return (long) (bucket - shift * SUB_BUCKETS) << shift;
+    }
+
+    private static long bucketWidth(int bucket) {
+        return bucket < 2 * SUB_BUCKETS ? 1 : 1L << (bucket / SUB_BUCKETS - 1);
+    }
+}
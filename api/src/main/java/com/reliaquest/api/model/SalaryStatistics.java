@@ -0,0 +1,34 @@
+package com.reliaquest.api.model;
+
+import lombok.Builder;
+
+/**
+ * Salary summary of the roster. Count, min, max and mean are exact; percentiles come from a {@link SalaryHistogram} and
+ * are within about one percent. All but the count are null when no employee has a salary.
+ */
+@Builder
+public record SalaryStatistics(
+        long count,
+        Integer min,
+        Integer max,
+        Double mean,
+        Integer p50,
+        Integer p90,
+        Integer p99
+) {
+
+    public static SalaryStatistics of(SalaryHistogram histogram) {
+        if (histogram.count() == 0) {
+            return SalaryStatistics.builder().count(0).build();
+        }
+        return SalaryStatistics.builder()
+                .count(histogram.count())
+                .min(histogram.min())
+                .max(histogram.max())
+                .mean(histogram.mean())
+                .p50(histogram.valueAtQuantile(0.5))
+                .p90(histogram.valueAtQuantile(0.9))
+                .p99(histogram.valueAtQuantile(0.99))
+                .build();
+    }
+}
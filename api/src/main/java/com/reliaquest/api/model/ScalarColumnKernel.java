@@ -0,0 +1,55 @@
+package com.reliaquest.api.model;
+
+import java.util.Arrays;
+
+/**
+ * Plain loops; the fallback when the Vector API is not available. The JIT may still auto-vectorise some of them.
+ */
+final class ScalarColumnKernel implements ColumnKernel {
+
+    @Override
+    public int max(int[] column) {
+        int max = RosterSnapshot.MISSING;
+        for (int value : column) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+
+    @Override
+    public int min(int[] column, int floor) {
+        int min = Integer.MAX_VALUE;
+        for (int value : column) {
+            if (value >= floor && value < min) {
+                min = value;
+            }
+        }
+        return min;
+    }
+
+    @Override
+    public int countInRange(int[] column, int min, int max) {
+        int low = Math.max(min, RosterSnapshot.MISSING + 1);
+        int count = 0;
+        for (int value : column) {
+            if (value >= low && value <= max) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int[] rowsInRange(int[] column, int min, int max) {
+        int low = Math.max(min, RosterSnapshot.MISSING + 1);
+        int[] rows = new int[countInRange(column, low, max)];
+        int count = 0;
+        for (int row = 0; row < column.length && count < rows.length; row++) {
+            int value = column[row];
+            if (value >= low && value <= max) {
+                rows[count++] = row;
+            }
+        }
+        return count == rows.length ? rows : Arrays.copyOf(rows, count);
+    }
+}
@@ -0,0 +1,58 @@
+package com.reliaquest.api.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position after the last row of a search page, handed to clients as an opaque string. Within the same roster version
+ * the row is used as is; once the roster changed, rows may have shifted and the search resumes after the row now holding
+ * the last returned employee.
+ *
+ * @param lastId id of the last employee returned, or null
+ */
+public record SearchCursor(long version, int nextRow, UUID lastId) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public static SearchCursor after(RosterSnapshot roster, int row) {
+        return new SearchCursor(roster.version(), row + 1, roster.id(row));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value is not a cursor, e.g. one pointing before the first row
+     */
+    public static SearchCursor decode(String value) {
+        try {
+            String[] parts = new String(DECODER.decode(value), StandardCharsets.UTF_8).split(":", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Malformed search cursor");
+            }
+            int nextRow = Integer.parseInt(parts[1]);
+            if (nextRow < 0) {
+                throw new IllegalArgumentException("Malformed search cursor");
+            }
+            return new SearchCursor(Long.parseLong(parts[0]), nextRow,
+                    parts[2].isEmpty() ? null : UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed search cursor", e);
+        }
+    }
+
+    public String encode() {
+        String value = version + ":" + nextRow + ":" + (lastId == null ? "" : lastId);
+        return ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the first row to scan in the given roster, or -1 if the cursor cannot be placed in it any more
+     */
+    public int resolve(RosterSnapshot roster) {
+        if (roster.version() == version) {
+            return Math.min(nextRow, roster.size());
+        }
+        int lastRow = roster.indexOf(lastId);
+        return lastRow < 0 ? -1 : lastRow + 1;
+    }
+}
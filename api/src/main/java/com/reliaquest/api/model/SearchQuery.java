@@ -0,0 +1,56 @@
+package com.reliaquest.api.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parsed multi-field search such as {@code title:engineer name:smi}. Terms are separated by whitespace and all have to
+ * match; a term qualified with {@code name:}, {@code title:} or {@code email:} only matches that field, an unqualified
+ * term matches any of them. Every word of a term matches words of the field that start with it, ignoring case.
+ *
+ * @param terms one per word, so {@code title:"vice chair"} style values are not needed: {@code title:vice title:chair}
+ */
+public record SearchQuery(List<Term> terms) {
+
+    public enum Field {
+        NAME,
+        TITLE,
+        EMAIL
+    }
+
+    /**
+     * @param field the field to match, or null for any field
+     * @param prefix lower-cased word prefix
+     */
+    public record Term(Field field, String prefix) {
+    }
+
+    /**
+     * @throws IllegalArgumentException on an unknown field or a query without any word
+     */
+    public static SearchQuery parse(String query) {
+        List<Term> terms = new ArrayList<>();
+        for (String token : query.trim().split("\\s+")) {
+            Field field = null;
+            String value = token;
+            int colon = token.indexOf(':');
+            if (colon > 0) {
+                String name = token.substring(0, colon).toUpperCase(Locale.ROOT);
+                try {
+                    field = Field.valueOf(name);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown search field: " + token.substring(0, colon));
+                }
+                value = token.substring(colon + 1);
+            }
+            for (String word : NameSearchIndex.words(value)) {
+                terms.add(new Term(field, word));
+            }
+        }
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search query has no words");
+        }
+        return new SearchQuery(List.copyOf(terms));
+    }
+}
@@ -0,0 +1,120 @@
+package com.reliaquest.api.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dictionary encoded string column: every distinct value is stored once in a pool and rows refer to it by index.
+ * Repeated values such as titles cost four bytes per row instead of a string each. Instances are immutable.
+ */
+public final class StringColumn {
+
+    private static final int NULL_REF = -1;
+
+    private final String[] pool;
+    private final int[] refs;
+
+    private StringColumn(String[] pool, int[] refs) {
+        this.pool = pool;
+        this.refs = refs;
+    }
+
+    /**
+     * Column over an existing pool, e.g. one read back by a codec. Takes ownership of both arrays.
+     *
+     * @param refs index into {@code pool} per row, or -1 for null
+     */
+    public static StringColumn fromPool(String[] pool, int[] refs) {
+        return new StringColumn(pool, refs);
+    }
+
+    public static StringColumn of(String[] values) {
+        Map<String, Integer> index = new HashMap<>();
+        String[] pool = new String[values.length];
+        int[] refs = new int[values.length];
+        int poolSize = 0;
+        for (int row = 0; row < values.length; row++) {
+            String value = values[row];
+            if (value == null) {
+                refs[row] = NULL_REF;
+                continue;
+            }
+            Integer ref = index.get(value);
+            if (ref == null) {
+                ref = poolSize;
+                pool[poolSize++] = value;
+                index.put(value, ref);
+            }
+            refs[row] = ref;
+        }
+        return new StringColumn(Arrays.copyOf(pool, poolSize), refs);
+    }
+
+    public int size() {
+        return refs.length;
+    }
+
+    public String get(int row) {
+        int ref = refs[row];
+        return ref == NULL_REF ? null : pool[ref];
+    }
+
+    public int poolSize() {
+        return pool.length;
+    }
+
+    public String poolValue(int ref) {
+        return pool[ref];
+    }
+
+    /**
+     * @return index of the row's value in the pool, or -1 for null
+     */
+    public int ref(int row) {
+        return refs[row];
+    }
+
+    /**
+     * Column with {@code value} appended as a new last row. Linear in the pool size, meant for single row changes.
+     */
+    public StringColumn withAppended(String value) {
+        int[] newRefs = Arrays.copyOf(refs, refs.length + 1);
+        if (value == null) {
+            newRefs[refs.length] = NULL_REF;
+            return new StringColumn(pool, newRefs);
+        }
+        for (int ref = 0; ref < pool.length; ref++) {
+            if (pool[ref].equals(value)) {
+                newRefs[refs.length] = ref;
+                return new StringColumn(pool, newRefs);
+            }
+        }
+        String[] newPool = Arrays.copyOf(pool, pool.length + 1);
+        newPool[pool.length] = value;
+        newRefs[refs.length] = pool.length;
+        return new StringColumn(newPool, newRefs);
+    }
+
+    /**
+     * Column without the given row. The pool is kept as is; values no longer referenced are dropped on the next full
+     * rebuild of the snapshot.
+     */
+    public StringColumn withoutRow(int row) {
+        int[] newRefs = new int[refs.length - 1];
+        System.arraycopy(refs, 0, newRefs, 0, row);
+        System.arraycopy(refs, row + 1, newRefs, row, refs.length - row - 1);
+        return new StringColumn(pool, newRefs);
+    }
+
+    /**
+     * Rough heap footprint in bytes, used to weigh cache entries.
+     */
+    public long estimatedBytes() {
+        long bytes = 64L + 4L * refs.length + 4L * pool.length;
+        for (String value : pool) {
+            bytes += 40L + value.length();
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,64 @@
+package com.reliaquest.api.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Headcount and salary aggregates of all employees sharing a title. Salary figures only cover the {@code salaryCount}
+ * employees with a salary; {@code topEarners} holds up to {@link #TOP_K} of them, highest first.
+ */
+public record TitleAggregate(
+        String title,
+        int headcount,
+        int salaryCount,
+        long salarySum,
+        Integer maxSalary,
+        List<Earner> topEarners
+) {
+
+    public static final int TOP_K = 5;
+
+    public record Earner(String name, int salary) {
+    }
+
+    static TitleAggregate empty(String title) {
+        return new TitleAggregate(title, 0, 0, 0, null, List.of());
+    }
+
+    /**
+     * @param salary the salary, or {@link RosterSnapshot#MISSING}
+     */
+    TitleAggregate with(String name, int salary) {
+        if (salary == RosterSnapshot.MISSING) {
+            return new TitleAggregate(title, headcount + 1, salaryCount, salarySum, maxSalary, topEarners);
+        }
+        List<Earner> top = topEarners;
+        if (top.size() < TOP_K || salary > top.get(top.size() - 1).salary()) {
+            List<Earner> newTop = new ArrayList<>(top.size() + 1);
+            int position = 0;
+            while (position < top.size() && top.get(position).salary() >= salary) {
+                position++;
+            }
+            newTop.addAll(top.subList(0, position));
+            newTop.add(new Earner(name, salary));
+            newTop.addAll(top.subList(position, Math.min(top.size(), TOP_K - 1)));
+            top = List.copyOf(newTop);
+        }
+        return new TitleAggregate(title, headcount + 1, salaryCount + 1, salarySum + salary,
+                maxSalary == null ? salary : Math.max(maxSalary, salary), top);
+    }
+
+    /**
+     * @return the aggregate without the employee, or null if it has to be rebuilt from the roster because the employee
+     * was one of the top earners
+     */
+    TitleAggregate without(String name, int salary) {
+        if (salary == RosterSnapshot.MISSING) {
+            return new TitleAggregate(title, headcount - 1, salaryCount, salarySum, maxSalary, topEarners);
+        }
+        if (topEarners.contains(new Earner(name, salary))) {
+            return null;
+        }
+        return new TitleAggregate(title, headcount - 1, salaryCount - 1, salarySum - salary, maxSalary, topEarners);
+    }
+}
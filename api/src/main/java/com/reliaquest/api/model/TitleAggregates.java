@@ -0,0 +1,92 @@
+package com.reliaquest.api.model;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link TitleAggregate} per distinct title of a roster snapshot; employees without a title are left out. Instances are
+ * immutable. A single row change copies the title map and replaces one aggregate, so it costs the number of distinct
+ * titles rather than the roster size; only removing a top earner rescans, and then just that title's rows.
+ */
+public final class TitleAggregates {
+
+    private final Map<String, TitleAggregate> byTitle;
+
+    private TitleAggregates(Map<String, TitleAggregate> byTitle) {
+        this.byTitle = byTitle;
+    }
+
+    public static TitleAggregates of(RosterSnapshot roster) {
+        Map<String, TitleAggregate> byTitle = new HashMap<>();
+        for (int row = 0; row < roster.size(); row++) {
+            String title = roster.title(row);
+            if (title != null) {
+                byTitle.put(title, byTitle.getOrDefault(title, TitleAggregate.empty(title))
+                        .with(roster.name(row), roster.salary(row)));
+            }
+        }
+        return new TitleAggregates(byTitle);
+    }
+
+    /**
+     * @return aggregates of all titles, ordered by title
+     */
+    public List<TitleAggregate> all() {
+        return byTitle.values().stream()
+                .sorted(Comparator.comparing(TitleAggregate::title))
+                .toList();
+    }
+
+    public TitleAggregate get(String title) {
+        return byTitle.get(title);
+    }
+
+    /**
+     * @param salary the salary, or {@link RosterSnapshot#MISSING}
+     */
+    TitleAggregates withAdded(String title, String name, int salary) {
+        if (title == null) {
+            return this;
+        }
+        Map<String, TitleAggregate> copy = new HashMap<>(byTitle);
+        copy.put(title, copy.getOrDefault(title, TitleAggregate.empty(title)).with(name, salary));
+        return new TitleAggregates(copy);
+    }
+
+    /**
+     * @param remaining the snapshot after the removal, scanned only if the removed employee was a top earner
+     */
+    TitleAggregates withRemoved(String title, String name, int salary, RosterSnapshot remaining) {
+        TitleAggregate aggregate = title == null ? null : byTitle.get(title);
+        if (aggregate == null) {
+            return this;
+        }
+        Map<String, TitleAggregate> copy = new HashMap<>(byTitle);
+        if (aggregate.headcount() == 1) {
+            copy.remove(title);
+            return new TitleAggregates(copy);
+        }
+        TitleAggregate updated = aggregate.without(name, salary);
+        copy.put(title, updated != null ? updated : rebuild(title, remaining));
+        return new TitleAggregates(copy);
+    }
+
+    private static TitleAggregate rebuild(String title, RosterSnapshot roster) {
+        // compare dictionary references instead of strings; equal values share one pool entry
+        StringColumn titles = roster.titles();
+        boolean[] matchingRefs = new boolean[titles.poolSize()];
+        for (int ref = 0; ref < matchingRefs.length; ref++) {
+            matchingRefs[ref] = title.equals(titles.poolValue(ref));
+        }
+        TitleAggregate aggregate = TitleAggregate.empty(title);
+        for (int row = 0; row < roster.size(); row++) {
+            int ref = titles.ref(row);
+            if (ref >= 0 && matchingRefs[ref]) {
+                aggregate = aggregate.with(roster.name(row), roster.salary(row));
+            }
+        }
+        return aggregate;
+    }
+}
@@ -0,0 +1,169 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.cache.RosterSnapshotFile;
+import com.reliaquest.api.cache.SharedRosterFile;
+import com.reliaquest.api.cache.TwoTierCache;
+import com.reliaquest.api.client.MockEmployeeClient;
+import com.reliaquest.api.exception.MockEmployeeServiceFailureException;
+import com.reliaquest.api.exception.MockEmployeeServiceTooManyRequestsException;
+import com.reliaquest.api.exception.MockEmployeeServiceUnavailableException;
+import com.reliaquest.api.mapper.EmployeeMapper;
+import com.reliaquest.api.model.MockEmployee;
+import com.reliaquest.api.model.Response;
+import com.reliaquest.api.model.RosterSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+import jakarta.annotation.PostConstruct;
+import java.util.List;
+
+/**
+ * Owns the cached roster snapshot. Kept apart from {@link EmployeeService} so that the service's own reads go through
+ * the caching proxy instead of calling the downstream every time.
+ * <p>
+ * Every freshly loaded roster is also written to the {@link RosterSnapshotFile}. That copy is cached at boot and served,
+ * flagged as stale, whenever the mock employee service is rate limiting or down; stale snapshots expire quickly (see
+ * {@code stale-expire-after-write}) so the downstream is retried soon.
+ * <p>
+ * With a {@link SharedRosterFile}, only the host's publisher loads the roster from downstream; the other processes on
+ * the host take the roster it published, including its version, and only call the downstream themselves while nothing
+ * recent has been published. Changes applied to the cached roster are published as well (see {@link #changed}), and a
+ * process keeps its own changed roster over a publication made before that change.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeRosterCache {
+
+    static final String EMPLOYEES_CACHE = "employees";
+
+    /**
+     * Caches holding results computed from the roster, to be cleared whenever the cached roster changes.
+     */
+    static final List<String> DERIVED_CACHES = List.of("employeeSearchPages", "topTenSalaryEmployees");
+
+    private final MockEmployeeClient employeeClient;
+    private final EmployeeMapper employeeMapper;
+    private final RosterSnapshotFile snapshotFile;
+    private final SharedRosterFile sharedRoster;
+    private final RosterVersions versions;
+    private final CacheManager cacheManager;
+
+    private volatile LoadedRoster lastLoaded;
+    private volatile RosterSnapshot lastKnownGood;
+    private volatile RosterSnapshot lastChanged;
+    private volatile boolean servedStale;
+
+    @PostConstruct
+    public void warmFromDisk() {
+        snapshotFile.load().ifPresent(snapshot -> {
+            lastKnownGood = snapshot;
+            servedStale = true;
+            Cache cache = cacheManager.getCache(EMPLOYEES_CACHE);
+            if (cache instanceof TwoTierCache twoTierCache) {
+                twoTierCache.putLocal(SimpleKey.EMPTY, snapshot.asStale());
+            } else if (cache != null) {
+                cache.put(SimpleKey.EMPTY, snapshot.asStale());
+            }
+        });
+    }
+
+    @Cacheable(value = EMPLOYEES_CACHE, sync = true)
+    public RosterSnapshot getSnapshot() {
+        log.info("CACHE MISSED employees -> calling actual service");
+        try {
+            return load();
+        } catch (MockEmployeeServiceFailureException | MockEmployeeServiceTooManyRequestsException
+                 | MockEmployeeServiceUnavailableException | RestClientException e) {
+            RosterSnapshot fallback = lastKnownGood;
+            if (fallback == null) {
+                throw e;
+            }
+            log.warn("Serving stale roster version={} as the downstream failed: {}", fallback.version(), e.getMessage());
+            servedStale = true;
+            return fallback.asStale();
+        }
+    }
+
+    public long nextVersion() {
+        return versions.next();
+    }
+
+    /**
+     * Called with the cached roster after a change was applied to it, so the host's publisher shares the change and
+     * this process does not later go back to a publication from before it.
+     */
+    public void changed(RosterSnapshot snapshot) {
+        if (snapshot.stale()) {
+            return;
+        }
+        lastChanged = snapshot;
+        lastKnownGood = snapshot;
+        sharedRoster.publish(snapshot);
+    }
+
+    private RosterSnapshot load() {
+        RosterSnapshot shared = sharedRoster.enabled() && !sharedRoster.leading()
+                ? sharedRoster.read().orElse(null)
+                : null;
+        RosterSnapshot changed = lastChanged;
+        if (shared != null && changed != null && shared.version() < changed.version()) {
+            // published before this process applied its latest change; keep the change until a newer roster is shared
+            shared = changed;
+        }
+        RosterSnapshot snapshot;
+        if (shared != null) {
+            lastKnownGood = shared;
+            snapshot = shared;
+        } else {
+            snapshot = fetch();
+        }
+        if (servedStale) {
+            // results derived from the stale roster would otherwise outlive it
+            servedStale = false;
+            DERIVED_CACHES.forEach(this::clearLocal);
+        }
+        return snapshot;
+    }
+
+    private RosterSnapshot fetch() {
+        Response<List<MockEmployee>> getEmployeesResponse = employeeClient.getEmployees();
+        if(getEmployeesResponse.error() != null) {
+            throw new MockEmployeeServiceFailureException(getEmployeesResponse.error());
+        }
+        // the client hands back the same response when the downstream answered 304, keep the version stable then
+        LoadedRoster previous = lastLoaded;
+        RosterSnapshot snapshot;
+        if (previous != null && previous.response() == getEmployeesResponse) {
+            snapshot = previous.snapshot();
+        } else {
+            snapshot = RosterSnapshot.of(nextVersion(), getEmployeesResponse.data().stream()
+                    .map(employeeMapper::map)
+                    .toList());
+            lastLoaded = new LoadedRoster(getEmployeesResponse, snapshot);
+            lastKnownGood = snapshot;
+            snapshotFile.save(snapshot);
+        }
+        // also when unchanged, which renews the publication for the other processes on this host
+        sharedRoster.publish(snapshot);
+        return snapshot;
+    }
+
+    private void clearLocal(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache instanceof TwoTierCache twoTierCache) {
+            twoTierCache.clearLocal();
+        } else if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private record LoadedRoster(Response<List<MockEmployee>> response, RosterSnapshot snapshot) {
+    }
+}
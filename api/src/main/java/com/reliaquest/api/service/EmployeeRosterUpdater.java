@@ -0,0 +1,114 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.cache.TwoTierCache;
+import com.reliaquest.api.mapper.EmployeeMapper;
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.MockEmployeeEvent;
+import com.reliaquest.api.model.RosterChange;
+import com.reliaquest.api.model.RosterSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Applies roster changes pushed by the mock employee service or broadcast by a peer replica to the cached roster, so it
+ * stays current without waiting for the cache entry to expire. Changes are applied idempotently because a resumed
+ * subscription may replay events and the same change may arrive through both channels. The roster is replaced in the
+ * local tier of a {@link TwoTierCache} only: every replica receives the changes, and the replica that made a change
+ * replaces the shared tier itself (see {@link #applyOwn}). Derived caches are dropped from the shared tier as well on a
+ * downstream event, as no replica is the one that made that change.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeRosterUpdater {
+
+    private final CacheManager cacheManager;
+    private final EmployeeMapper employeeMapper;
+    private final EmployeeRosterCache employeeRosterCache;
+
+    public synchronized void apply(MockEmployeeEvent event) {
+        switch (event.type()) {
+            case CREATED -> addEmployee(employeeMapper.map(event.employee()), false);
+            case DELETED -> removeEmployee(event.employee().getId(), false);
+            case RESET -> evict(EmployeeRosterCache.EMPLOYEES_CACHE, false);
+        }
+        EmployeeRosterCache.DERIVED_CACHES.forEach(cacheName -> evict(cacheName, true));
+        log.debug("Applied roster event type={} version={}", event.type(), event.version());
+    }
+
+    public synchronized void apply(RosterChange change) {
+        apply(change, false);
+    }
+
+    /**
+     * Applies a change made through this replica. Unlike a change received from elsewhere, it also replaces the shared
+     * tiers, as no other replica will.
+     */
+    public synchronized void applyOwn(RosterChange change) {
+        apply(change, true);
+    }
+
+    private void apply(RosterChange change, boolean shared) {
+        switch (change.type()) {
+            case CREATED -> addEmployee(change.employee(), shared);
+            case DELETED -> removeEmployee(change.employee().id(), shared);
+        }
+        EmployeeRosterCache.DERIVED_CACHES.forEach(cacheName -> evict(cacheName, shared));
+        log.debug("Applied roster change type={} origin={} generation={}", change.type(), change.origin(),
+                change.generation());
+    }
+
+    /**
+     * Drops everything derived from the roster, for when changes may have been missed.
+     */
+    public synchronized void invalidate() {
+        evict(EmployeeRosterCache.EMPLOYEES_CACHE, false);
+        EmployeeRosterCache.DERIVED_CACHES.forEach(cacheName -> evict(cacheName, false));
+    }
+
+    private void addEmployee(EmployeeDto employee, boolean shared) {
+        RosterSnapshot roster = cachedRoster();
+        if (roster == null || roster.indexOf(employee.id()) >= 0) {
+            return;
+        }
+        putRoster(roster.withAdded(employeeRosterCache.nextVersion(), employee), shared);
+    }
+
+    private void removeEmployee(UUID id, boolean shared) {
+        RosterSnapshot roster = cachedRoster();
+        int row = roster == null ? -1 : roster.indexOf(id);
+        if (row >= 0) {
+            putRoster(roster.withoutRow(employeeRosterCache.nextVersion(), row), shared);
+        }
+    }
+
+    private RosterSnapshot cachedRoster() {
+        Cache cache = cacheManager.getCache(EmployeeRosterCache.EMPLOYEES_CACHE);
+        return cache == null ? null : cache.get(SimpleKey.EMPTY, RosterSnapshot.class);
+    }
+
+    private void putRoster(RosterSnapshot roster, boolean shared) {
+        Cache cache = cacheManager.getCache(EmployeeRosterCache.EMPLOYEES_CACHE);
+        if (cache instanceof TwoTierCache twoTierCache && !shared) {
+            twoTierCache.putLocal(SimpleKey.EMPTY, roster);
+        } else if (cache != null) {
+            cache.put(SimpleKey.EMPTY, roster);
+        }
+        employeeRosterCache.changed(roster);
+    }
+
+    private void evict(String cacheName, boolean shared) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache instanceof TwoTierCache twoTierCache && !shared) {
+            twoTierCache.clearLocal();
+        } else if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -10,11 +10,10 @@ import com.reliaquest.api.model.*;
 import com.reliaquest.api.validator.UUIDValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.List;
 
 @Service
@@ -22,38 +21,133 @@ import java.util.List;
 @Slf4j
 public class EmployeeService {
 
-    //TODO: Enhancement use redis caching to store findAll/getEmployee etc results with appropriate TTL
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_RANK_SIZE = 1000;
+    public static final int MAX_SEARCH_PAGE_SIZE = 100;
 
     private final MockEmployeeClient employeeClient;
     private final EmployeeMapper employeeMapper;
+    private final EmployeeRosterCache employeeRosterCache;
+    private final RosterChangeBroadcaster rosterChangeBroadcaster;
+    private final RosterScanner rosterScanner;
+
+    public RosterSnapshot getRosterSnapshot() {
+        return employeeRosterCache.getSnapshot();
+    }
 
-    @Cacheable(value = "employees", sync = true)
     public List<EmployeeDto> getAllEmployees() {
-        log.info("CACHE MISSED employees -> calling actual service");
-        Response<List<MockEmployee>> getEmployeesResponse = employeeClient.getEmployees();
-        if(getEmployeesResponse.error() != null) {
-            throw new MockEmployeeServiceFailureException(getEmployeesResponse.error());
+        return getRosterSnapshot().employees();
+    }
+
+    /**
+     * Not cached: the scan runs over the cached snapshot, and an unbounded result kept per search term would cost more
+     * heap than it saves. {@link #getEmployeesBySearchPage} caches its bounded pages instead.
+     */
+    public List<EmployeeDto> getAllEmployeesBySearch(String search) {
+        if(search == null || search.isBlank()) {
+            throw new InvalidInputException("Search cannot be null or empty");
         }
-        return getEmployeesResponse.data().stream()
-                .map(employeeMapper::map)
+        RosterSnapshot roster = getRosterSnapshot();
+        String fragment = search.toLowerCase();
+        return Arrays.stream(rosterScanner.filter(roster,
+                        row -> roster.name(row) != null && roster.name(row).toLowerCase().contains(fragment)))
+                .mapToObj(roster::employee)
                 .toList();
 
     }
 
-    @Cacheable(value = "employeesBySearch", key = "T(org.springframework.util.StringUtils).trimAllWhitespace(#search)?.toLowerCase()", unless = "#result == null || #result.isEmpty()", sync = true)
-    public List<EmployeeDto> getAllEmployeesBySearch(String search) {
-        log.info("CACHE MISSED employeesBySearch -> calling actual service");
+    /**
+     * Bounded variant of {@link #getAllEmployeesBySearch}: the scan starts at the cursor and stops once the page and one
+     * more match, which tells whether there is a next page, are found.
+     */
+    @Cacheable(value = "employeeSearchPages", key = "'name:' + #search?.toLowerCase() + ':' + #limit + ':' + #cursor", sync = true)
+    public EmployeeSearchPage getEmployeesBySearchPage(String search, int limit, String cursor) {
         if(search == null || search.isBlank()) {
             throw new InvalidInputException("Search cannot be null or empty");
         }
-        List<EmployeeDto> allEmployees = getAllEmployees();
-        return allEmployees.stream()
-                .filter(e -> e.name().toLowerCase().contains(search.toLowerCase()))
+        requireSearchPageSize(limit);
+        RosterSnapshot roster = getRosterSnapshot();
+        String fragment = search.toLowerCase();
+        int[] rows = new int[limit + 1];
+        int count = 0;
+        for (int row = startRow(roster, cursor); row < roster.size() && count < rows.length; row++) {
+            String name = roster.name(row);
+            if (name != null && name.toLowerCase().contains(fragment)) {
+                rows[count++] = row;
+            }
+        }
+        return searchPage(roster, Arrays.copyOf(rows, count), limit);
+    }
+
+    /**
+     * Bounded variant of {@link #searchEmployees}: the intersection starts at the cursor and stops once the page and one
+     * more match are found.
+     */
+    @Cacheable(value = "employeeSearchPages", key = "'q:' + #query + ':' + #limit + ':' + #cursor", sync = true)
+    public EmployeeSearchPage searchEmployeesPage(String query, int limit, String cursor) {
+        SearchQuery parsed = parseSearchQuery(query);
+        requireSearchPageSize(limit);
+        RosterSnapshot roster = getRosterSnapshot();
+        return searchPage(roster, roster.fieldSearchIndex().search(parsed, startRow(roster, cursor), limit + 1), limit);
+    }
+
+    /**
+     * Multi-field search such as {@code title:engineer name:smi}, see {@link SearchQuery} for the syntax.
+     */
+    public List<EmployeeDto> searchEmployees(String query) {
+        SearchQuery parsed = parseSearchQuery(query);
+        RosterSnapshot roster = getRosterSnapshot();
+        return Arrays.stream(roster.fieldSearchIndex().search(parsed))
+                .mapToObj(roster::employee)
                 .toList();
+    }
 
+    /**
+     * Typo tolerant name search, e.g. "jonh" finds "John Smith"; results are ranked by edit distance.
+     */
+    public List<EmployeeDto> getEmployeesByFuzzySearch(String search, int limit) {
+        if(search == null || search.isBlank()) {
+            throw new InvalidInputException("Search cannot be null or empty");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidInputException("limit must be between 1 and %d".formatted(MAX_PAGE_SIZE));
+        }
+        RosterSnapshot roster = getRosterSnapshot();
+        return Arrays.stream(roster.nameSearchIndex().search(search, limit))
+                .mapToObj(roster::employee)
+                .toList();
+    }
+
+    /**
+     * Filters the cached roster through the snapshot's indexes; the mock employee service is not called.
+     */
+    public EmployeePage queryEmployees(EmployeeQuery query, int page, int size) {
+        if (page < 0) {
+            throw new InvalidInputException("page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidInputException("size must be between 1 and %d".formatted(MAX_PAGE_SIZE));
+        }
+        if (isInverted(query.minSalary(), query.maxSalary()) || isInverted(query.minAge(), query.maxAge())) {
+            throw new InvalidInputException("Range minimum must not exceed its maximum");
+        }
+        RosterSnapshot roster = getRosterSnapshot();
+        int[] rows = roster.index().rowsMatching(query);
+        long from = (long) page * size;
+        List<EmployeeDto> content = from >= rows.length ? List.of() : Arrays.stream(rows, (int) from,
+                        (int) Math.min(rows.length, from + size))
+                .mapToObj(roster::employee)
+                .toList();
+        return new EmployeePage(content, page, size, rows.length);
+    }
+
+    /**
+     * Headcount and salary aggregates per title, maintained on the snapshot as the roster changes.
+     */
+    public List<TitleAggregate> getTitleAggregates() {
+        return getRosterSnapshot().titleAggregates().all();
     }
 
-    @CacheEvict(value = { "employees", "employeesBySearch" }, allEntries = true)
     public EmployeeDto getEmployeeById(String id) {
 
         if(UUIDValidator.parseUUID(id).isEmpty()){
@@ -70,26 +164,52 @@ public class EmployeeService {
     }
 
     public int getHighestSalary(){
-        List<EmployeeDto> allEmployees = getAllEmployees();
-
-        return allEmployees.stream()
-                .mapToInt(EmployeeDto::salary)
-                .max()
-                .orElseThrow(() -> new NoEmployeesFoundException("Unable to calculate highest salary as no employees found"));
+        SalaryHistogram salaries = getRosterSnapshot().salaryHistogram();
+        if (salaries.count() == 0) {
+            throw new NoEmployeesFoundException("Unable to calculate highest salary as no employees found");
+        }
+        return salaries.max();
+    }
 
+    /**
+     * Read from the snapshot's salary histogram, which roster changes update in place of a rescan.
+     */
+    public SalaryStatistics getSalaryStatistics() {
+        return SalaryStatistics.of(getRosterSnapshot().salaryHistogram());
     }
 
-    //TODO: enhancement, if this logic should be offloaded to the downstream Mockservice it would be more efficient
-    // as the calcualtion could be done via DB(JDBC/hibernate) where DBMS are highly optimsed for aggregate cals
+    @Cacheable(value = "topTenSalaryEmployees", sync = true)
     public List<String> getTopTenSalaryEmployees() {
-        List<EmployeeDto> allEmployees = getAllEmployees();
-        if(allEmployees.isEmpty()) {
+        RosterSnapshot roster = getRosterSnapshot();
+        if(roster.size() == 0) {
             throw new EmployeeNotFoundException("Unable to calculate top 10 highest salary as no employees found");
         }
-        return allEmployees.stream()
-                .sorted(Comparator.comparing(EmployeeDto::salary).reversed())
-                .limit(10)
-                .map(EmployeeDto::name)
+        return Arrays.stream(rosterScanner.rank(roster, RankBy.SALARY, 10, true))
+                .mapToObj(roster::name)
+                .toList();
+    }
+
+    /**
+     * @param by column to rank by, {@code salary} or {@code age}, ignoring case
+     * @return up to n employees with the highest values, highest first; employees without a value are left out
+     */
+    public List<EmployeeDto> getTopEmployees(String by, int n) {
+        RankBy column = parseRankBy(by, n);
+        RosterSnapshot roster = getRosterSnapshot();
+        return Arrays.stream(rosterScanner.rank(roster, column, n, true))
+                .mapToObj(roster::employee)
+                .toList();
+    }
+
+    /**
+     * @param by column to rank by, {@code salary} or {@code age}, ignoring case
+     * @return up to n employees with the lowest values, lowest first; employees without a value are left out
+     */
+    public List<EmployeeDto> getBottomEmployees(String by, int n) {
+        RankBy column = parseRankBy(by, n);
+        RosterSnapshot roster = getRosterSnapshot();
+        return Arrays.stream(rosterScanner.rank(roster, column, n, false))
+                .mapToObj(roster::employee)
                 .toList();
     }
 
@@ -98,10 +218,15 @@ public class EmployeeService {
         if(createEmployeeResponse.error() != null) {
             throw new MockEmployeeServiceFailureException(createEmployeeResponse.error());
         }
-        return employeeMapper.map(createEmployeeResponse.data());
+        EmployeeDto employee = employeeMapper.map(createEmployeeResponse.data());
+        rosterChangeBroadcaster.created(employee);
+        return employee;
     }
 
-    @CacheEvict(value = { "employees", "employeesBySearch" }, allEntries = true)
+    /**
+     * Leaves the caches to {@link RosterChangeBroadcaster#deleted}, which removes the employee from the cached roster
+     * and clears what was derived from it, so the roster is not loaded again.
+     */
     public String deleteEmployee(String id) {
         if(UUIDValidator.parseUUID(id).isEmpty()){
             throw new InvalidInputException("id: % is not valid UUID");
@@ -117,7 +242,65 @@ public class EmployeeService {
         if(!deleteEmployeeResponse.data().booleanValue()) {
             throw new EmployeeNotFoundException("Unable to delete employee");
         }
+        rosterChangeBroadcaster.deleted(employee);
         return deleteRequest.getName();
     }
 
+    private static SearchQuery parseSearchQuery(String query) {
+        if(query == null || query.isBlank()) {
+            throw new InvalidInputException("Search cannot be null or empty");
+        }
+        try {
+            return SearchQuery.parse(query);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException(e.getMessage());
+        }
+    }
+
+    private static void requireSearchPageSize(int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_PAGE_SIZE) {
+            throw new InvalidInputException("limit must be between 1 and %d".formatted(MAX_SEARCH_PAGE_SIZE));
+        }
+    }
+
+    private static int startRow(RosterSnapshot roster, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        SearchCursor position;
+        try {
+            position = SearchCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException(e.getMessage());
+        }
+        int row = position.resolve(roster);
+        if (row < 0) {
+            throw new InvalidInputException("Search cursor has expired, start again without a cursor");
+        }
+        return row;
+    }
+
+    /**
+     * @param rows up to limit + 1 matching rows; the extra one only signals a next page
+     */
+    private static EmployeeSearchPage searchPage(RosterSnapshot roster, int[] rows, int limit) {
+        int size = Math.min(rows.length, limit);
+        List<EmployeeDto> content = Arrays.stream(rows, 0, size)
+                .mapToObj(roster::employee)
+                .toList();
+        String nextCursor = rows.length > limit ? SearchCursor.after(roster, rows[limit - 1]).encode() : null;
+        return new EmployeeSearchPage(content, nextCursor);
+    }
+
+    private static RankBy parseRankBy(String by, int n) {
+        if (n < 1 || n > MAX_RANK_SIZE) {
+            throw new InvalidInputException("n must be between 1 and %d".formatted(MAX_RANK_SIZE));
+        }
+        return RankBy.parse(by).orElseThrow(() -> new InvalidInputException("Cannot rank by: %s".formatted(by)));
+    }
+
+    private static boolean isInverted(Integer min, Integer max) {
+        return min != null && max != null && min > max;
+    }
+
     }
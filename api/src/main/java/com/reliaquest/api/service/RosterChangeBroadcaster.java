@@ -0,0 +1,129 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.CacheProperties;
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.RosterChange;
+import com.reliaquest.api.store.MessageBus;
+import com.reliaquest.api.store.SharedStore;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Propagates roster mutations made through this replica to every other replica's caches. Each change bumps a shared
+ * generation counter and is then broadcast as a delta over the {@link MessageBus}. Pub/sub delivery is at most once,
+ * so a replica that notices a gap in the generations, either in a received change or by polling the counter, drops
+ * its roster caches instead.
+ */
+@Component
+@Slf4j
+public class RosterChangeBroadcaster {
+
+    private final String origin = UUID.randomUUID().toString();
+    private final AtomicLong lastSeenGeneration = new AtomicLong();
+
+    private final MessageBus messageBus;
+    private final SharedStore sharedStore;
+    private final ObjectMapper objectMapper;
+    private final EmployeeRosterUpdater rosterUpdater;
+    private final String channel;
+    private final String generationKey;
+
+    public RosterChangeBroadcaster(MessageBus messageBus, SharedStore sharedStore, ObjectMapper objectMapper,
+                                   EmployeeRosterUpdater rosterUpdater, CacheProperties cacheProperties) {
+        this.messageBus = messageBus;
+        this.sharedStore = sharedStore;
+        this.objectMapper = objectMapper;
+        this.rosterUpdater = rosterUpdater;
+        this.channel = cacheProperties.getSharedKeyPrefix() + ":roster-changes";
+        this.generationKey = cacheProperties.getSharedKeyPrefix() + ":roster-generation";
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        lastSeenGeneration.set(currentGeneration());
+        messageBus.subscribe(channel, this::onMessage);
+    }
+
+    public void created(EmployeeDto employee) {
+        announce(RosterChange.Type.CREATED, employee);
+    }
+
+    public void deleted(EmployeeDto employee) {
+        announce(RosterChange.Type.DELETED, employee);
+    }
+
+    @Scheduled(fixedDelayString = "${com.reliaquest.api.cache.invalidation.poll-interval:30s}",
+            initialDelayString = "${com.reliaquest.api.cache.invalidation.poll-interval:30s}")
+    public void pollGeneration() {
+        long generation = currentGeneration();
+        long seen = lastSeenGeneration.getAndAccumulate(generation, Math::max);
+        if (generation > seen) {
+            log.info("Missed roster changes up to generation={} (last seen {}), dropping cached roster", generation, seen);
+            rosterUpdater.invalidate();
+        }
+    }
+
+    private void advanceTo(long generation) {
+        long seen = lastSeenGeneration.getAndAccumulate(generation, Math::max);
+        if (generation > seen + 1) {
+            log.info("Missed roster changes before generation={} (last seen {}), dropping cached roster", generation, seen);
+            rosterUpdater.invalidate();
+        }
+    }
+
+    /**
+     * Applies the change to this replica's caches whether or not it can be broadcast, as the caller relies on them
+     * reflecting it.
+     */
+    private void announce(RosterChange.Type type, EmployeeDto employee) {
+        long generation;
+        try {
+            generation = sharedStore.increment(generationKey);
+        } catch (RuntimeException e) {
+            // peers catch up by expiry, as the counter they poll is unreachable as well
+            log.warn("Unable to broadcast roster change type={} id={}", type, employee.id(), e);
+            rosterUpdater.applyOwn(new RosterChange(origin, lastSeenGeneration.get(), type, employee));
+            return;
+        }
+        RosterChange change = new RosterChange(origin, generation, type, employee);
+        rosterUpdater.applyOwn(change);
+        advanceTo(generation);
+        try {
+            messageBus.publish(channel, objectMapper.writeValueAsBytes(change));
+        } catch (Exception e) {
+            // peers catch up by polling the generation
+            log.warn("Unable to broadcast roster change type={} id={}", type, employee.id(), e);
+        }
+    }
+
+    void onMessage(byte[] message) {
+        RosterChange change;
+        try {
+            change = objectMapper.readValue(message, RosterChange.class);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable roster change", e);
+            return;
+        }
+        if (origin.equals(change.origin())) {
+            return;
+        }
+        rosterUpdater.apply(change);
+        advanceTo(change.generation());
+    }
+
+    private long currentGeneration() {
+        try {
+            return sharedStore.getCounter(generationKey);
+        } catch (RuntimeException e) {
+            log.warn("Unable to read roster generation", e);
+            return lastSeenGeneration.get();
+        }
+    }
+}
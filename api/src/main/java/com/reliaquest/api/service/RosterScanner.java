@@ -0,0 +1,103 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.RankBy;
+import com.reliaquest.api.model.RosterSnapshot;
+import com.reliaquest.api.model.RowRanking;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Runs full scans of a roster snapshot sequentially on the calling thread, or, from {@code parallel-threshold} rows on,
+ * split across a dedicated {@link ForkJoinPool}. The pool is separate from the common pool, so parallel streams elsewhere
+ * and request threads never compete with it for workers; a request thread only blocks on its own scan. Results are the
+ * same either way: filters keep roster order and rankings break ties by row.
+ */
+@Component
+@Slf4j
+public class RosterScanner {
+
+    // chunks per worker, so an unevenly slow chunk does not leave the other workers idle
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private final int parallelThreshold;
+    private final ForkJoinPool pool;
+
+    @Autowired
+    public RosterScanner(@Value("${com.reliaquest.api.scan.parallel-threshold:100000}") int parallelThreshold,
+                         @Value("${com.reliaquest.api.scan.parallelism:0}") int parallelism) {
+        this.parallelThreshold = parallelThreshold;
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = workers > 1 ? new ForkJoinPool(workers, RosterScanner::newWorker, null, false) : null;
+        log.info("Roster scans run in parallel from {} rows with {} workers", parallelThreshold, pool == null ? 1 : workers);
+    }
+
+    /**
+     * Scans on the calling thread only; for services used outside the application context.
+     */
+    public static RosterScanner sequential() {
+        return new RosterScanner(Integer.MAX_VALUE, 1);
+    }
+
+    /**
+     * @return the rows matching the predicate, ascending
+     */
+    public int[] filter(RosterSnapshot roster, IntPredicate predicate) {
+        if (!isParallel(roster)) {
+            return IntStream.range(0, roster.size()).filter(predicate).toArray();
+        }
+        // a parallel stream started from inside the pool is split across that pool rather than the common one
+        return pool.submit(() -> IntStream.range(0, roster.size()).parallel().filter(predicate).toArray()).join();
+    }
+
+    /**
+     * @return up to n rows with the highest, or lowest, values, best first; the same rows as {@link RowRanking}
+     */
+    public int[] rank(RosterSnapshot roster, RankBy by, int n, boolean highest) {
+        if (!isParallel(roster)) {
+            return highest ? RowRanking.highest(roster, by, n) : RowRanking.lowest(roster, by, n);
+        }
+        int chunks = pool.getParallelism() * CHUNKS_PER_WORKER;
+        int chunkSize = (roster.size() + chunks - 1) / chunks;
+        // sampled once up front, so every chunk skips the rows that cannot make the overall best n
+        int threshold = RowRanking.threshold(roster, by, n, highest);
+        // each chunk keeps its own best n; the overall best n are among those
+        int[] candidates = pool.submit(() -> IntStream.range(0, chunks)
+                        .parallel()
+                        .mapToObj(chunk -> {
+                            int from = Math.min(roster.size(), chunk * chunkSize);
+                            int to = Math.min(roster.size(), from + chunkSize);
+                            return RowRanking.select(roster, by, n, highest, from, to, threshold);
+                        })
+                        .flatMapToInt(Arrays::stream)
+                        .toArray())
+                .join();
+        return RowRanking.selectAmong(roster, by, n, highest, candidates);
+    }
+
+    boolean isParallel(RosterSnapshot roster) {
+        return pool != null && roster.size() >= parallelThreshold;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("roster-scan-" + thread.getPoolIndex());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
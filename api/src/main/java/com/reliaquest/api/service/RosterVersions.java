@@ -0,0 +1,53 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.config.CacheProperties;
+import com.reliaquest.api.store.SharedStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Hands out roster versions, which double as ETags, unique across all replicas: every snapshot a replica builds, by a
+ * full load or by applying a change, gets a version of its own, so one ETag never names two different bodies even
+ * when replicas apply the same change to different base snapshots. A version is the current time in milliseconds in
+ * the high bits and a counter shared through the {@link SharedStore} in the low {@value #SEQUENCE_BITS} bits. The time
+ * keeps versions from repeating after the shared counter is lost, e.g. when the store restarts, and roughly orders
+ * them; the counter keeps replicas apart within the same millisecond.
+ */
+@Component
+@Slf4j
+public class RosterVersions {
+
+    static final int SEQUENCE_BITS = 20;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final SharedStore sharedStore;
+    private final String sequenceKey;
+    private final Clock clock;
+
+    @Autowired
+    public RosterVersions(SharedStore sharedStore, CacheProperties cacheProperties) {
+        this(sharedStore, cacheProperties.getSharedKeyPrefix(), Clock.systemUTC());
+    }
+
+    RosterVersions(SharedStore sharedStore, String keyPrefix, Clock clock) {
+        this.sharedStore = sharedStore;
+        this.sequenceKey = keyPrefix + ":roster-version";
+        this.clock = clock;
+    }
+
+    public long next() {
+        long sequence;
+        try {
+            sequence = sharedStore.increment(sequenceKey);
+        } catch (RuntimeException e) {
+            // a random sequence still keeps a clash with another replica unlikely
+            log.warn("Unable to draw a shared roster version, using a random one", e);
+            sequence = ThreadLocalRandom.current().nextLong();
+        }
+        return (clock.millis() << SEQUENCE_BITS) | (sequence & SEQUENCE_MASK);
+    }
+}
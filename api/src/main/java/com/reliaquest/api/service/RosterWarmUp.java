@@ -0,0 +1,174 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.client.DownstreamPriority;
+import com.reliaquest.api.exception.MockEmployeeServiceTooManyRequestsException;
+import com.reliaquest.api.exception.MockEmployeeServiceUnavailableException;
+import com.reliaquest.api.model.RosterSnapshot;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Preloads the roster and what is derived from it before the instance is reported ready, so a new instance does not
+ * send its first burst of misses to the mock employee service at once. Runs in the background from application start;
+ * until it completes or times out this indicator is {@code OUT_OF_SERVICE}, and it is part of the readiness group.
+ * <p>
+ * Failed attempts, 429s and a spent request budget are retried with jittered exponential backoff, waiting at least as
+ * long as the downstream ({@code Retry-After}) or the request budget asked. Its downstream calls are scheduled as
+ * {@link DownstreamPriority#BACKGROUND}, behind user requests. A stale roster (see {@link EmployeeRosterCache}) does not count as warm.
+ */
+@Component
+@Slf4j
+public class RosterWarmUp implements HealthIndicator {
+
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    enum State {
+        PENDING,
+        WARMING,
+        WARM,
+        TIMED_OUT,
+        DISABLED
+    }
+
+    private final EmployeeService employeeService;
+    private final Duration timeout;
+    private final Clock clock;
+    private final Sleeper sleeper;
+
+    private volatile State state = State.PENDING;
+    private volatile int attempts;
+    private volatile String lastFailure;
+    private Thread worker;
+
+    @Autowired
+    public RosterWarmUp(EmployeeService employeeService,
+                        @Value("${com.reliaquest.api.warm-up.enabled:true}") boolean enabled,
+                        @Value("${com.reliaquest.api.warm-up.timeout:2m}") Duration timeout) {
+        this(employeeService, timeout, Clock.systemUTC(), Thread::sleep);
+        if (!enabled) {
+            state = State.DISABLED;
+        }
+    }
+
+    RosterWarmUp(EmployeeService employeeService, Duration timeout, Clock clock, Sleeper sleeper) {
+        this.employeeService = employeeService;
+        this.timeout = timeout;
+        this.clock = clock;
+        this.sleeper = sleeper;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public synchronized void start() {
+        if (state != State.PENDING) {
+            return;
+        }
+        state = State.WARMING;
+        worker = new Thread(this::warmUp, "roster-warm-up");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = switch (state) {
+            case WARM, TIMED_OUT, DISABLED -> Health.up();
+            case PENDING, WARMING -> Health.outOfService();
+        };
+        health.withDetail("state", state).withDetail("attempts", attempts);
+        if (lastFailure != null) {
+            health.withDetail("lastFailure", lastFailure);
+        }
+        return health.build();
+    }
+
+    State getState() {
+        return state;
+    }
+
+    void warmUp() {
+        state = State.WARMING;
+        Instant deadline = clock.instant().plus(timeout);
+        Duration backoff = INITIAL_BACKOFF;
+        while (true) {
+            attempts++;
+            Duration retryAfter = Duration.ZERO;
+            try {
+                if (preload()) {
+                    state = State.WARM;
+                    log.info("Warm-up completed after {} attempt(s)", attempts);
+                    return;
+                }
+                lastFailure = "stale roster";
+            } catch (MockEmployeeServiceUnavailableException e) {
+                lastFailure = e.getMessage();
+                retryAfter = e.getRetryAfter();
+            } catch (MockEmployeeServiceTooManyRequestsException e) {
+                lastFailure = e.getMessage();
+                retryAfter = e.getRetryAfter() == null ? Duration.ZERO : e.getRetryAfter();
+            } catch (RuntimeException e) {
+                lastFailure = e.getMessage();
+            }
+            Duration wait = max(retryAfter, jitter(backoff));
+            if (clock.instant().plus(wait).isAfter(deadline)) {
+                state = State.TIMED_OUT;
+                log.warn("Warm-up timed out after {} attempt(s), last failure: {}", attempts, lastFailure);
+                return;
+            }
+            log.info("Warm-up attempt {} failed ({}), retrying in {}", attempts, lastFailure, wait);
+            try {
+                sleeper.sleep(wait.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                state = State.TIMED_OUT;
+                return;
+            }
+            backoff = backoff.multipliedBy(2).compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff.multipliedBy(2);
+        }
+    }
+
+    private boolean preload() {
+        return DownstreamPriority.callAs(DownstreamPriority.BACKGROUND, () -> {
+            RosterSnapshot roster = employeeService.getRosterSnapshot();
+            if (roster.stale()) {
+                return false;
+            }
+            if (roster.size() > 0) {
+                employeeService.getTopTenSalaryEmployees();
+            }
+            return true;
+        });
+    }
+
+    private static Duration jitter(Duration backoff) {
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(backoff.toMillis() / 2, backoff.toMillis() + 1));
+    }
+
+    private static Duration max(Duration a, Duration b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(long millis) throws InterruptedException;
+    }
+}
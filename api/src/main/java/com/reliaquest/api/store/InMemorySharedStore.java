@@ -0,0 +1,86 @@
+package com.reliaquest.api.store;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Process local stand-in for the shared store. Used when a single replica runs, in tests, and anywhere no Redis is
+ * available; it behaves like Redis for a single client, expiry included.
+ */
+public class InMemorySharedStore implements SharedStore {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+
+    public InMemorySharedStore() {
+        this(System::nanoTime);
+    }
+
+    InMemorySharedStore(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Optional<byte[]> get(String key) {
+        return Optional.ofNullable(live(key)).map(Entry::value);
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        entries.put(key, new Entry(value, nanoClock.getAsLong() + ttl.toNanos()));
+    }
+
+    @Override
+    public void delete(String key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public long increment(String key) {
+        return increment(key, null);
+    }
+
+    @Override
+    public long increment(String key, Duration ttl) {
+        Entry updated = entries.compute(key, (ignored, current) -> {
+            long now = nanoClock.getAsLong();
+            boolean alive = current != null && current.isAlive(now);
+            long value = alive ? Long.parseLong(new String(current.value(), StandardCharsets.US_ASCII)) + 1 : 1;
+            long expiresAtNanos = alive ? current.expiresAtNanos() : ttl == null ? Long.MAX_VALUE : now + ttl.toNanos();
+            return new Entry(Long.toString(value).getBytes(StandardCharsets.US_ASCII), expiresAtNanos);
+        });
+        return Long.parseLong(new String(updated.value(), StandardCharsets.US_ASCII));
+    }
+
+    @Override
+    public long decrement(String key) {
+        Entry updated = entries.computeIfPresent(key, (ignored, current) -> {
+            if (!current.isAlive(nanoClock.getAsLong())) {
+                return null;
+            }
+            long value = Long.parseLong(new String(current.value(), StandardCharsets.US_ASCII)) - 1;
+            return new Entry(Long.toString(value).getBytes(StandardCharsets.US_ASCII), current.expiresAtNanos());
+        });
+        return updated == null ? 0 : Long.parseLong(new String(updated.value(), StandardCharsets.US_ASCII));
+    }
+
+    private Entry live(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.isAlive(nanoClock.getAsLong())) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    private record Entry(byte[] value, long expiresAtNanos) {
+
+        boolean isAlive(long now) {
+            return expiresAtNanos == Long.MAX_VALUE || expiresAtNanos - now > 0;
+        }
+    }
+}
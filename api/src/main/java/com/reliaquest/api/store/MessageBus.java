@@ -0,0 +1,14 @@
+package com.reliaquest.api.store;
+
+import java.util.function.Consumer;
+
+/**
+ * Fire-and-forget publish/subscribe between api replicas. Delivery is at most once: a replica that is disconnected
+ * while a message is published never sees it, so subscribers need a fallback for missed messages.
+ */
+public interface MessageBus {
+
+    void publish(String channel, byte[] message);
+
+    void subscribe(String channel, Consumer<byte[]> listener);
+}
@@ -0,0 +1,76 @@
+package com.reliaquest.api.store;
+
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Shared store backed by Redis, used when several api replicas run side by side.
+ */
+public class RedisSharedStore implements SharedStore {
+
+    /*
+     * Increments and sets the expiry in one step, so a key is never left without one. A key found without an expiry,
+     * e.g. one whose creator failed between the two steps before, gets one as well.
+     */
+    private static final RedisScript<Long> INCREMENT_WITH_EXPIRY = RedisScript.of("""
+            local value = redis.call('INCR', KEYS[1])
+            if redis.call('PTTL', KEYS[1]) < 0 then
+                redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            end
+            return value
+            """, Long.class);
+
+    private static final RedisScript<Long> DECREMENT_EXISTING = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return 0
+            end
+            return redis.call('DECR', KEYS[1])
+            """, Long.class);
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+
+    public RedisSharedStore(RedisTemplate<String, byte[]> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Optional<byte[]> get(String key) {
+        return Optional.ofNullable(redisTemplate.opsForValue().get(key));
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        redisTemplate.opsForValue().set(key, value, ttl);
+    }
+
+    @Override
+    public void delete(String key) {
+        redisTemplate.delete(key);
+    }
+
+    @Override
+    public long increment(String key) {
+        Long value = redisTemplate.opsForValue().increment(key);
+        return value == null ? 0 : value;
+    }
+
+    @Override
+    public long increment(String key, Duration ttl) {
+        Long value = redisTemplate.execute(INCREMENT_WITH_EXPIRY, RedisSerializer.string(),
+                new GenericToStringSerializer<>(Long.class), List.of(key), String.valueOf(ttl.toMillis()));
+        return value == null ? 0 : value;
+    }
+
+    @Override
+    public long decrement(String key) {
+        Long value = redisTemplate.execute(DECREMENT_EXISTING, RedisSerializer.string(),
+                new GenericToStringSerializer<>(Long.class), List.of(key));
+        return value == null ? 0 : value;
+    }
+}
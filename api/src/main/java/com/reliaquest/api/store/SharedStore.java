@@ -0,0 +1,45 @@
+package com.reliaquest.api.store;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Key value store shared by all api replicas. Semantics follow Redis: values are opaque bytes and counters are stored
+ * as their decimal representation, so {@link #get(String)} of a counter key returns e.g. {@code "42"}.
+ */
+public interface SharedStore {
+
+    Optional<byte[]> get(String key);
+
+    void put(String key, byte[] value, Duration ttl);
+
+    void delete(String key);
+
+    /**
+     * Atomically increments the counter, treating a missing key as zero.
+     *
+     * @return the value after the increment
+     */
+    long increment(String key);
+
+    /**
+     * Like {@link #increment(String)}, but a key created by the increment expires after {@code ttl}; this is how
+     * windowed counters are kept.
+     */
+    long increment(String key, Duration ttl);
+
+    /**
+     * Atomically decrements the counter, e.g. to give back a slot taken from a windowed counter. A missing or expired
+     * key is left alone rather than created, so it cannot outlive its window.
+     *
+     * @return the value after the decrement, or zero when there was no counter
+     */
+    long decrement(String key);
+
+    default long getCounter(String key) {
+        return get(key)
+                .map(value -> Long.parseLong(new String(value, StandardCharsets.US_ASCII)))
+                .orElse(0L);
+    }
+}
@@ -0,0 +1,88 @@
+package com.reliaquest.api.web;
+
+/**
+ * Concurrency limit that adapts to observed latency, after the gradient algorithm of TCP Vegas: the shortest recent
+ * round trip is taken as the no-queueing baseline, and the limit shrinks in proportion once samples exceed it by more
+ * than {@code tolerance}, and grows by about the square root of the limit (the queue the algorithm allows) otherwise.
+ * The baseline is re-measured every {@code probeInterval} samples so it can follow a downstream that got slower for
+ * good. Failed requests cut the limit multiplicatively.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final int probeInterval;
+
+    private double limit;
+    private int inFlight;
+    private long baselineRttNanos = Long.MAX_VALUE;
+    private int samplesSinceProbe;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, int probeInterval) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.probeInterval = probeInterval;
+        this.limit = clamp(initialLimit);
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= getLimit()) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * Releases a request that completed normally and feeds its latency into the limit.
+     */
+    public synchronized void onSuccess(long rttNanos) {
+        int inFlightBeforeRelease = inFlight--;
+        if (++samplesSinceProbe >= probeInterval) {
+            samplesSinceProbe = 0;
+            baselineRttNanos = rttNanos;
+        } else {
+            baselineRttNanos = Math.min(baselineRttNanos, rttNanos);
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * baselineRttNanos / Math.max(1, rttNanos)));
+        double target = limit * gradient + Math.sqrt(limit);
+        if (target > limit && inFlightBeforeRelease < limit / 2) {
+            // the limit is not what holds requests back, so latency says nothing about raising it
+            return;
+        }
+        limit = clamp((1 - SMOOTHING) * limit + SMOOTHING * target);
+    }
+
+    /**
+     * Releases a request that failed in a way that signals overload.
+     */
+    public synchronized void onDropped() {
+        inFlight--;
+        limit = clamp(limit * BACKOFF_RATIO);
+    }
+
+    /**
+     * Releases a request without learning from it, e.g. one that failed for reasons unrelated to load.
+     */
+    public synchronized void onIgnore() {
+        inFlight--;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
@@ -0,0 +1,17 @@
+package com.reliaquest.api.web;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler method whose body comes out of one of the roster's derived caches, so it is the same instance for as
+ * long as the roster version does not change. {@link SerializedResponseBodyAdvice} serves such bodies pre-serialized.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CachedResponseBody {
+}
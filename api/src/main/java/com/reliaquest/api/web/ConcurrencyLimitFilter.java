@@ -0,0 +1,103 @@
+package com.reliaquest.api.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.ConcurrencyLimitProperties;
+import com.reliaquest.api.exception.ErrorCode;
+import com.reliaquest.api.exception.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Sheds employee API requests with 503 once their bulkhead's {@link AdaptiveConcurrencyLimit} is reached. Endpoints
+ * that always call the mock employee service and endpoints answered from the cached roster have separate limits, so
+ * threads blocked on a slow downstream cannot take the capacity the cached endpoints need.
+ */
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    public static final String BASE_PATH = "/api/v1/employee";
+
+    private static final Set<String> CACHED_SUB_PATHS = Set.of("highestSalary", "topTenHighestEarningEmployeeNames",
+            "query", "salaryStatistics", "titleAggregates", "top", "bottom", "search");
+
+    private final AdaptiveConcurrencyLimit cachedLimit;
+    private final AdaptiveConcurrencyLimit downstreamLimit;
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, ObjectMapper objectMapper) {
+        this.cachedLimit = limit(properties.getCached());
+        this.downstreamLimit = limit(properties.getDownstream());
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.equals(BASE_PATH) && !path.startsWith(BASE_PATH + "/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimit limit = bulkheadFor(request);
+        if (!limit.tryAcquire()) {
+            shed(request, response, limit);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            limit.onIgnore();
+            throw e;
+        }
+        int status = response.getStatus();
+        if (status == HttpStatus.SERVICE_UNAVAILABLE.value() || status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            limit.onDropped();
+        } else {
+            limit.onSuccess(System.nanoTime() - start);
+        }
+    }
+
+    AdaptiveConcurrencyLimit bulkheadFor(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String subPath = path.length() > BASE_PATH.length() ? path.substring(BASE_PATH.length() + 1) : "";
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return downstreamLimit;
+        }
+        if (subPath.isEmpty() || subPath.startsWith("search/") || CACHED_SUB_PATHS.contains(subPath)) {
+            return cachedLimit;
+        }
+        return downstreamLimit;
+    }
+
+    private void shed(HttpServletRequest request, HttpServletResponse response, AdaptiveConcurrencyLimit limit)
+            throws IOException {
+        log.debug("Shedding {} {} at limit={}", request.getMethod(), request.getRequestURI(), limit.getLimit());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.builder()
+                .code(ErrorCode.SERVICE_UNAVAILABLE.getValue())
+                .message("Too many concurrent requests, try again shortly")
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
+
+    private static AdaptiveConcurrencyLimit limit(ConcurrencyLimitProperties.Spec spec) {
+        return new AdaptiveConcurrencyLimit(spec.getInitialLimit(), spec.getMinLimit(), spec.getMaxLimit(),
+                spec.getTolerance(), spec.getProbeInterval());
+    }
+}
@@ -0,0 +1,90 @@
+package com.reliaquest.api.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.controller.EmployeeController;
+import com.reliaquest.api.model.RosterSnapshot;
+import com.reliaquest.common.http.AcceptEncoding;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes the roster returned by {@link EmployeeController}, and the bodies of its {@link CachedResponseBody} methods
+ * such as the top ten and search pages, straight from the {@link SerializedResponseCache} instead of letting Jackson
+ * serialize the same cached value on every request. Returning null afterwards tells Spring there is nothing left to
+ * write. Every other body, e.g. a freshly computed fuzzy search, goes through Jackson as usual.
+ */
+@ControllerAdvice(assignableTypes = EmployeeController.class)
+public class SerializedResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final String GZIP = "gzip";
+
+    private final SerializedResponseCache serializedResponseCache;
+
+    public SerializedResponseBodyAdvice(ObjectMapper objectMapper,
+                                        @Value("${com.reliaquest.api.response-cache.gzip.enabled:true}") boolean gzipEnabled,
+                                        @Value("${com.reliaquest.api.response-cache.gzip.min-bytes:1024}") int gzipMinBytes,
+                                        @Value("${com.reliaquest.api.response-cache.maximum-size:4}") long maximumSize,
+                                        @Value("${com.reliaquest.api.response-cache.maximum-bodies:256}") long maximumBodies) {
+        this.serializedResponseCache = new SerializedResponseCache(objectMapper, gzipEnabled, gzipMinBytes, maximumSize,
+                maximumBodies);
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return MappingJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RosterSnapshot roster = RosterSnapshot.viewedBy(body);
+        boolean cachedBody = body != null && returnType.hasMethodAnnotation(CachedResponseBody.class);
+        if ((roster == null && !cachedBody)
+                || !HttpMethod.GET.equals(request.getMethod())
+                || !MediaType.APPLICATION_JSON.isCompatibleWith(selectedContentType)) {
+            return body;
+        }
+        SerializedResponseCache.SerializedBody serialized = roster != null
+                ? serializedResponseCache.get(roster)
+                : serializedResponseCache.get(requestKey(request), body);
+        byte[] gzipped = acceptsGzip(request) ? serialized.gzip() : null;
+        boolean gzip = gzipped != null;
+        byte[] bytes = gzip ? gzipped : serialized.json();
+
+        HttpHeaders headers = response.getHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentLength(bytes.length);
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        try {
+            response.getBody().write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return null;
+    }
+
+    private static String requestKey(ServerHttpRequest request) {
+        String query = request.getURI().getRawQuery();
+        return query == null ? request.getURI().getRawPath() : request.getURI().getRawPath() + "?" + query;
+    }
+
+    private static boolean acceptsGzip(ServerHttpRequest request) {
+        return AcceptEncoding.accepts(request.getHeaders().getOrEmpty(HttpHeaders.ACCEPT_ENCODING), GZIP);
+    }
+}
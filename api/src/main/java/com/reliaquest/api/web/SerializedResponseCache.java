@@ -0,0 +1,116 @@
+package com.reliaquest.api.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.reliaquest.api.model.RosterSnapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized JSON of bodies that are served over and over: the cached roster, keyed by the roster version so each
+ * version is serialized once, and the bodies of the roster's derived caches such as the top ten and search pages, keyed
+ * by the request they answer. A gzip encoding is only produced the first time a client that accepts gzip asks for it.
+ * Only the last few roster versions are kept; a superseded version is rarely asked for again.
+ */
+public class SerializedResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final boolean gzipEnabled;
+    private final int gzipMinBytes;
+
+    private final Cache<Long, SerializedBody> serializedRosters;
+    private final Cache<String, CachedBody> serializedBodies;
+
+    public SerializedResponseCache(ObjectMapper objectMapper, boolean gzipEnabled, int gzipMinBytes, long maximumSize,
+                                   long maximumBodies) {
+        this.objectMapper = objectMapper;
+        this.gzipEnabled = gzipEnabled;
+        this.gzipMinBytes = gzipMinBytes;
+        this.serializedRosters = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+        this.serializedBodies = Caffeine.newBuilder()
+                .maximumSize(maximumBodies)
+                .build();
+    }
+
+    public SerializedBody get(RosterSnapshot roster) {
+        return serializedRosters.get(roster.version(), version -> serialize(roster.employees()));
+    }
+
+    /**
+     * Serialized form of a body handed out by a derived cache, for the request it answers. Derived caches are cleared
+     * on every roster change, so the body of another roster version is always another instance: the entry is reused
+     * only while it was serialized from this very instance, which stands in for comparing versions the body does not
+     * carry.
+     *
+     * @param key the request, e.g. its path and query
+     */
+    public SerializedBody get(String key, Object body) {
+        CachedBody cached = serializedBodies.getIfPresent(key);
+        if (cached != null && cached.source() == body) {
+            return cached.serialized();
+        }
+        SerializedBody serialized = serialize(body);
+        serializedBodies.put(key, new CachedBody(body, serialized));
+        return serialized;
+    }
+
+    private SerializedBody serialize(Object body) {
+        try {
+            return new SerializedBody(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private record CachedBody(Object source, SerializedBody serialized) {
+    }
+
+    public final class SerializedBody {
+
+        private final byte[] json;
+
+        // racing first requests may both compress, which is harmless
+        private volatile byte[] gzip;
+
+        private SerializedBody(byte[] json) {
+            this.json = json;
+        }
+
+        public byte[] json() {
+            return json;
+        }
+
+        /**
+         * @return gzip encoding of {@link #json()}, compressed on first use, or null when gzip is disabled or the body
+         * is too small to be worth compressing
+         */
+        public byte[] gzip() {
+            if (!gzipEnabled || json.length < gzipMinBytes) {
+                return null;
+            }
+            byte[] encoded = gzip;
+            if (encoded == null) {
+                encoded = SerializedResponseCache.gzip(json);
+                gzip = encoded;
+            }
+            return encoded;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.EmployeeSearchPage;
+import com.reliaquest.api.model.RosterSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RosterSnapshotCodecTest {
+
+    private final EmployeeDto clark = new EmployeeDto(UUID.randomUUID(), "clark", 100, 35, "reporter", "clark@test.com");
+    private final EmployeeDto lois = new EmployeeDto(UUID.randomUUID(), "lois", null, null, "reporter", null);
+
+    @Test
+    void snapshot_roundTrips() throws IOException {
+        RosterSnapshotCodec codec = new RosterSnapshotCodec();
+        RosterSnapshot snapshot = RosterSnapshot.of(7, List.of(clark, lois));
+
+        RosterSnapshot decoded = codec.decode(codec.encode(snapshot));
+
+        assertEquals(7, decoded.version());
+        assertEquals(List.of(clark, lois), decoded.employees());
+        assertEquals(1, decoded.titles().poolSize());
+    }
+
+    @Test
+    void snapshot_readsFromBuffer() throws IOException {
+        RosterSnapshotCodec codec = new RosterSnapshotCodec();
+        byte[] bytes = codec.encode(RosterSnapshot.of(7, List.of(clark, lois)));
+
+        RosterSnapshot decoded = codec.read(ByteBuffer.wrap(bytes));
+
+        assertEquals(7, decoded.version());
+        assertEquals(List.of(clark, lois), decoded.employees());
+    }
+
+    @Test
+    void read_truncatedBuffer_throws() throws IOException {
+        RosterSnapshotCodec codec = new RosterSnapshotCodec();
+        byte[] bytes = codec.encode(RosterSnapshot.of(7, List.of(clark, lois)));
+
+        assertThrows(IOException.class, () -> codec.read(ByteBuffer.wrap(bytes, 0, bytes.length - 3)));
+    }
+
+    @Test
+    void searchPage_roundTrips() throws IOException {
+        EmployeeSearchPageCodec codec = new EmployeeSearchPageCodec();
+        EmployeeSearchPage page = new EmployeeSearchPage(List.of(clark, lois), "cursor");
+        EmployeeSearchPage last = new EmployeeSearchPage(List.of(), null);
+
+        assertTrue(codec.supports(page));
+        assertFalse(codec.supports(List.of(clark)));
+        assertEquals(page, codec.decode(codec.encode(page)));
+        assertEquals(last, codec.decode(codec.encode(last)));
+    }
+
+    @Test
+    void decode_rejectsForeignBytes() {
+        assertThrows(IOException.class, () -> new RosterSnapshotCodec().decode(new byte[] {1, 2, 3, 4, 5, 6, 7, 8}));
+    }
+}
@@ -0,0 +1,55 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.RosterSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RosterSnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    private final EmployeeDto clark = new EmployeeDto(UUID.randomUUID(), "clark", 100, 35, "reporter", "clark@test.com");
+
+    @Test
+    void save_replacesPreviousSnapshotWithoutLeavingTempFiles() throws IOException {
+        Path path = directory.resolve("nested/roster.snapshot");
+        RosterSnapshotFile file = new RosterSnapshotFile(path.toString());
+
+        file.save(RosterSnapshot.of(1, List.of()));
+        file.save(RosterSnapshot.of(2, List.of(clark)));
+
+        RosterSnapshot loaded = file.load().orElseThrow();
+        assertEquals(2, loaded.version());
+        assertEquals(List.of(clark), loaded.employees());
+        try (var files = Files.list(path.getParent())) {
+            assertEquals(List.of(path), files.toList());
+        }
+    }
+
+    @Test
+    void load_corruptFile_isIgnored() throws IOException {
+        Path path = directory.resolve("roster.snapshot");
+        Files.write(path, new byte[] {1, 2, 3});
+
+        assertTrue(new RosterSnapshotFile(path.toString()).load().isEmpty());
+    }
+
+    @Test
+    void blankPath_disablesPersistence() {
+        RosterSnapshotFile file = new RosterSnapshotFile("");
+
+        file.save(RosterSnapshot.of(1, List.of(clark)));
+
+        assertTrue(file.load().isEmpty());
+    }
+}
@@ -0,0 +1,105 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.RosterSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SharedRosterFileTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private final List<SharedRosterFile> opened = new ArrayList<>();
+    private final EmployeeDto clark = new EmployeeDto(UUID.randomUUID(), "clark", 100, 35, "reporter", "clark@test.com");
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(SharedRosterFile::close);
+    }
+
+    @Test
+    void publishedRoster_isReadByOtherInstances() {
+        SharedRosterFile publisher = open(true, NOW);
+        SharedRosterFile reader = open(true, NOW);
+
+        assertTrue(publisher.leading());
+        assertFalse(reader.leading());
+        assertTrue(reader.read().isEmpty());
+
+        publisher.publish(RosterSnapshot.of(3, List.of(clark)));
+
+        RosterSnapshot shared = reader.read().orElseThrow();
+        assertEquals(3, shared.version());
+        assertEquals(List.of(clark), shared.employees());
+        assertSame(shared, reader.read().orElseThrow());
+    }
+
+    @Test
+    void growingRoster_isRemappedByReaders() {
+        SharedRosterFile publisher = open(true, NOW);
+        SharedRosterFile reader = open(true, NOW);
+        publisher.publish(RosterSnapshot.of(1, List.of(clark)));
+        assertEquals(1, reader.read().orElseThrow().size());
+
+        List<EmployeeDto> many = IntStream.range(0, 5000)
+                .mapToObj(i -> new EmployeeDto(UUID.randomUUID(), "e" + i, i, 30, "t" + i % 7, "e" + i + "@test.com"))
+                .toList();
+        publisher.publish(RosterSnapshot.of(2, many));
+
+        RosterSnapshot shared = reader.read().orElseThrow();
+        assertEquals(2, shared.version());
+        assertEquals(many, shared.employees());
+    }
+
+    @Test
+    void oldPublication_isIgnored() {
+        open(true, NOW).publish(RosterSnapshot.of(1, List.of(clark)));
+
+        assertTrue(open(true, NOW.plus(Duration.ofMinutes(9))).read().isPresent());
+        assertTrue(open(true, NOW.plus(Duration.ofMinutes(11))).read().isEmpty());
+    }
+
+    @Test
+    void readOnlyInstance_neverPublishes() {
+        SharedRosterFile readOnly = open(false, NOW);
+
+        readOnly.publish(RosterSnapshot.of(1, List.of(clark)));
+
+        assertFalse(readOnly.leading());
+        assertTrue(open(true, NOW).read().isEmpty());
+    }
+
+    @Test
+    void blankPath_disablesSharing() {
+        SharedRosterFile file = new SharedRosterFile("", true, Duration.ofMinutes(10));
+
+        file.publish(RosterSnapshot.of(1, List.of(clark)));
+
+        assertFalse(file.enabled());
+        assertFalse(file.leading());
+        assertTrue(file.read().isEmpty());
+    }
+
+    private SharedRosterFile open(boolean publisher, Instant now) {
+        SharedRosterFile file = new SharedRosterFile(directory.resolve("roster.shared").toString(), publisher,
+                Duration.ofMinutes(10), Clock.fixed(now, ZoneOffset.UTC));
+        opened.add(file);
+        return file;
+    }
+}
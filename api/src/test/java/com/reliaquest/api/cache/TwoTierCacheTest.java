@@ -0,0 +1,100 @@
+package com.reliaquest.api.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.RosterSnapshot;
+import com.reliaquest.api.store.InMemorySharedStore;
+import com.reliaquest.api.store.SharedStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.interceptor.SimpleKey;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class TwoTierCacheTest {
+
+    private final SharedStore sharedStore = new InMemorySharedStore();
+    private final RosterSnapshot snapshot = RosterSnapshot.of(3, List.of(
+            new EmployeeDto(UUID.randomUUID(), "clark", 100, 35, "reporter", "clark@test.com")));
+
+    @Test
+    void get_loadsOnceAcrossReplicas() {
+        TwoTierCache first = cache(sharedStore);
+        TwoTierCache second = cache(sharedStore);
+        AtomicInteger loads = new AtomicInteger();
+
+        first.get(SimpleKey.EMPTY, () -> { loads.incrementAndGet(); return snapshot; });
+        RosterSnapshot fromPeer = second.get(SimpleKey.EMPTY, () -> { loads.incrementAndGet(); return snapshot; });
+
+        assertEquals(1, loads.get());
+        assertEquals(snapshot.employees(), fromPeer.employees());
+        assertEquals(3, fromPeer.version());
+    }
+
+    @Test
+    void lookup_promotesSharedEntryToLocalTier() {
+        cache(sharedStore).put(SimpleKey.EMPTY, snapshot);
+        TwoTierCache cold = cache(sharedStore);
+
+        assertNotNull(cold.get(SimpleKey.EMPTY));
+        assertNotNull(cold.getNativeCache().getIfPresent(SimpleKey.EMPTY));
+    }
+
+    @Test
+    void clear_hidesSharedEntriesFromPeers() {
+        TwoTierCache first = cache(sharedStore);
+        TwoTierCache second = cache(sharedStore);
+        first.put(SimpleKey.EMPTY, snapshot);
+
+        first.clear();
+
+        assertNull(second.get(SimpleKey.EMPTY));
+    }
+
+    @Test
+    void evict_removesSharedEntry() {
+        TwoTierCache first = cache(sharedStore);
+        first.put(SimpleKey.EMPTY, snapshot);
+
+        first.evict(SimpleKey.EMPTY);
+
+        assertNull(cache(sharedStore).get(SimpleKey.EMPTY));
+    }
+
+    @Test
+    void failingSharedStore_fallsBackToLoader() {
+        SharedStore broken = mock(SharedStore.class);
+        when(broken.get(anyString())).thenThrow(new IllegalStateException("down"));
+        doThrow(new IllegalStateException("down")).when(broken).put(anyString(), any(), any());
+        TwoTierCache cache = cache(broken);
+
+        RosterSnapshot value = cache.get(SimpleKey.EMPTY, () -> snapshot);
+
+        assertSame(snapshot, value);
+        assertSame(snapshot, cache.get(SimpleKey.EMPTY).get());
+    }
+
+    @Test
+    void unsupportedValues_stayLocal() {
+        SharedStore store = spy(new InMemorySharedStore());
+        TwoTierCache cache = cache(store);
+
+        cache.put(SimpleKey.EMPTY, "not a snapshot");
+
+        verify(store, never()).put(anyString(), any(), any());
+        assertEquals(Optional.empty(), store.get("test:employees:0:" + SimpleKey.EMPTY));
+    }
+
+    private TwoTierCache cache(SharedStore store) {
+        return new TwoTierCache("employees", Caffeine.newBuilder().build(), store, new RosterSnapshotCodec(), "test",
+                Duration.ofMinutes(1));
+    }
+}
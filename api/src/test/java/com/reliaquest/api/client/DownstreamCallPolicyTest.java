@@ -0,0 +1,133 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.MockEmployeeServiceTooManyRequestsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DownstreamCallPolicyTest {
+
+    private final List<Long> sleeps = new ArrayList<>();
+
+    @Test
+    void read_retriesIoFailureWithBackoff() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = policy(3, null, new RetryBudget(0.1, 10)).read("getEmployee", () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new ResourceAccessException("refused");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(2, sleeps.size());
+        assertTrue(sleeps.get(0) >= 50 && sleeps.get(0) <= 100);
+        assertTrue(sleeps.get(1) >= 100 && sleeps.get(1) <= 200);
+    }
+
+    @Test
+    void read_429_waitsAtLeastRetryAfter() {
+        AtomicInteger calls = new AtomicInteger();
+
+        policy(3, null, new RetryBudget(0.1, 10)).read("getAllEmployees", () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new MockEmployeeServiceTooManyRequestsException("429", Duration.ofMillis(800));
+            }
+            return "ok";
+        });
+
+        assertEquals(List.of(800L), sleeps);
+    }
+
+    @Test
+    void read_429_retryAfterBeyondMaxWait_isNotRetried() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(MockEmployeeServiceTooManyRequestsException.class,
+                () -> policy(3, null, new RetryBudget(0.1, 10)).read("getAllEmployees", () -> {
+                    calls.incrementAndGet();
+                    throw new MockEmployeeServiceTooManyRequestsException("429", Duration.ofSeconds(45));
+                }));
+
+        assertEquals(1, calls.get());
+        assertTrue(sleeps.isEmpty());
+    }
+
+    @Test
+    void read_exhaustedRetryBudget_isNotRetried() {
+        RetryBudget budget = new RetryBudget(0.1, 1);
+        DownstreamCallPolicy policy = policy(3, null, budget);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(ResourceAccessException.class, () -> policy.read("getEmployee", () -> {
+            calls.incrementAndGet();
+            throw new ResourceAccessException("refused");
+        }));
+
+        // the single token pays for one retry, the second failure is passed on
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void read_slowPrimary_isHedged() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch primaryInterrupted = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        DownstreamCallPolicy policy = policy(1, Duration.ofMillis(20), new RetryBudget(0.1, 10));
+
+        String result = policy.read("getAllEmployees", () -> {
+            if (calls.incrementAndGet() == 1) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    primaryInterrupted.countDown();
+                    Thread.currentThread().interrupt();
+                }
+                return "slow";
+            }
+            return "hedge";
+        });
+
+        assertEquals("hedge", result);
+        assertEquals(2, calls.get());
+        // the losing primary is cancelled rather than left holding its slot
+        assertTrue(primaryInterrupted.await(1, TimeUnit.SECONDS));
+        release.countDown();
+        policy.shutdown();
+    }
+
+    @Test
+    void read_hedgeFailing_fallsBackToPrimary() {
+        AtomicInteger calls = new AtomicInteger();
+        DownstreamCallPolicy policy = policy(1, Duration.ofMillis(10), new RetryBudget(0.1, 10));
+
+        String result = policy.read("getAllEmployees", () -> {
+            if (calls.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "primary";
+            }
+            throw new ResourceAccessException("refused");
+        });
+
+        assertEquals("primary", result);
+        policy.shutdown();
+    }
+
+    private DownstreamCallPolicy policy(int maxAttempts, Duration hedgeDelay, RetryBudget budget) {
+        return new DownstreamCallPolicy(maxAttempts, Duration.ofMillis(100), Duration.ofSeconds(1),
+                Duration.ofSeconds(2), hedgeDelay, budget, sleeps::add);
+    }
+}
@@ -0,0 +1,121 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.MockEmployeeServiceUnavailableException;
+import com.reliaquest.api.store.InMemorySharedStore;
+import com.reliaquest.api.store.SharedStore;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DownstreamRequestBudgetTest {
+
+    private final SharedStore sharedStore = new InMemorySharedStore();
+    private final Clock clock = Clock.fixed(Instant.parse("2024-01-01T00:00:10Z"), ZoneOffset.UTC);
+
+    @Test
+    void acquire_isSharedBetweenReplicas() {
+        DownstreamRequestBudget first = budget(sharedStore, clock);
+        DownstreamRequestBudget second = budget(sharedStore, clock);
+
+        first.acquire("getAllEmployees");
+        second.acquire("getAllEmployees");
+        first.acquire("getAllEmployees");
+
+        MockEmployeeServiceUnavailableException ex = assertThrows(MockEmployeeServiceUnavailableException.class,
+                () -> second.acquire("getAllEmployees"));
+        assertEquals(Duration.ofSeconds(20), ex.getRetryAfter());
+    }
+
+    @Test
+    void acquire_nextWindow_hasFreshBudget() {
+        for (int i = 0; i < 3; i++) {
+            budget(sharedStore, clock).acquire("getAllEmployees");
+        }
+
+        assertDoesNotThrow(() -> budget(sharedStore, Clock.offset(clock, Duration.ofSeconds(30))).acquire("getAllEmployees"));
+    }
+
+    @Test
+    void acquire_background_leavesReserveToUserCalls() {
+        DownstreamRequestBudget budget = new DownstreamRequestBudget(sharedStore, "test", 3, Duration.ofSeconds(30),
+                Duration.ofSeconds(60), 2, clock);
+
+        budget.acquire("refresh", DownstreamPriority.BACKGROUND);
+
+        assertThrows(MockEmployeeServiceUnavailableException.class,
+                () -> budget.acquire("refresh", DownstreamPriority.BACKGROUND));
+        budget.acquire("delete", DownstreamPriority.MUTATION);
+        budget.acquire("lookup", DownstreamPriority.INTERACTIVE);
+        assertThrows(MockEmployeeServiceUnavailableException.class,
+                () -> budget.acquire("lookup", DownstreamPriority.INTERACTIVE));
+    }
+
+    @Test
+    void acquire_concurrentBackground_neverTakesTheReserve() throws Exception {
+        DownstreamRequestBudget budget = new DownstreamRequestBudget(sharedStore, "test", 10, Duration.ofSeconds(30),
+                Duration.ofSeconds(60), 2, clock);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger granted = new AtomicInteger();
+        try {
+            List<Future<?>> attempts = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                attempts.add(executor.submit(() -> {
+                    try {
+                        budget.acquire("refresh", DownstreamPriority.BACKGROUND);
+                        granted.incrementAndGet();
+                    } catch (MockEmployeeServiceUnavailableException ignored) {
+                        // spent
+                    }
+                }));
+            }
+            for (Future<?> attempt : attempts) {
+                attempt.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(granted.get() <= 8);
+        for (int i = granted.get(); i < 10; i++) {
+            budget.acquire("lookup", DownstreamPriority.INTERACTIVE);
+        }
+        assertThrows(MockEmployeeServiceUnavailableException.class,
+                () -> budget.acquire("lookup", DownstreamPriority.INTERACTIVE));
+    }
+
+    @Test
+    void coolDown_blocksEveryReplica() {
+        budget(sharedStore, clock).coolDown(null);
+
+        MockEmployeeServiceUnavailableException ex = assertThrows(MockEmployeeServiceUnavailableException.class,
+                () -> budget(sharedStore, clock).acquire("createEmployee"));
+        assertEquals(Duration.ofSeconds(60), ex.getRetryAfter());
+        assertDoesNotThrow(() -> budget(sharedStore, Clock.offset(clock, Duration.ofSeconds(61))).acquire("createEmployee"));
+    }
+
+    @Test
+    void acquire_storeUnavailable_letsRequestThrough() {
+        SharedStore broken = mock(SharedStore.class);
+        when(broken.get(anyString())).thenThrow(new IllegalStateException("down"));
+
+        assertDoesNotThrow(() -> budget(broken, clock).acquire("getEmployee"));
+    }
+
+    private DownstreamRequestBudget budget(SharedStore store, Clock clock) {
+        return new DownstreamRequestBudget(store, "test", 3, Duration.ofSeconds(30), Duration.ofSeconds(60), clock);
+    }
+}
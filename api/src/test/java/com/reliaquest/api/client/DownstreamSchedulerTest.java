@@ -0,0 +1,128 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.MockEmployeeServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DownstreamSchedulerTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void freedSlot_goesToHighestPriorityWaiter() throws Exception {
+        DownstreamScheduler scheduler = scheduler(1, 0, 8, Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+        Future<?> holder = executor.submit(() -> scheduler.call(DownstreamPriority.INTERACTIVE, "hold", () -> await(release)));
+        awaitInFlight(scheduler, holder);
+
+        Future<?> background = executor.submit(() -> scheduler.call(DownstreamPriority.BACKGROUND, "refresh", () -> order.add("background")));
+        awaitQueued(scheduler, DownstreamPriority.BACKGROUND, 1);
+        Future<?> mutation = executor.submit(() -> scheduler.call(DownstreamPriority.MUTATION, "delete", () -> order.add("mutation")));
+        awaitQueued(scheduler, DownstreamPriority.MUTATION, 1);
+        release.countDown();
+
+        holder.get(5, TimeUnit.SECONDS);
+        mutation.get(5, TimeUnit.SECONDS);
+        background.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of("mutation", "background"), order);
+    }
+
+    @Test
+    void fullQueue_dropsImmediately() throws Exception {
+        DownstreamScheduler scheduler = scheduler(1, 0, 1, Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holder = executor.submit(() -> scheduler.call(DownstreamPriority.INTERACTIVE, "hold", () -> await(release)));
+        awaitInFlight(scheduler, holder);
+        Future<?> queued = executor.submit(() -> scheduler.call(DownstreamPriority.INTERACTIVE, "queued", () -> true));
+        awaitQueued(scheduler, DownstreamPriority.INTERACTIVE, 1);
+
+        assertThrows(MockEmployeeServiceUnavailableException.class,
+                () -> scheduler.call(DownstreamPriority.INTERACTIVE, "overflow", () -> true));
+
+        release.countDown();
+        queued.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void waiterPastDeadline_isDropped() throws Exception {
+        DownstreamScheduler scheduler = scheduler(1, 0, 8, Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holder = executor.submit(() -> scheduler.call(DownstreamPriority.INTERACTIVE, "hold", () -> await(release)));
+        awaitInFlight(scheduler, holder);
+
+        MockEmployeeServiceUnavailableException ex = assertThrows(MockEmployeeServiceUnavailableException.class,
+                () -> scheduler.call(DownstreamPriority.INTERACTIVE, "late", () -> true));
+
+        assertTrue(ex.getMessage().contains("deadline"));
+        assertEquals(0, scheduler.queued(DownstreamPriority.INTERACTIVE));
+        release.countDown();
+    }
+
+    @Test
+    void background_leavesReservedSlotToUserCalls() throws Exception {
+        DownstreamScheduler scheduler = scheduler(2, 1, 8, Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> refresh = executor.submit(() -> scheduler.call(DownstreamPriority.BACKGROUND, "refresh", () -> await(release)));
+        awaitInFlight(scheduler, refresh);
+
+        Future<?> secondRefresh = executor.submit(() -> scheduler.call(DownstreamPriority.BACKGROUND, "refresh", () -> true));
+        awaitQueued(scheduler, DownstreamPriority.BACKGROUND, 1);
+
+        assertTrue(scheduler.call(DownstreamPriority.INTERACTIVE, "lookup", () -> true));
+        assertEquals(1, scheduler.queued(DownstreamPriority.BACKGROUND));
+        release.countDown();
+        secondRefresh.get(5, TimeUnit.SECONDS);
+    }
+
+    private DownstreamScheduler scheduler(int maxConcurrent, int backgroundReserve, int queueCapacity, Duration maxWait) {
+        return new DownstreamScheduler(maxConcurrent, backgroundReserve, queueCapacity, Map.of(
+                DownstreamPriority.MUTATION, maxWait,
+                DownstreamPriority.INTERACTIVE, maxWait,
+                DownstreamPriority.BACKGROUND, maxWait), System::nanoTime);
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void awaitInFlight(DownstreamScheduler scheduler, Future<?> holder) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (scheduler.inFlight() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, scheduler.inFlight());
+        assertFalse(holder.isDone());
+    }
+
+    private static void awaitQueued(DownstreamScheduler scheduler, DownstreamPriority priority, int expected)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (scheduler.queued(priority) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, scheduler.queued(priority));
+    }
+}
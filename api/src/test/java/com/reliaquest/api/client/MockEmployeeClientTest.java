@@ -2,13 +2,21 @@ package com.reliaquest.api.client;
 
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.reliaquest.api.exception.MockEmployeeServiceTooManyRequestsException;
+import com.reliaquest.api.exception.MockEmployeeServiceUnavailableException;
 import com.reliaquest.api.model.CreateMockEmployeeInput;
 import com.reliaquest.api.model.DeleteMockEmployeeInput;
 import com.reliaquest.api.model.MockEmployee;
 import com.reliaquest.api.model.Response;
+import com.reliaquest.api.store.InMemorySharedStore;
 import org.junit.jupiter.api.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
@@ -63,6 +71,50 @@ class MockEmployeeClientTest {
         wiremock.verify(getRequestedFor(urlEqualTo("/api/v1/employee")));
     }
 
+    @Test
+    void getEmployees_notModified_returnsPreviousResponse() {
+        wiremock.stubFor(get(urlEqualTo("/api/v1/employee"))
+                .withHeader("If-None-Match", absent())
+                .willReturn(okJson("""
+                { "data": [ { "id":"186d753a-b43a-476a-bcfa-d0f83e8793e9", "name":"john", "salary":100 } ], "error": null }
+            """).withHeader("ETag", "\"41\"")));
+        wiremock.stubFor(get(urlEqualTo("/api/v1/employee"))
+                .withHeader("If-None-Match", equalTo("\"41\""))
+                .willReturn(aResponse().withStatus(304)));
+
+        Response<List<MockEmployee>> first = client.getEmployees();
+        Response<List<MockEmployee>> second = client.getEmployees();
+
+        assertSame(first, second);
+        assertEquals(1, second.data().size());
+        wiremock.verify(2, getRequestedFor(urlEqualTo("/api/v1/employee")));
+        wiremock.verify(1, getRequestedFor(urlEqualTo("/api/v1/employee")).withHeader("If-None-Match", equalTo("\"41\"")));
+    }
+
+    @Test
+    void getEmployees_smileWireFormat_requestsAndDecodesSmile() throws Exception {
+        MockEmployeeClient smileClient = new MockEmployeeClient(
+                "http://localhost:" + wiremock.port() + "/api/v1/employee", WireFormat.SMILE);
+        MockEmployee employee = MockEmployee.builder()
+                .id(UUID.fromString("186d753a-b43a-476a-bcfa-d0f83e8793e9"))
+                .name("john")
+                .salary(100)
+                .build();
+        byte[] smile = Jackson2ObjectMapperBuilder.smile().build()
+                .writeValueAsBytes(new Response<>(List.of(employee), Response.Status.HANDLED, null));
+        wiremock.stubFor(get(urlEqualTo("/api/v1/employee"))
+                .withHeader("Accept", containing("application/x-jackson-smile"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/x-jackson-smile")
+                        .withBody(smile)));
+
+        Response<List<MockEmployee>> resp = smileClient.getEmployees();
+
+        assertEquals(1, resp.data().size());
+        assertEquals("john", resp.data().get(0).getName());
+        assertEquals(100, resp.data().get(0).getSalary());
+    }
+
     @Test
     void getEmployees_Status429_throwsMockEmployeeServiceTooManyRequests() {
         wiremock.stubFor(get(urlEqualTo("/api/v1/employee"))
@@ -72,6 +124,82 @@ class MockEmployeeClientTest {
         wiremock.verify(getRequestedFor(urlEqualTo("/api/v1/employee")));
     }
 
+    @Test
+    void getEmployees_status429WithRetryAfter_exposesRetryAfter() {
+        wiremock.stubFor(get(urlEqualTo("/api/v1/employee"))
+                .willReturn(aResponse().withStatus(429).withHeader("Retry-After", "42")));
+
+        MockEmployeeServiceTooManyRequestsException ex =
+                assertThrows(MockEmployeeServiceTooManyRequestsException.class, () -> client.getEmployees());
+        assertEquals(Duration.ofSeconds(42), ex.getRetryAfter());
+    }
+
+    @Test
+    void retryAfter_parsesSecondsAndHttpDates() {
+        assertEquals(Duration.ofSeconds(7), MockEmployeeClient.retryAfter("7"));
+        assertEquals(Duration.ZERO, MockEmployeeClient.retryAfter("Wed, 21 Oct 2015 07:28:00 GMT"));
+        assertNull(MockEmployeeClient.retryAfter("soon"));
+        assertNull(MockEmployeeClient.retryAfter(null));
+    }
+
+    @Test
+    void getEmployees_after429_coolsDownWithoutCallingDownstream() {
+        DownstreamRequestBudget budget = new DownstreamRequestBudget(new InMemorySharedStore(), "test", 10,
+                Duration.ofSeconds(30), Duration.ofSeconds(60), Clock.systemUTC());
+        MockEmployeeClient budgetedClient = new MockEmployeeClient(
+                "http://localhost:" + wiremock.port() + "/api/v1/employee", WireFormat.JSON, budget);
+        wiremock.stubFor(get(urlEqualTo("/api/v1/employee"))
+                .willReturn(aResponse().withStatus(429).withBody("{\"error\":\"too many\"}")));
+
+        assertThrows(MockEmployeeServiceTooManyRequestsException.class, budgetedClient::getEmployees);
+        assertThrows(MockEmployeeServiceUnavailableException.class, budgetedClient::getEmployees);
+        wiremock.verify(1, getRequestedFor(urlEqualTo("/api/v1/employee")));
+    }
+
+    @Test
+    void getEmployees_429WithoutRetryAfter_isNotRetriedDuringCooldown() {
+        DownstreamRequestBudget budget = new DownstreamRequestBudget(new InMemorySharedStore(), "test", 10,
+                Duration.ofSeconds(30), Duration.ofSeconds(60), Clock.systemUTC());
+        List<Long> sleeps = new ArrayList<>();
+        DownstreamCallPolicy callPolicy = new DownstreamCallPolicy(3, Duration.ofMillis(200), Duration.ofSeconds(1),
+                Duration.ofSeconds(2), null, new RetryBudget(1, 10), sleeps::add);
+        MockEmployeeClient retryingClient = new MockEmployeeClient(
+                "http://localhost:" + wiremock.port() + "/api/v1/employee", WireFormat.JSON, budget, callPolicy,
+                DownstreamScheduler.unbounded());
+        wiremock.stubFor(get(urlEqualTo("/api/v1/employee"))
+                .willReturn(aResponse().withStatus(429).withBody("{\"error\":\"too many\"}")));
+
+        MockEmployeeServiceTooManyRequestsException ex =
+                assertThrows(MockEmployeeServiceTooManyRequestsException.class, retryingClient::getEmployees);
+
+        // the default cooldown outlasts max-wait, so the 429 is passed on instead of retried into the cooldown
+        assertEquals(Duration.ofSeconds(60), ex.getRetryAfter());
+        assertTrue(sleeps.isEmpty());
+        wiremock.verify(1, getRequestedFor(urlEqualTo("/api/v1/employee")));
+    }
+
+    @Test
+    void getEmployees_retry_releasesSchedulerSlotDuringBackoff() {
+        DownstreamScheduler scheduler = new DownstreamScheduler(1, 0, 8, Map.of(
+                DownstreamPriority.MUTATION, Duration.ofSeconds(1),
+                DownstreamPriority.INTERACTIVE, Duration.ofSeconds(1),
+                DownstreamPriority.BACKGROUND, Duration.ofSeconds(1)), System::nanoTime);
+        List<Integer> inFlightWhileBackingOff = new ArrayList<>();
+        DownstreamCallPolicy callPolicy = new DownstreamCallPolicy(2, Duration.ofMillis(1), Duration.ofMillis(1),
+                Duration.ofSeconds(1), null, new RetryBudget(1, 10),
+                millis -> inFlightWhileBackingOff.add(scheduler.inFlight()));
+        MockEmployeeClient retryingClient = new MockEmployeeClient(
+                "http://localhost:" + wiremock.port() + "/api/v1/employee", WireFormat.JSON,
+                DownstreamRequestBudget.unlimited(), callPolicy, scheduler);
+        wiremock.stubFor(get(urlEqualTo("/api/v1/employee"))
+                .willReturn(aResponse().withStatus(429).withBody("{\"error\":\"too many\"}")));
+
+        assertThrows(MockEmployeeServiceTooManyRequestsException.class, retryingClient::getEmployees);
+        assertEquals(List.of(0), inFlightWhileBackingOff);
+        assertEquals(0, scheduler.inFlight());
+        wiremock.verify(2, getRequestedFor(urlEqualTo("/api/v1/employee")));
+    }
+
     @Test
     void getEmployee_success() {
         wiremock.stubFor(get(urlEqualTo("/api/v1/employee/2c5e68c4-587c-4d19-a581-549314f5918f"))
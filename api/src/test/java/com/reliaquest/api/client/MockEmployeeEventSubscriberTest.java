@@ -0,0 +1,56 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.model.MockEmployeeEvent;
+import com.reliaquest.api.service.EmployeeRosterUpdater;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MockEmployeeEventSubscriberTest {
+
+    private EmployeeRosterUpdater rosterUpdater;
+    private MockEmployeeEventSubscriber subscriber;
+
+    @BeforeEach
+    void setUp() {
+        rosterUpdater = mock(EmployeeRosterUpdater.class);
+        subscriber = new MockEmployeeEventSubscriber("http://localhost:8112/api/v1/employee", Jackson2ObjectMapperBuilder.json().build(), rosterUpdater);
+    }
+
+    @Test
+    void consume_dispatchesEventsAndTracksLastEventId() throws Exception {
+        List<String> stream = List.of(
+                ": keep-alive",
+                "id:101",
+                "event:created",
+                "data:{\"version\":101,\"type\":\"CREATED\",\"employee\":{\"id\":\"2c5e68c4-587c-4d19-a581-549314f5918f\",\"employee_name\":\"king\"}}",
+                "",
+                "id:102",
+                "event:deleted",
+                "data:{\"version\":102,\"type\":\"DELETED\",\"employee\":{\"id\":\"2c5e68c4-587c-4d19-a581-549314f5918f\",\"employee_name\":\"king\"}}",
+                "");
+
+        subscriber.consume(stream.iterator());
+
+        var captor = ArgumentCaptor.forClass(MockEmployeeEvent.class);
+        verify(rosterUpdater, times(2)).apply(captor.capture());
+        assertEquals(MockEmployeeEvent.Type.CREATED, captor.getAllValues().get(0).type());
+        assertEquals("king", captor.getAllValues().get(0).employee().getName());
+        assertEquals(MockEmployeeEvent.Type.DELETED, captor.getAllValues().get(1).type());
+        assertEquals("102", subscriber.getLastEventId());
+    }
+
+    @Test
+    void consume_incompleteEvent_isNotDispatched() throws Exception {
+        subscriber.consume(List.of("id:7", "data:{\"version\":7,\"type\":\"RESET\"}").iterator());
+
+        verifyNoInteractions(rosterUpdater);
+        assertNull(subscriber.getLastEventId());
+    }
+}
@@ -0,0 +1,97 @@
+package com.reliaquest.api.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.reliaquest.api.cache.TwoTierCache;
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.EmployeeSearchPage;
+import com.reliaquest.api.model.RosterSnapshot;
+import com.reliaquest.api.store.InMemorySharedStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigurationTest {
+
+    @Test
+    void cacheManager_appliesSpecPerCacheName() {
+        CacheProperties properties = new CacheProperties();
+        CacheProperties.Spec searches = new CacheProperties.Spec();
+        searches.setMaximumWeight(DataSize.ofKilobytes(64));
+        properties.getCaches().put("employeeSearchPages", searches);
+        CacheProperties.Spec topTen = new CacheProperties.Spec();
+        topTen.setMaximumSize(1L);
+        topTen.setRecordStats(false);
+        properties.getCaches().put("topTenSalaryEmployees", topTen);
+
+        CaffeineCacheManager cacheManager = (CaffeineCacheManager) new CacheConfiguration().cacheManager(properties, new InMemorySharedStore());
+
+        Cache<Object, Object> searchCache = nativeCache(cacheManager, "employeeSearchPages");
+        assertEquals(64 * 1024, searchCache.policy().eviction().orElseThrow().getMaximum());
+        assertTrue(searchCache.policy().isRecordingStats());
+        Cache<Object, Object> topTenCache = nativeCache(cacheManager, "topTenSalaryEmployees");
+        assertEquals(1, topTenCache.policy().eviction().orElseThrow().getMaximum());
+        assertFalse(topTenCache.policy().isRecordingStats());
+    }
+
+    @Test
+    void weightBoundCache_evictsBroadResultsByTheirSize() {
+        CacheProperties properties = new CacheProperties();
+        CacheProperties.Spec searches = new CacheProperties.Spec();
+        searches.setMaximumWeight(DataSize.ofKilobytes(64));
+        properties.getCaches().put("employeeSearchPages", searches);
+        CaffeineCacheManager cacheManager = (CaffeineCacheManager) new CacheConfiguration().cacheManager(properties, new InMemorySharedStore());
+        Cache<Object, Object> searchCache = nativeCache(cacheManager, "employeeSearchPages");
+
+        for (int i = 0; i < 10; i++) {
+            searchCache.put("a" + i, employees(200));
+        }
+        searchCache.cleanUp();
+
+        assertTrue(searchCache.policy().eviction().orElseThrow().weightedSize().orElseThrow() <= 64 * 1024);
+        assertTrue(searchCache.estimatedSize() < 10);
+    }
+
+    @Test
+    void sharedSearchPageCache_servesPagesAcrossReplicas() {
+        CacheProperties properties = new CacheProperties();
+        CacheProperties.Spec searches = new CacheProperties.Spec();
+        searches.setShared(true);
+        properties.getCaches().put("employeeSearchPages", searches);
+        InMemorySharedStore sharedStore = new InMemorySharedStore();
+        CacheManager first = new CacheConfiguration().cacheManager(properties, sharedStore);
+        CacheManager second = new CacheConfiguration().cacheManager(properties, sharedStore);
+        EmployeeSearchPage page = new EmployeeSearchPage(employees(3), "next");
+
+        first.getCache("employeeSearchPages").put("name:employee:3:null", page);
+
+        assertInstanceOf(TwoTierCache.class, second.getCache("employeeSearchPages"));
+        assertEquals(page, second.getCache("employeeSearchPages").get("name:employee:3:null", EmployeeSearchPage.class));
+    }
+
+    @Test
+    void weigher_growsWithContent() {
+        RosterSnapshot small = RosterSnapshot.of(1, employees(10));
+        RosterSnapshot large = RosterSnapshot.of(1, employees(1000));
+
+        assertTrue(CacheWeigher.estimate(large) > 50 * CacheWeigher.estimate(small));
+        assertTrue(CacheWeigher.estimate(employees(100)) > CacheWeigher.estimate(employees(10)));
+    }
+
+    private Cache<Object, Object> nativeCache(CaffeineCacheManager cacheManager, String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+    }
+
+    private List<EmployeeDto> employees(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new EmployeeDto(UUID.randomUUID(), "employee " + i, 1000 + i, 30, "engineer", i + "@test.com"))
+                .toList();
+    }
+}
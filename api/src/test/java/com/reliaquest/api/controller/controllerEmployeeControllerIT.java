@@ -4,9 +4,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
 import com.reliaquest.api.exception.InvalidInputException;
 import com.reliaquest.api.exception.MockEmployeeServiceFailureException;
+import com.reliaquest.api.exception.MockEmployeeServiceTooManyRequestsException;
+import com.reliaquest.api.exception.MockEmployeeServiceUnavailableException;
 import com.reliaquest.api.exception.NoEmployeesFoundException;
 import com.reliaquest.api.model.CreateMockEmployeeInput;
 import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.RosterSnapshot;
 import com.reliaquest.api.service.EmployeeService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,10 +18,15 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -39,13 +47,14 @@ class EmployeeControllerIT {
 
     @Test
     void getAllEmployees_ok() throws Exception {
-        when(employeeService.getAllEmployees())
-                .thenReturn(List.of(dto("186d753a-b43a-476a-bcfa-d0f83e8793e9","clark",100),
-                        dto("2c5e68c4-587c-4d19-a581-549314f5918f","bruce",120)));
+        when(employeeService.getRosterSnapshot())
+                .thenReturn(RosterSnapshot.of(7, List.of(dto("186d753a-b43a-476a-bcfa-d0f83e8793e9","clark",100),
+                        dto("2c5e68c4-587c-4d19-a581-549314f5918f","bruce",120))));
 
         mockMvc.perform(get("/api/v1/employee"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", "\"7\""))
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$[0].name").value("clark"))
                 .andExpect(jsonPath("$[1].name").value("bruce"))
@@ -53,9 +62,19 @@ class EmployeeControllerIT {
                 .andExpect(jsonPath("$[1].salary").value(120));
     }
 
+    @Test
+    void getAllEmployees_matchingETag_notModified() throws Exception {
+        when(employeeService.getRosterSnapshot())
+                .thenReturn(RosterSnapshot.of(7, List.of(dto("186d753a-b43a-476a-bcfa-d0f83e8793e9","clark",100))));
+
+        mockMvc.perform(get("/api/v1/employee").header("If-None-Match", "\"7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     void getAllEmployees_error() throws Exception {
-        when(employeeService.getAllEmployees())
+        when(employeeService.getRosterSnapshot())
                 .thenThrow(new MockEmployeeServiceFailureException(""));
 
         mockMvc.perform(get("/api/v1/employee"))
@@ -63,6 +82,39 @@ class EmployeeControllerIT {
 
     }
 
+    @Test
+    void getAllEmployees_staleSnapshot_flaggedWithWarning() throws Exception {
+        when(employeeService.getRosterSnapshot())
+                .thenReturn(RosterSnapshot.of(7, List.of(dto("186d753a-b43a-476a-bcfa-d0f83e8793e9","clark",100)))
+                        .asStale());
+
+        mockMvc.perform(get("/api/v1/employee"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Warning", "110 - \"Response is Stale\""))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void getAllEmployees_budgetSpent_serviceUnavailableWithRetryAfter() throws Exception {
+        when(employeeService.getRosterSnapshot())
+                .thenThrow(new MockEmployeeServiceUnavailableException("", Duration.ofSeconds(12)));
+
+        mockMvc.perform(get("/api/v1/employee"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "12"))
+                .andExpect(jsonPath("$.code").value("SERVICE_UNAVAILABLE"));
+    }
+
+    @Test
+    void getAllEmployees_fractionalCooldown_retryAfterRoundedUp() throws Exception {
+        when(employeeService.getRosterSnapshot())
+                .thenThrow(new MockEmployeeServiceTooManyRequestsException("", Duration.ofMillis(1900)));
+
+        mockMvc.perform(get("/api/v1/employee"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"));
+    }
+
     @Test
     void getEmployeesByNameSearch_ok() throws Exception {
         when(employeeService.getAllEmployeesBySearch("peter"))
@@ -76,6 +128,66 @@ class EmployeeControllerIT {
                 .andExpect(jsonPath("$[0].salary").value(100));
     }
 
+    @Test
+    void getAllEmployees_servesPreSerializedRoster() throws Exception {
+        RosterSnapshot roster = RosterSnapshot.of(7, List.of(dto("186d753a-b43a-476a-bcfa-d0f83e8793e9","clark",100)));
+        when(employeeService.getRosterSnapshot()).thenReturn(roster);
+
+        String first = mockMvc.perform(get("/api/v1/employee"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andReturn().getResponse().getContentAsString();
+        String second = mockMvc.perform(get("/api/v1/employee").header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(first, second, "bodies below the gzip threshold are sent as they are");
+        assertEquals(objectMapper.writeValueAsString(roster.employees()), first);
+    }
+
+    @Test
+    void getAllEmployees_largeRosterAcceptingGzip_servedGzipped() throws Exception {
+        when(employeeService.getRosterSnapshot()).thenReturn(RosterSnapshot.of(8, IntStream.range(0, 100)
+                .mapToObj(i -> dto(UUID.randomUUID().toString(), "name" + i, i))
+                .toList()));
+
+        byte[] gzipped = mockMvc.perform(get("/api/v1/employee").header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            assertEquals(100, objectMapper.readValue(in.readAllBytes(), List.class).size());
+        }
+    }
+
+    @Test
+    void getAllEmployees_gzipRefused_servedIdentity() throws Exception {
+        when(employeeService.getRosterSnapshot()).thenReturn(RosterSnapshot.of(8, IntStream.range(0, 100)
+                .mapToObj(i -> dto(UUID.randomUUID().toString(), "name" + i, i))
+                .toList()));
+
+        mockMvc.perform(get("/api/v1/employee").header("Accept-Encoding", "gzip;q=0, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(jsonPath("$", hasSize(100)));
+    }
+
+    @Test
+    void getEmployeesByNameSearch_goesThroughJackson() throws Exception {
+        List<EmployeeDto> result = List.of(dto("2c5e68c4-587c-4d19-a581-549314f5918f","peter",100));
+        when(employeeService.getAllEmployeesBySearch("peter")).thenReturn(result);
+
+        String body = mockMvc.perform(get("/api/v1/employee/search/peter").header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(header().doesNotExist("Vary"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(objectMapper.writeValueAsString(result), body);
+    }
+
     @Test
     void getEmployeesByNameSearch_invalidInputException() throws Exception {
         when(employeeService.getAllEmployeesBySearch("peter"))
@@ -158,6 +270,20 @@ class EmployeeControllerIT {
                 .andExpect(jsonPath("$[1]").value("xavier"));
     }
 
+    @Test
+    void getTopTenSalaryNames_servesPreSerializedBody() throws Exception {
+        List<String> topTen = List.of("jean", "xavier");
+        when(employeeService.getTopTenSalaryEmployees()).thenReturn(topTen);
+
+        String body = mockMvc.perform(get("/api/v1/employee/topTenHighestEarningEmployeeNames"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(objectMapper.writeValueAsString(topTen), body);
+    }
+
     @Test
     void getTopTenSalaryNames_noEmployeesFound() throws Exception {
         when(employeeService.getTopTenSalaryEmployees())
@@ -168,6 +294,25 @@ class EmployeeControllerIT {
         ;
     }
 
+    @Test
+    void getTopEmployees_ok() throws Exception {
+        when(employeeService.getTopEmployees("age", 1))
+                .thenReturn(List.of(dto("186d753a-b43a-476a-bcfa-d0f83e8793e9","clark",100)));
+
+        mockMvc.perform(get("/api/v1/employee/top").param("by", "age").param("n", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("clark"));
+    }
+
+    @Test
+    void getBottomEmployees_invalidInput() throws Exception {
+        when(employeeService.getBottomEmployees("salary", 0)).thenThrow(new InvalidInputException("n"));
+
+        mockMvc.perform(get("/api/v1/employee/bottom").param("n", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void createEmployee_ok() throws Exception {
         CreateMockEmployeeInput input = CreateMockEmployeeInput.builder()
@@ -0,0 +1,70 @@
+package com.reliaquest.api.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ColumnKernelTest {
+
+    private static final int MISSING = RosterSnapshot.MISSING;
+
+    @Test
+    void scalarKernel_matchesStreams() {
+        assertMatchesStreams(ColumnKernels.scalar());
+    }
+
+    @Test
+    void vectorKernel_matchesStreams() {
+        ColumnKernel vector = ColumnKernels.vector();
+        assumeTrue(vector != null, "vector kernel not built (-Pvector) or jdk.incubator.vector not available");
+        assertMatchesStreams(vector);
+    }
+
+    @Test
+    void emptyAndAllMissingColumns_haveNoValues() {
+        for (ColumnKernel kernel : kernels()) {
+            for (int[] column : new int[][]{{}, {MISSING, MISSING, MISSING}}) {
+                assertEquals(MISSING, kernel.max(column));
+                assertEquals(Integer.MAX_VALUE, kernel.min(column, 0));
+                assertEquals(0, kernel.countInRange(column, MISSING, Integer.MAX_VALUE));
+                assertArrayEquals(new int[0], kernel.rowsInRange(column, MISSING, Integer.MAX_VALUE));
+            }
+        }
+    }
+
+    private static void assertMatchesStreams(ColumnKernel kernel) {
+        Random random = new Random(3);
+        // lengths around typical lane counts exercise the scalar tail after the vector loop
+        for (int length : new int[]{1, 7, 8, 15, 16, 17, 63, 64, 65, 1000}) {
+            int[] column = IntStream.range(0, length)
+                    .map(row -> random.nextInt(10) == 0 ? MISSING : random.nextInt(2000) - 100)
+                    .toArray();
+            assertEquals(IntStream.of(column).max().orElse(MISSING), kernel.max(column), "max " + length);
+            assertEquals(IntStream.of(column).filter(value -> value >= 0).min().orElse(Integer.MAX_VALUE),
+                    kernel.min(column, 0), "min " + length);
+            for (int i = 0; i < 50; i++) {
+                int min = random.nextBoolean() ? MISSING : random.nextInt(2000) - 100;
+                int max = random.nextBoolean() ? Integer.MAX_VALUE : random.nextInt(2000) - 100;
+                int[] expected = IntStream.range(0, length)
+                        .filter(row -> column[row] != MISSING && column[row] >= min && column[row] <= max)
+                        .toArray();
+                assertEquals(expected.length, kernel.countInRange(column, min, max), "count " + length);
+                assertArrayEquals(expected, kernel.rowsInRange(column, min, max), "rows " + length);
+            }
+        }
+    }
+
+    private static List<ColumnKernel> kernels() {
+        List<ColumnKernel> kernels = new ArrayList<>(List.of(ColumnKernels.scalar()));
+        if (ColumnKernels.vector() != null) {
+            kernels.add(ColumnKernels.vector());
+        }
+        return kernels;
+    }
+}
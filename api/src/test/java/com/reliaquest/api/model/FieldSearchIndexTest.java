@@ -0,0 +1,117 @@
+package com.reliaquest.api.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldSearchIndexTest {
+
+    private final RosterSnapshot roster = RosterSnapshot.of(1, List.of(
+            employee("John Smith", "Software Engineer", "jsmith@company.com"),
+            employee("Jane Smithers", "Engineering Manager", "jane@company.com"),
+            employee("Bob Engel", "Nurse", "bob@hospital.org"),
+            employee("Alice Doe", null, null)));
+
+    @Test
+    void qualifiedTerms_matchOnlyTheirField() {
+        assertArrayEquals(new int[]{0, 1}, search("title:engineer"));
+        assertArrayEquals(new int[]{2}, search("name:engel"));
+        assertArrayEquals(new int[]{2}, search("email:hospital"));
+    }
+
+    @Test
+    void terms_areAndedAndMatchWordPrefixes() {
+        assertArrayEquals(new int[]{0, 1}, search("title:eng name:smi"));
+        assertArrayEquals(new int[]{1}, search("TITLE:manager name:SMI"));
+        assertEquals(0, search("title:nurse name:smith").length);
+    }
+
+    @Test
+    void unqualifiedTerm_matchesAnyField() {
+        assertArrayEquals(new int[]{0, 1, 2}, search("eng"));
+        assertArrayEquals(new int[]{0, 1}, search("company"));
+    }
+
+    @Test
+    void parse_rejectsUnknownFieldsAndEmptyQueries() {
+        assertThrows(IllegalArgumentException.class, () -> SearchQuery.parse("salary:100"));
+        assertThrows(IllegalArgumentException.class, () -> SearchQuery.parse("name:--"));
+        assertEquals(List.of(new SearchQuery.Term(SearchQuery.Field.TITLE, "vice"),
+                        new SearchQuery.Term(SearchQuery.Field.TITLE, "chair"), new SearchQuery.Term(null, "bo")),
+                SearchQuery.parse(" title:Vice-Chair  bo ").terms());
+    }
+
+    @Test
+    void boundedSearch_startsAtRowAndStopsWhenFilled() {
+        SearchQuery query = SearchQuery.parse("company");
+
+        assertArrayEquals(new int[]{0}, roster.fieldSearchIndex().search(query, 0, 1));
+        assertArrayEquals(new int[]{1}, roster.fieldSearchIndex().search(query, 1, 5));
+        assertEquals(0, roster.fieldSearchIndex().search(query, 2, 5).length);
+        assertArrayEquals(new int[]{1, 2}, roster.fieldSearchIndex().search(SearchQuery.parse("eng e"), 1, 2));
+    }
+
+    @Test
+    void search_agreesWithFullScan() {
+        Random random = new Random(21);
+        String[] words = {"ann", "anna", "bob", "bobby", "eng", "engineer", "nurse", "chief", "co"};
+        List<EmployeeDto> employees = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            employees.add(employee(pick(random, words) + " " + pick(random, words), pick(random, words),
+                    pick(random, words) + "@" + pick(random, words) + ".com"));
+        }
+        RosterSnapshot roster = RosterSnapshot.of(1, employees);
+        String[] fields = {"name:", "title:", "email:", ""};
+
+        for (int i = 0; i < 500; i++) {
+            String query = fields[random.nextInt(fields.length)] + pick(random, words).substring(0, 2)
+                    + " " + fields[random.nextInt(fields.length)] + pick(random, words);
+            SearchQuery parsed = SearchQuery.parse(query);
+            int[] expected = IntStream.range(0, roster.size())
+                    .filter(row -> parsed.terms().stream().allMatch(term -> matches(roster, row, term)))
+                    .toArray();
+            assertArrayEquals(expected, roster.fieldSearchIndex().search(parsed), query);
+            int from = random.nextInt(roster.size());
+            int maxRows = 1 + random.nextInt(10);
+            assertArrayEquals(Arrays.stream(expected).filter(row -> row >= from).limit(maxRows).toArray(),
+                    roster.fieldSearchIndex().search(parsed, from, maxRows), query + " from " + from);
+        }
+    }
+
+    private int[] search(String query) {
+        return roster.fieldSearchIndex().search(SearchQuery.parse(query));
+    }
+
+    private static boolean matches(RosterSnapshot roster, int row, SearchQuery.Term term) {
+        List<String> values = new ArrayList<>();
+        if (term.field() == null || term.field() == SearchQuery.Field.NAME) {
+            values.add(roster.name(row));
+        }
+        if (term.field() == null || term.field() == SearchQuery.Field.TITLE) {
+            values.add(roster.title(row));
+        }
+        if (term.field() == null || term.field() == SearchQuery.Field.EMAIL) {
+            values.add(roster.email(row));
+        }
+        return values.stream()
+                .filter(value -> value != null)
+                .flatMap(value -> List.of(value.toLowerCase(Locale.ROOT).split("[^a-z0-9]+")).stream())
+                .anyMatch(word -> word.startsWith(term.prefix()));
+    }
+
+    private static String pick(Random random, String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+
+    private static EmployeeDto employee(String name, String title, String email) {
+        return new EmployeeDto(UUID.randomUUID(), name, 100, 30, title, email);
+    }
+}
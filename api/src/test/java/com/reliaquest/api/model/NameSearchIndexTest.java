@@ -0,0 +1,109 @@
+package com.reliaquest.api.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameSearchIndexTest {
+
+    @Test
+    void transposedLetters_findName() {
+        RosterSnapshot roster = roster("John Smith", "Mary Doe", "Johnny Cash");
+
+        assertArrayEquals(new int[]{0}, roster.nameSearchIndex().search("jonh", 10));
+    }
+
+    @Test
+    void results_areRankedByEditDistanceThenRow() {
+        RosterSnapshot roster = roster("Jon Smith", "John Smith", "Joan Baez", "Jonas Brown");
+
+        assertArrayEquals(new int[]{1, 0, 2}, roster.nameSearchIndex().search("john", 10));
+    }
+
+    @Test
+    void everyQueryWord_mustMatch() {
+        RosterSnapshot roster = roster("John Smith", "John Doe", "Mary Smith");
+
+        assertArrayEquals(new int[]{0}, roster.nameSearchIndex().search("jonh smiht", 10));
+        assertEquals(0, roster.nameSearchIndex().search("jonh xyzzy", 10).length);
+    }
+
+    @Test
+    void shortWords_mustMatchExactly() {
+        RosterSnapshot roster = roster("Al Gore", "Ed Wood");
+
+        assertArrayEquals(new int[]{0}, roster.nameSearchIndex().search("al", 10));
+        assertEquals(0, roster.nameSearchIndex().search("el", 10).length);
+    }
+
+    @Test
+    void limit_stopsAtExactMatchesWhenEnough() {
+        RosterSnapshot roster = roster("Anna Lee", "Ann Lee", "Anna Bell", "Hanna Moe");
+
+        assertArrayEquals(new int[]{0, 2}, roster.nameSearchIndex().search("anna", 2));
+    }
+
+    @Test
+    void search_agreesWithBruteForce() {
+        Random random = new Random(9);
+        String[] syllables = {"jo", "an", "na", "mi", "ke", "li", "sa", "ro", "b"};
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            names.add(word(random, syllables) + " " + word(random, syllables));
+        }
+        RosterSnapshot roster = roster(names.toArray(String[]::new));
+
+        for (int i = 0; i < 300; i++) {
+            String query = word(random, syllables);
+            int limit = 1 + random.nextInt(20);
+            assertArrayEquals(bruteForce(names, query, limit), roster.nameSearchIndex().search(query, limit), query);
+        }
+    }
+
+    @Test
+    void distance_givesUpBeyondBound() {
+        assertEquals(2, NameSearchIndex.distance("jonh", "john", 5));
+        assertEquals(3, NameSearchIndex.distance("kitten", "sitting", 5));
+        assertEquals(2, NameSearchIndex.distance("kitten", "sitting", 1));
+    }
+
+    private static int[] bruteForce(List<String> names, String query, int limit) {
+        int allowed = NameSearchIndex.maxDistance(query.length());
+        List<int[]> matches = new ArrayList<>();
+        for (int row = 0; row < names.size(); row++) {
+            int best = Integer.MAX_VALUE;
+            for (String word : NameSearchIndex.words(names.get(row))) {
+                best = Math.min(best, NameSearchIndex.distance(query, word, Integer.MAX_VALUE - 1));
+            }
+            if (best <= allowed) {
+                matches.add(new int[]{best, row});
+            }
+        }
+        return matches.stream()
+                .sorted((left, right) -> left[0] != right[0] ? Integer.compare(left[0], right[0])
+                        : Integer.compare(left[1], right[1]))
+                .limit(limit)
+                .mapToInt(match -> match[1])
+                .toArray();
+    }
+
+    private static String word(Random random, String[] syllables) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0, length = 1 + random.nextInt(3); i < length; i++) {
+            word.append(syllables[random.nextInt(syllables.length)]);
+        }
+        return word.toString();
+    }
+
+    private static RosterSnapshot roster(String... names) {
+        return RosterSnapshot.of(1, Arrays.stream(names)
+                .map(name -> new EmployeeDto(UUID.randomUUID(), name, 100, 30, "t", null))
+                .toList());
+    }
+}
@@ -0,0 +1,104 @@
+package com.reliaquest.api.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RosterIndexTest {
+
+    private static final String[] TITLES = {"Engineer", "engineer", "Manager", "Nurse", null};
+    private static final String[] NAMES = {"Anna", "anne", "Bob", "Bobby", "carl", "Zoe", null};
+
+    private final EmployeeDto clark = new EmployeeDto(UUID.randomUUID(), "Clark", 100, 35, "Reporter", "clark@test.com");
+    private final EmployeeDto bruce = new EmployeeDto(UUID.randomUUID(), "Bruce", 900, 40, "CEO", "bruce@test.com");
+    private final EmployeeDto lois = new EmployeeDto(UUID.randomUUID(), "Lois", null, null, "reporter", null);
+    private final EmployeeDto jimmy = new EmployeeDto(UUID.randomUUID(), "Jimmy", 300, 25, "Reporter", null);
+
+    @Test
+    void titleAndSalaryRange_usesCompoundIndexAndKeepsRosterOrder() {
+        RosterSnapshot roster = RosterSnapshot.of(1, List.of(jimmy, clark, bruce, lois));
+
+        int[] rows = roster.index().rowsMatching(EmployeeQuery.builder().title("REPORTER").minSalary(50).build());
+
+        assertArrayEquals(new int[]{0, 1}, rows);
+    }
+
+    @Test
+    void rangeQuery_excludesRowsWithoutValue() {
+        RosterSnapshot roster = RosterSnapshot.of(1, List.of(clark, bruce, lois));
+
+        assertArrayEquals(new int[]{0, 1}, roster.index().rowsMatching(EmployeeQuery.builder().maxSalary(5000).build()));
+        assertArrayEquals(new int[]{1}, roster.index().rowsMatching(EmployeeQuery.builder().minAge(40).maxAge(40).build()));
+    }
+
+    @Test
+    void emptyQuery_matchesEveryRow() {
+        RosterSnapshot roster = RosterSnapshot.of(1, List.of(clark, bruce, lois));
+
+        assertArrayEquals(new int[]{0, 1, 2}, roster.index().rowsMatching(EmployeeQuery.builder().build()));
+    }
+
+    @Test
+    void unknownTitle_matchesNothing() {
+        RosterSnapshot roster = RosterSnapshot.of(1, List.of(clark, bruce));
+
+        assertEquals(0, roster.index().rowsMatching(EmployeeQuery.builder().title("intern").build()).length);
+    }
+
+    @Test
+    void index_isBuiltOncePerSnapshot() {
+        RosterSnapshot roster = RosterSnapshot.of(1, List.of(clark));
+
+        assertSame(roster.index(), roster.index());
+    }
+
+    @Test
+    void rowsMatching_agreesWithFullScan() {
+        Random random = new Random(7);
+        List<EmployeeDto> employees = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            employees.add(new EmployeeDto(UUID.randomUUID(), NAMES[random.nextInt(NAMES.length)] + (i % 3 == 0 ? "" : i),
+                    random.nextInt(10) == 0 ? null : random.nextInt(1000),
+                    random.nextInt(10) == 0 ? null : 16 + random.nextInt(50),
+                    TITLES[random.nextInt(TITLES.length)], null));
+        }
+        RosterSnapshot roster = RosterSnapshot.of(1, employees);
+
+        for (int i = 0; i < 2000; i++) {
+            EmployeeQuery query = new EmployeeQuery(
+                    random.nextBoolean() ? null : random.nextInt(1000),
+                    random.nextBoolean() ? null : random.nextInt(1000),
+                    random.nextBoolean() ? null : 16 + random.nextInt(50),
+                    random.nextBoolean() ? null : 16 + random.nextInt(50),
+                    random.nextInt(3) == 0 ? TITLES[random.nextInt(TITLES.length)] : null,
+                    random.nextInt(3) == 0 ? "bo" : random.nextInt(3) == 0 ? "A" : null);
+
+            assertArrayEquals(scan(roster, query), roster.index().rowsMatching(query), query.toString());
+        }
+    }
+
+    private static int[] scan(RosterSnapshot roster, EmployeeQuery query) {
+        return IntStream.range(0, roster.size())
+                .filter(row -> within(roster.salary(row), query.minSalary(), query.maxSalary(), query.hasSalaryRange()))
+                .filter(row -> within(roster.age(row), query.minAge(), query.maxAge(), query.hasAgeRange()))
+                .filter(row -> query.title() == null
+                        || (roster.title(row) != null && roster.title(row).equalsIgnoreCase(query.title())))
+                .filter(row -> query.namePrefix() == null || (roster.name(row) != null
+                        && roster.name(row).toLowerCase(Locale.ROOT).startsWith(query.namePrefix().toLowerCase(Locale.ROOT))))
+                .toArray();
+    }
+
+    private static boolean within(int value, Integer min, Integer max, boolean filtered) {
+        if (!filtered) {
+            return true;
+        }
+        return value != RosterSnapshot.MISSING && (min == null || value >= min) && (max == null || value <= max);
+    }
+}
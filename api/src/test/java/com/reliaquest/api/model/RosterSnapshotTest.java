@@ -0,0 +1,82 @@
+package com.reliaquest.api.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RosterSnapshotTest {
+
+    private final EmployeeDto clark = new EmployeeDto(UUID.randomUUID(), "clark", 100, 35, "reporter", "clark@test.com");
+    private final EmployeeDto bruce = new EmployeeDto(UUID.randomUUID(), "bruce", 900, 40, "ceo", "bruce@test.com");
+    private final EmployeeDto lois = new EmployeeDto(UUID.randomUUID(), "lois", null, null, "reporter", null);
+
+    @Test
+    void of_materialisesRowsEqualToInput() {
+        RosterSnapshot snapshot = RosterSnapshot.of(3, List.of(clark, bruce, lois));
+
+        assertEquals(3, snapshot.version());
+        assertEquals("\"3\"", snapshot.etag());
+        assertEquals(List.of(clark, bruce, lois), snapshot.employees());
+        assertEquals(RosterSnapshot.MISSING, snapshot.salary(2));
+        assertNull(snapshot.employee(2).age());
+        assertSame(snapshot.employees(), snapshot.employees());
+    }
+
+    @Test
+    void indexOf_findsRowById() {
+        RosterSnapshot snapshot = RosterSnapshot.of(1, List.of(clark, bruce));
+
+        assertEquals(1, snapshot.indexOf(bruce.id()));
+        assertEquals(-1, snapshot.indexOf(UUID.randomUUID()));
+        assertEquals(-1, snapshot.indexOf(null));
+    }
+
+    @Test
+    void withAdded_appendsRowAndLeavesOriginalUntouched() {
+        RosterSnapshot original = RosterSnapshot.of(1, List.of(clark));
+
+        RosterSnapshot updated = original.withAdded(2, lois);
+
+        assertEquals(List.of(clark), original.employees());
+        assertEquals(List.of(clark, lois), updated.employees());
+        assertEquals(2, updated.version());
+    }
+
+    @Test
+    void withoutRow_removesRow() {
+        RosterSnapshot original = RosterSnapshot.of(1, List.of(clark, bruce, lois));
+
+        RosterSnapshot updated = original.withoutRow(2, 1);
+
+        assertEquals(List.of(clark, lois), updated.employees());
+        assertEquals(3, original.size());
+    }
+
+    @Test
+    void stringColumn_storesRepeatedValuesOnce() {
+        StringColumn titles = StringColumn.of(new String[] {"reporter", "ceo", "reporter", null});
+
+        assertEquals(2, titles.poolSize());
+        assertEquals("reporter", titles.get(2));
+        assertNull(titles.get(3));
+        assertEquals(2, titles.withAppended("ceo").poolSize());
+        assertEquals(3, titles.withAppended("intern").poolSize());
+    }
+
+    @Test
+    void singleRowChanges_updateTheParentsSalaryHistogram() {
+        RosterSnapshot original = RosterSnapshot.of(1, List.of(clark, bruce, lois));
+        original.salaryHistogram();
+
+        RosterSnapshot added = original.withAdded(2, new EmployeeDto(UUID.randomUUID(), "diana", 1500, 30, "ceo", null));
+        RosterSnapshot removed = added.withoutRow(3, 1);
+
+        assertEquals(1500, added.salaryHistogram().max());
+        assertEquals(1500, removed.salaryHistogram().max());
+        assertEquals(SalaryHistogram.of(new int[]{100, 1500}), removed.salaryHistogram());
+        assertEquals(2, original.salaryHistogram().count());
+    }
+}
@@ -0,0 +1,123 @@
+package com.reliaquest.api.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowRankingTest {
+
+    @Test
+    void highestAndLowest_matchFullSort() {
+        Random random = new Random(5);
+        List<EmployeeDto> employees = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            // narrow ranges so ties are common
+            employees.add(new EmployeeDto(UUID.randomUUID(), "e" + i,
+                    random.nextInt(20) == 0 ? null : random.nextInt(200) * 100,
+                    random.nextInt(20) == 0 ? null : 16 + random.nextInt(50), "t", null));
+        }
+        RosterSnapshot roster = RosterSnapshot.of(1, employees);
+
+        for (RankBy by : RankBy.values()) {
+            for (int n : new int[]{1, 10, 999, 2000}) {
+                assertArrayEquals(sorted(roster, by, true, n), RowRanking.highest(roster, by, n), by + " top " + n);
+                assertArrayEquals(sorted(roster, by, false, n), RowRanking.lowest(roster, by, n), by + " bottom " + n);
+            }
+        }
+    }
+
+    @Test
+    void largeRoster_prunedSelectionMatchesFullSort() {
+        Random random = new Random(11);
+        List<EmployeeDto> employees = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            // rising salaries push the true top rows past the sampled prefix
+            employees.add(new EmployeeDto(UUID.randomUUID(), "e" + i,
+                    random.nextInt(20) == 0 ? null : i / 4 + random.nextInt(100),
+                    random.nextInt(20) == 0 ? null : 16 + random.nextInt(50), "t", null));
+        }
+        RosterSnapshot roster = RosterSnapshot.of(1, employees);
+
+        for (RankBy by : RankBy.values()) {
+            for (int n : new int[]{1, 10, 600, 5000}) {
+                assertArrayEquals(sorted(roster, by, true, n), RowRanking.highest(roster, by, n), by + " top " + n);
+                assertArrayEquals(sorted(roster, by, false, n), RowRanking.lowest(roster, by, n), by + " bottom " + n);
+            }
+        }
+    }
+
+    @Test
+    void chunksPrunedBySharedThreshold_matchFullSort() {
+        Random random = new Random(13);
+        List<EmployeeDto> employees = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            employees.add(new EmployeeDto(UUID.randomUUID(), "e" + i,
+                    random.nextInt(20) == 0 ? null : i / 4 + random.nextInt(100),
+                    random.nextInt(20) == 0 ? null : 16 + random.nextInt(50), "t", null));
+        }
+        RosterSnapshot roster = RosterSnapshot.of(1, employees);
+
+        for (RankBy by : RankBy.values()) {
+            for (boolean highest : new boolean[]{true, false}) {
+                int threshold = RowRanking.threshold(roster, by, 10, highest);
+                int[] candidates = IntStream.range(0, 8)
+                        .flatMap(chunk -> IntStream.of(RowRanking.select(roster, by, 10, highest, chunk * 2_500,
+                                (chunk + 1) * 2_500, threshold)))
+                        .toArray();
+
+                assertArrayEquals(sorted(roster, by, highest, 10),
+                        RowRanking.selectAmong(roster, by, 10, highest, candidates), by + " " + highest);
+            }
+        }
+    }
+
+    @Test
+    void threshold_smallRoster_skipsNothing() {
+        RosterSnapshot roster = RosterSnapshot.of(1, List.of(new EmployeeDto(null, "a", 100, 30, null, null)));
+
+        assertEquals(Integer.MIN_VALUE, RowRanking.threshold(roster, RankBy.SALARY, 1, true));
+        assertEquals(Integer.MAX_VALUE, RowRanking.threshold(roster, RankBy.SALARY, 1, false));
+    }
+
+    @Test
+    void tiesGoToEarlierRows() {
+        RosterSnapshot roster = RosterSnapshot.of(1, List.of(
+                new EmployeeDto(null, "a", 100, 30, null, null),
+                new EmployeeDto(null, "b", 200, 30, null, null),
+                new EmployeeDto(null, "c", 200, 30, null, null),
+                new EmployeeDto(null, "d", 100, 30, null, null)));
+
+        assertArrayEquals(new int[]{1, 2, 0}, RowRanking.highest(roster, RankBy.SALARY, 3));
+        assertArrayEquals(new int[]{0, 3, 1}, RowRanking.lowest(roster, RankBy.SALARY, 3));
+    }
+
+    @Test
+    void rowsWithoutValue_areNeverSelected() {
+        RosterSnapshot roster = RosterSnapshot.of(1, List.of(
+                new EmployeeDto(null, "a", null, 30, null, null),
+                new EmployeeDto(null, "b", 200, null, null, null)));
+
+        assertArrayEquals(new int[]{1}, RowRanking.lowest(roster, RankBy.SALARY, 5));
+        assertArrayEquals(new int[]{0}, RowRanking.highest(roster, RankBy.AGE, 5));
+        assertEquals(0, RowRanking.highest(RosterSnapshot.of(1, List.of()), RankBy.AGE, 5).length);
+    }
+
+    private static int[] sorted(RosterSnapshot roster, RankBy by, boolean highest, int n) {
+        Comparator<Integer> byValue = Comparator.comparingInt(row -> by.valueOf(roster, row));
+        return IntStream.range(0, roster.size())
+                .filter(row -> by.valueOf(roster, row) != RosterSnapshot.MISSING)
+                .boxed()
+                // a stable sort keeps earlier rows first among equal values
+                .sorted(highest ? byValue.reversed() : byValue)
+                .limit(n)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+}
@@ -0,0 +1,79 @@
+package com.reliaquest.api.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalaryHistogramTest {
+
+    @Test
+    void buckets_coverEveryValueContiguously() {
+        for (int value : new int[]{0, 1, 127, 128, 129, 255, 256, 1_000_000, Integer.MAX_VALUE}) {
+            int bucket = SalaryHistogram.bucketOf(value);
+            assertTrue(SalaryHistogram.lowestValueOf(bucket) <= value, "value " + value);
+            assertTrue(SalaryHistogram.lowestValueOf(bucket + 1) > value, "value " + value);
+        }
+    }
+
+    @Test
+    void quantiles_areWithinBucketPrecision() {
+        Random random = new Random(11);
+        int[] salaries = random.ints(10_000, 30_000, 500_000).toArray();
+        SalaryHistogram histogram = SalaryHistogram.of(salaries);
+        int[] sorted = salaries.clone();
+        Arrays.sort(sorted);
+
+        for (double quantile : new double[]{0.01, 0.5, 0.9, 0.99}) {
+            int exact = sorted[(int) Math.ceil(quantile * sorted.length) - 1];
+            assertEquals(exact, histogram.valueAtQuantile(quantile), exact / 64.0, "quantile " + quantile);
+        }
+        assertEquals(sorted[0], histogram.min());
+        assertEquals(sorted[sorted.length - 1], histogram.max());
+        assertEquals(sorted[sorted.length - 1], histogram.valueAtQuantile(1));
+        assertEquals(Arrays.stream(salaries).average().orElseThrow(), histogram.mean(), 1e-6);
+    }
+
+    @Test
+    void incrementalChanges_matchFullRebuild() {
+        int[] salaries = {500, 100, 900, 300};
+        SalaryHistogram histogram = SalaryHistogram.of(salaries);
+
+        SalaryHistogram added = histogram.withValue(1200);
+        SalaryHistogram removedMax = added.withoutValue(1200, salaries);
+        SalaryHistogram removedMin = histogram.withoutValue(100, new int[]{500, 900, 300});
+
+        assertEquals(SalaryHistogram.of(new int[]{500, 100, 900, 300, 1200}), added);
+        assertEquals(histogram, removedMax);
+        assertEquals(SalaryHistogram.of(new int[]{500, 900, 300}), removedMin);
+        assertEquals(300, removedMin.min());
+    }
+
+    @Test
+    void missingSalaries_areIgnored() {
+        SalaryHistogram histogram = SalaryHistogram.of(new int[]{RosterSnapshot.MISSING, 400});
+
+        assertEquals(1, histogram.count());
+        assertSame(histogram, histogram.withValue(RosterSnapshot.MISSING));
+    }
+
+    @Test
+    void merge_equalsHistogramOfCombinedValues() {
+        SalaryHistogram left = SalaryHistogram.of(new int[]{100, 200_000});
+        SalaryHistogram right = SalaryHistogram.of(new int[]{50, 3_000});
+
+        assertEquals(SalaryHistogram.of(new int[]{100, 200_000, 50, 3_000}), left.merge(right));
+        assertEquals(left, left.merge(SalaryHistogram.empty()));
+    }
+
+    @Test
+    void emptyHistogram_hasNoExtremes() {
+        SalaryHistogram empty = SalaryHistogram.of(new int[0]);
+
+        assertEquals(0, empty.count());
+        assertThrows(IllegalStateException.class, empty::max);
+        assertSame(SalaryHistogram.empty(), SalaryHistogram.of(new int[]{10}).withoutValue(10, new int[0]));
+    }
+}
@@ -0,0 +1,79 @@
+package com.reliaquest.api.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TitleAggregatesTest {
+
+    private static final String[] TITLES = {"engineer", "manager", "nurse", null};
+
+    @Test
+    void of_aggregatesPerTitle() {
+        RosterSnapshot roster = RosterSnapshot.of(1, List.of(
+                employee("ann", 300, "engineer"),
+                employee("bob", null, "engineer"),
+                employee("cid", 500, "engineer"),
+                employee("dan", 100, "manager"),
+                employee("eve", 900, null)));
+
+        List<TitleAggregate> aggregates = roster.titleAggregates().all();
+
+        assertEquals(List.of("engineer", "manager"), aggregates.stream().map(TitleAggregate::title).toList());
+        TitleAggregate engineers = aggregates.get(0);
+        assertEquals(3, engineers.headcount());
+        assertEquals(2, engineers.salaryCount());
+        assertEquals(800, engineers.salarySum());
+        assertEquals(500, engineers.maxSalary());
+        assertEquals(List.of(new TitleAggregate.Earner("cid", 500), new TitleAggregate.Earner("ann", 300)),
+                engineers.topEarners());
+    }
+
+    @Test
+    void topEarners_keepsOnlyTopK() {
+        List<EmployeeDto> employees = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            employees.add(employee("e" + i, i * 10, "engineer"));
+        }
+
+        TitleAggregate engineers = RosterSnapshot.of(1, employees).titleAggregates().get("engineer");
+
+        assertEquals(TitleAggregate.TOP_K, engineers.topEarners().size());
+        assertEquals(90, engineers.topEarners().get(0).salary());
+        assertEquals(50, engineers.topEarners().get(TitleAggregate.TOP_K - 1).salary());
+    }
+
+    @Test
+    void incrementalChanges_matchFullRebuild() {
+        Random random = new Random(3);
+        List<EmployeeDto> initial = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            initial.add(randomEmployee(random, i));
+        }
+        RosterSnapshot roster = RosterSnapshot.of(1, initial);
+        roster.titleAggregates();
+
+        for (int change = 0; change < 500; change++) {
+            if (roster.size() > 0 && random.nextBoolean()) {
+                roster = roster.withoutRow(roster.version() + 1, random.nextInt(roster.size()));
+            } else {
+                roster = roster.withAdded(roster.version() + 1, randomEmployee(random, 100 + change));
+            }
+            assertEquals(TitleAggregates.of(roster).all(), roster.titleAggregates().all(), "after change " + change);
+        }
+    }
+
+    private static EmployeeDto randomEmployee(Random random, int i) {
+        return employee("e" + i, random.nextInt(8) == 0 ? null : random.nextInt(20) * 1000,
+                TITLES[random.nextInt(TITLES.length)]);
+    }
+
+    private static EmployeeDto employee(String name, Integer salary, String title) {
+        return new EmployeeDto(UUID.randomUUID(), name, salary, 30, title, null);
+    }
+}
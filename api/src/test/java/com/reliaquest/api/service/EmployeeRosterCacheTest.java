@@ -0,0 +1,193 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.cache.RosterSnapshotFile;
+import com.reliaquest.api.cache.SharedRosterFile;
+import com.reliaquest.api.client.MockEmployeeClient;
+import com.reliaquest.api.config.CacheProperties;
+import com.reliaquest.api.exception.MockEmployeeServiceFailureException;
+import com.reliaquest.api.exception.MockEmployeeServiceTooManyRequestsException;
+import com.reliaquest.api.mapper.EmployeeMapper;
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.MockEmployee;
+import com.reliaquest.api.model.Response;
+import com.reliaquest.api.model.RosterSnapshot;
+import com.reliaquest.api.store.InMemorySharedStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmployeeRosterCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private MockEmployeeClient client;
+    private RosterSnapshotFile snapshotFile;
+    private ConcurrentMapCacheManager cacheManager;
+    private RosterVersions versions;
+    private EmployeeRosterCache rosterCache;
+    private final MockEmployee mike = MockEmployee.builder().id(UUID.randomUUID()).name("mike").salary(100).build();
+    private final EmployeeDto tyson = EmployeeDto.builder().id(UUID.randomUUID()).name("tyson").salary(200).build();
+
+    @BeforeEach
+    void setUp() {
+        client = mock(MockEmployeeClient.class);
+        snapshotFile = new RosterSnapshotFile(directory.resolve("roster.snapshot").toString());
+        cacheManager = new ConcurrentMapCacheManager("employees", "employeeSearchPages", "topTenSalaryEmployees");
+        versions = new RosterVersions(new InMemorySharedStore(), new CacheProperties());
+        rosterCache = new EmployeeRosterCache(client, new EmployeeMapper(), snapshotFile, new SharedRosterFile("", true,
+                Duration.ofMinutes(10)), versions, cacheManager);
+    }
+
+    @Test
+    void getSnapshot_persistsLoadedRoster() {
+        when(client.getEmployees()).thenReturn(new Response<>(List.of(mike), Response.Status.HANDLED, null));
+
+        RosterSnapshot loaded = rosterCache.getSnapshot();
+
+        RosterSnapshot persisted = snapshotFile.load().orElseThrow();
+        assertEquals(loaded.version(), persisted.version());
+        assertEquals(loaded.employees(), persisted.employees());
+    }
+
+    @Test
+    void getSnapshot_downstreamFailing_servesLastKnownGoodAsStale() {
+        when(client.getEmployees())
+                .thenReturn(new Response<>(List.of(mike), Response.Status.HANDLED, null))
+                .thenThrow(new MockEmployeeServiceTooManyRequestsException("429"))
+                .thenThrow(new ResourceAccessException("refused"));
+        RosterSnapshot fresh = rosterCache.getSnapshot();
+
+        RosterSnapshot rateLimited = rosterCache.getSnapshot();
+        RosterSnapshot down = rosterCache.getSnapshot();
+
+        assertTrue(rateLimited.stale());
+        assertTrue(down.stale());
+        assertEquals(fresh.version(), rateLimited.version());
+        assertEquals(fresh.employees(), down.employees());
+    }
+
+    @Test
+    void getSnapshot_downstreamFailingWithoutFallback_throws() {
+        when(client.getEmployees()).thenReturn(new Response<>(null, Response.Status.ERROR, "error"));
+
+        assertThrows(MockEmployeeServiceFailureException.class, () -> rosterCache.getSnapshot());
+    }
+
+    @Test
+    void warmFromDisk_cachesPersistedRosterAsStale() {
+        EmployeeDto persisted = EmployeeDto.builder().id(UUID.randomUUID()).name("tyson").salary(200).build();
+        snapshotFile.save(RosterSnapshot.of(9, List.of(persisted)));
+        when(client.getEmployees()).thenThrow(new MockEmployeeServiceTooManyRequestsException("429"));
+
+        rosterCache.warmFromDisk();
+
+        RosterSnapshot cached = cacheManager.getCache("employees").get(SimpleKey.EMPTY, RosterSnapshot.class);
+        assertTrue(cached.stale());
+        assertEquals(List.of(persisted), cached.employees());
+        assertEquals(List.of(persisted), rosterCache.getSnapshot().employees());
+    }
+
+    @Test
+    void getSnapshot_recoveringFromStale_clearsDerivedCaches() {
+        snapshotFile.save(RosterSnapshot.of(9, List.of()));
+        rosterCache.warmFromDisk();
+        cacheManager.getCache("employeeSearchPages").put("mi", List.of());
+        when(client.getEmployees()).thenReturn(new Response<>(List.of(mike), Response.Status.HANDLED, null));
+
+        RosterSnapshot fresh = rosterCache.getSnapshot();
+
+        assertFalse(fresh.stale());
+        assertNull(cacheManager.getCache("employeeSearchPages").get("mi"));
+    }
+
+    @Test
+    void getSnapshot_sharedRoster_onlyPublisherCallsDownstream() {
+        String sharedPath = directory.resolve("roster.shared").toString();
+        SharedRosterFile publisherFile = new SharedRosterFile(sharedPath, true, Duration.ofMinutes(10));
+        SharedRosterFile readerFile = new SharedRosterFile(sharedPath, true, Duration.ofMinutes(10));
+        MockEmployeeClient readerClient = mock(MockEmployeeClient.class);
+        EmployeeRosterCache publisher = new EmployeeRosterCache(client, new EmployeeMapper(), snapshotFile,
+                publisherFile, versions, cacheManager);
+        EmployeeRosterCache reader = new EmployeeRosterCache(readerClient, new EmployeeMapper(),
+                mock(RosterSnapshotFile.class), readerFile, versions, new ConcurrentMapCacheManager());
+        when(client.getEmployees()).thenReturn(new Response<>(List.of(mike), Response.Status.HANDLED, null));
+        try {
+            RosterSnapshot published = publisher.getSnapshot();
+
+            RosterSnapshot shared = reader.getSnapshot();
+
+            assertEquals(published.version(), shared.version());
+            assertEquals(published.employees(), shared.employees());
+            verify(readerClient, never()).getEmployees();
+        } finally {
+            publisherFile.close();
+            readerFile.close();
+        }
+    }
+
+    @Test
+    void changed_sharedRoster_publisherSharesTheChange() {
+        String sharedPath = directory.resolve("roster.shared").toString();
+        SharedRosterFile publisherFile = new SharedRosterFile(sharedPath, true, Duration.ofMinutes(10));
+        SharedRosterFile readerFile = new SharedRosterFile(sharedPath, true, Duration.ofMinutes(10));
+        EmployeeRosterCache publisher = new EmployeeRosterCache(client, new EmployeeMapper(), snapshotFile,
+                publisherFile, versions, cacheManager);
+        EmployeeRosterCache reader = new EmployeeRosterCache(mock(MockEmployeeClient.class), new EmployeeMapper(),
+                mock(RosterSnapshotFile.class), readerFile, versions, new ConcurrentMapCacheManager());
+        when(client.getEmployees()).thenReturn(new Response<>(List.of(mike), Response.Status.HANDLED, null));
+        try {
+            RosterSnapshot published = publisher.getSnapshot();
+
+            publisher.changed(published.withAdded(publisher.nextVersion(), tyson));
+
+            assertEquals(List.of("mike", "tyson"), names(reader.getSnapshot()));
+        } finally {
+            publisherFile.close();
+            readerFile.close();
+        }
+    }
+
+    @Test
+    void getSnapshot_sharedRoster_readerKeepsChangeNewerThanPublication() {
+        String sharedPath = directory.resolve("roster.shared").toString();
+        SharedRosterFile publisherFile = new SharedRosterFile(sharedPath, true, Duration.ofMinutes(10));
+        SharedRosterFile readerFile = new SharedRosterFile(sharedPath, true, Duration.ofMinutes(10));
+        MockEmployeeClient readerClient = mock(MockEmployeeClient.class);
+        EmployeeRosterCache publisher = new EmployeeRosterCache(client, new EmployeeMapper(), snapshotFile,
+                publisherFile, versions, cacheManager);
+        EmployeeRosterCache reader = new EmployeeRosterCache(readerClient, new EmployeeMapper(),
+                mock(RosterSnapshotFile.class), readerFile, versions, new ConcurrentMapCacheManager());
+        when(client.getEmployees()).thenReturn(new Response<>(List.of(mike), Response.Status.HANDLED, null));
+        try {
+            publisher.getSnapshot();
+            RosterSnapshot shared = reader.getSnapshot();
+
+            reader.changed(shared.withAdded(reader.nextVersion(), tyson));
+
+            assertEquals(List.of("mike", "tyson"), names(reader.getSnapshot()));
+            verify(readerClient, never()).getEmployees();
+        } finally {
+            publisherFile.close();
+            readerFile.close();
+        }
+    }
+
+    private static List<String> names(RosterSnapshot roster) {
+        return roster.employees().stream().map(EmployeeDto::name).toList();
+    }
+}
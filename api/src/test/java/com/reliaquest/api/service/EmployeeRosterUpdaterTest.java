@@ -0,0 +1,112 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.config.CacheConfiguration;
+import com.reliaquest.api.config.CacheProperties;
+import com.reliaquest.api.mapper.EmployeeMapper;
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.EmployeeSearchPage;
+import com.reliaquest.api.model.MockEmployee;
+import com.reliaquest.api.model.MockEmployeeEvent;
+import com.reliaquest.api.model.RosterSnapshot;
+import com.reliaquest.api.store.InMemorySharedStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmployeeRosterUpdaterTest {
+
+    private ConcurrentMapCacheManager cacheManager;
+    private EmployeeRosterUpdater updater;
+    private EmployeeDto existing;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager("employees", "employeeSearchPages");
+        EmployeeRosterCache rosterCache = mock(EmployeeRosterCache.class);
+        when(rosterCache.nextVersion()).thenReturn(2L, 3L);
+        updater = new EmployeeRosterUpdater(cacheManager, new EmployeeMapper(), rosterCache);
+        existing = EmployeeDto.builder().id(UUID.randomUUID()).name("mike").salary(100).build();
+        cacheManager.getCache("employees").put(SimpleKey.EMPTY, RosterSnapshot.of(1, List.of(existing)));
+        cacheManager.getCache("employeeSearchPages").put("mi", List.of(existing));
+    }
+
+    @Test
+    void apply_created_appendsToCachedRosterAndClearsSearches() {
+        MockEmployee created = mockEmployee(UUID.randomUUID(), "tyson");
+
+        updater.apply(new MockEmployeeEvent(2, MockEmployeeEvent.Type.CREATED, created));
+
+        RosterSnapshot roster = cachedRoster();
+        assertEquals(2, roster.version());
+        assertEquals(2, roster.employees().size());
+        assertEquals("tyson", roster.employees().get(1).name());
+        assertNull(cacheManager.getCache("employeeSearchPages").get("mi"));
+    }
+
+    @Test
+    void apply_createdTwice_isIdempotent() {
+        MockEmployee created = mockEmployee(UUID.randomUUID(), "tyson");
+
+        updater.apply(new MockEmployeeEvent(2, MockEmployeeEvent.Type.CREATED, created));
+        updater.apply(new MockEmployeeEvent(2, MockEmployeeEvent.Type.CREATED, created));
+
+        assertEquals(2, cachedRoster().employees().size());
+        assertEquals(2, cachedRoster().version());
+    }
+
+    @Test
+    void apply_deleted_removesFromCachedRoster() {
+        updater.apply(new MockEmployeeEvent(2, MockEmployeeEvent.Type.DELETED, mockEmployee(existing.id(), "mike")));
+
+        assertTrue(cachedRoster().employees().isEmpty());
+    }
+
+    @Test
+    void apply_reset_evictsCachedRoster() {
+        updater.apply(new MockEmployeeEvent(2, MockEmployeeEvent.Type.RESET, null));
+
+        assertNull(cacheManager.getCache("employees").get(SimpleKey.EMPTY));
+    }
+
+    @Test
+    void apply_createdWithoutCachedRoster_doesNotPopulateCache() {
+        cacheManager.getCache("employees").clear();
+
+        updater.apply(new MockEmployeeEvent(2, MockEmployeeEvent.Type.CREATED, mockEmployee(UUID.randomUUID(), "tyson")));
+
+        assertNull(cacheManager.getCache("employees").get(SimpleKey.EMPTY));
+    }
+
+    @Test
+    void apply_event_dropsSharedSearchPages() {
+        CacheProperties properties = new CacheProperties();
+        CacheProperties.Spec shared = new CacheProperties.Spec();
+        shared.setShared(true);
+        properties.getCaches().put("employeeSearchPages", shared);
+        CacheManager sharedCaches = new CacheConfiguration().cacheManager(properties, new InMemorySharedStore());
+        EmployeeRosterUpdater sharedUpdater = new EmployeeRosterUpdater(sharedCaches, new EmployeeMapper(),
+                mock(EmployeeRosterCache.class));
+        sharedCaches.getCache("employeeSearchPages").put("name:mi:10:null", new EmployeeSearchPage(List.of(existing), null));
+
+        sharedUpdater.apply(new MockEmployeeEvent(2, MockEmployeeEvent.Type.CREATED, mockEmployee(UUID.randomUUID(), "tyson")));
+
+        assertNull(sharedCaches.getCache("employeeSearchPages").get("name:mi:10:null"));
+    }
+
+    private RosterSnapshot cachedRoster() {
+        return cacheManager.getCache("employees").get(SimpleKey.EMPTY, RosterSnapshot.class);
+    }
+
+    private MockEmployee mockEmployee(UUID id, String name) {
+        return MockEmployee.builder().id(id).name(name).salary(100).age(30).title("mr").email(name + "@test.com").build();
+    }
+}
@@ -0,0 +1,109 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.RosterSnapshotFile;
+import com.reliaquest.api.cache.SharedRosterFile;
+import com.reliaquest.api.client.MockEmployeeClient;
+import com.reliaquest.api.config.CacheProperties;
+import com.reliaquest.api.mapper.EmployeeMapper;
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.MockEmployee;
+import com.reliaquest.api.model.Response;
+import com.reliaquest.api.store.InMemoryMessageBus;
+import com.reliaquest.api.store.InMemorySharedStore;
+import com.reliaquest.api.store.SharedStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs {@link EmployeeService} behind the caching proxy, so the cache annotations take part.
+ */
+@SpringJUnitConfig(EmployeeServiceCachingTest.Config.class)
+class EmployeeServiceCachingTest {
+
+    private static final MockEmployee MIKE = MockEmployee.builder().id(UUID.randomUUID()).name("mike").salary(100).build();
+    private static final MockEmployee TYSON = MockEmployee.builder().id(UUID.randomUUID()).name("tyson").salary(200).build();
+
+    @Autowired
+    EmployeeService service;
+
+    @Autowired
+    MockEmployeeClient client;
+
+    @Test
+    void deleteEmployee_appliesDeltaWithoutReloadingRoster() {
+        when(client.getEmployees()).thenReturn(Response.handledWith(List.of(MIKE, TYSON)));
+        when(client.getEmployee(MIKE.getId().toString())).thenReturn(Response.handledWith(MIKE));
+        when(client.deleteEmployee(any())).thenReturn(Response.handledWith(true));
+        assertEquals(List.of("tyson", "mike"), service.getTopTenSalaryEmployees());
+
+        service.deleteEmployee(MIKE.getId().toString());
+
+        assertEquals(List.of("tyson"), service.getAllEmployees().stream().map(EmployeeDto::name).toList());
+        assertEquals(List.of("tyson"), service.getTopTenSalaryEmployees());
+        verify(client, times(1)).getEmployees();
+    }
+
+    @Configuration
+    @EnableCaching
+    @Import({ EmployeeService.class, EmployeeRosterCache.class, EmployeeRosterUpdater.class, EmployeeMapper.class })
+    static class Config {
+
+        @Bean
+        MockEmployeeClient mockEmployeeClient() {
+            return mock(MockEmployeeClient.class);
+        }
+
+        @Bean
+        RosterSnapshotFile rosterSnapshotFile() {
+            return mock(RosterSnapshotFile.class);
+        }
+
+        @Bean
+        SharedRosterFile sharedRosterFile() {
+            return mock(SharedRosterFile.class);
+        }
+
+        @Bean
+        SharedStore sharedStore() {
+            return new InMemorySharedStore();
+        }
+
+        @Bean
+        RosterVersions rosterVersions(SharedStore sharedStore) {
+            return new RosterVersions(sharedStore, new CacheProperties());
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager("employees", "employeeSearchPages", "topTenSalaryEmployees");
+        }
+
+        @Bean
+        RosterChangeBroadcaster rosterChangeBroadcaster(SharedStore sharedStore, EmployeeRosterUpdater rosterUpdater) {
+            ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+            return new RosterChangeBroadcaster(new InMemoryMessageBus(), sharedStore, objectMapper, rosterUpdater,
+                    new CacheProperties());
+        }
+
+        @Bean
+        RosterScanner rosterScanner() {
+            return RosterScanner.sequential();
+        }
+    }
+}
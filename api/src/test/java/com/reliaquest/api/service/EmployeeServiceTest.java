@@ -1,15 +1,20 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.cache.RosterSnapshotFile;
+import com.reliaquest.api.cache.SharedRosterFile;
 import com.reliaquest.api.client.MockEmployeeClient;
+import com.reliaquest.api.config.CacheProperties;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
 import com.reliaquest.api.exception.InvalidInputException;
 import com.reliaquest.api.exception.MockEmployeeServiceFailureException;
 import com.reliaquest.api.exception.NoEmployeesFoundException;
 import com.reliaquest.api.mapper.EmployeeMapper;
 import com.reliaquest.api.model.*;
+import com.reliaquest.api.store.InMemorySharedStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -17,13 +22,17 @@ import java.util.Random;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 public class EmployeeServiceTest {
 
     private MockEmployeeClient client;
     private EmployeeMapper mapper;
+    private RosterChangeBroadcaster broadcaster;
     private EmployeeService service;
     MockEmployee m1;
     MockEmployee m2;
@@ -32,7 +41,10 @@ public class EmployeeServiceTest {
     void setUp() {
         client = mock(MockEmployeeClient.class);
         mapper = mock(EmployeeMapper.class);
-        service = new EmployeeService(client, mapper);
+        broadcaster = mock(RosterChangeBroadcaster.class);
+        service = new EmployeeService(client, mapper, new EmployeeRosterCache(client, mapper, mock(RosterSnapshotFile.class), mock(SharedRosterFile.class),
+                new RosterVersions(new InMemorySharedStore(), new CacheProperties()),
+                new ConcurrentMapCacheManager()), broadcaster, RosterScanner.sequential());
         m1 = getMockEmployee("mike",100, null);
         m2 = getMockEmployee("tyson",200,null);
     }
@@ -54,6 +66,31 @@ public class EmployeeServiceTest {
         verify(client, times(1)).getEmployees();
     }
 
+    @Test
+    void getRosterSnapshot_unchangedDownstreamResponse_keepsVersion() {
+        Response<List<MockEmployee>> response = new Response<>(List.of(m1, m2), Response.Status.HANDLED,null);
+        when(client.getEmployees()).thenReturn(response);
+
+        RosterSnapshot first = service.getRosterSnapshot();
+        RosterSnapshot second = service.getRosterSnapshot();
+
+        assertSame(first, second);
+        verify(mapper, times(1)).map(m1);
+    }
+
+    @Test
+    void getRosterSnapshot_changedDownstreamResponse_bumpsVersion() {
+        when(client.getEmployees())
+                .thenReturn(new Response<>(List.of(m1), Response.Status.HANDLED,null))
+                .thenReturn(new Response<>(List.of(m1, m2), Response.Status.HANDLED,null));
+
+        RosterSnapshot first = service.getRosterSnapshot();
+        RosterSnapshot second = service.getRosterSnapshot();
+
+        assertTrue(second.version() > first.version());
+        assertEquals(2, second.employees().size());
+    }
+
     @Test
     void getAllEmployeesBySearch_CaseInsensitiveCheck() {
         when(client.getEmployees()).thenReturn(new Response<>(List.of(m1, m2), Response.Status.HANDLED,null));
@@ -64,6 +101,106 @@ public class EmployeeServiceTest {
         assertEquals("mike", out.get(0).name());
     }
 
+    @Test
+    void queryEmployees_pagesMatchesFromCachedRoster() {
+        MockEmployee m3 = getMockEmployee("mila", 300, null);
+        when(client.getEmployees()).thenReturn(new Response<>(List.of(m1, m2, m3), Response.Status.HANDLED,null));
+
+        EmployeePage first = service.queryEmployees(EmployeeQuery.builder().minSalary(100).namePrefix("MI").build(), 0, 1);
+        EmployeePage second = service.queryEmployees(EmployeeQuery.builder().minSalary(100).namePrefix("MI").build(), 1, 1);
+
+        assertEquals(2, first.totalElements());
+        assertEquals(List.of("mike"), first.content().stream().map(EmployeeDto::name).toList());
+        assertEquals(List.of("mila"), second.content().stream().map(EmployeeDto::name).toList());
+        assertTrue(service.queryEmployees(EmployeeQuery.builder().build(), 5, 10).content().isEmpty());
+        verify(client, times(1)).getEmployees();
+    }
+
+    @Test
+    void queryEmployees_invalidPagingOrRange_throwsInvalidInputException() {
+        EmployeeQuery any = EmployeeQuery.builder().build();
+
+        assertThrows(InvalidInputException.class, () -> service.queryEmployees(any, -1, 10));
+        assertThrows(InvalidInputException.class, () -> service.queryEmployees(any, 0, 0));
+        assertThrows(InvalidInputException.class, () -> service.queryEmployees(any, 0, EmployeeService.MAX_PAGE_SIZE + 1));
+        assertThrows(InvalidInputException.class,
+                () -> service.queryEmployees(EmployeeQuery.builder().minAge(40).maxAge(30).build(), 0, 10));
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    void searchEmployees_matchesQualifiedTerms() {
+        when(client.getEmployees()).thenReturn(new Response<>(List.of(m1, m2), Response.Status.HANDLED,null));
+
+        assertEquals(List.of("tyson"), service.searchEmployees("title:mr email:tys").stream().map(EmployeeDto::name).toList());
+        assertEquals(2, service.searchEmployees("MR").size());
+        assertThrows(InvalidInputException.class, () -> service.searchEmployees("age:30"));
+        assertThrows(InvalidInputException.class, () -> service.searchEmployees(""));
+    }
+
+    @Test
+    void getEmployeesBySearchPage_followsCursorToLastPage() {
+        MockEmployee m3 = getMockEmployee("mila", 300, null);
+        MockEmployee m4 = getMockEmployee("kim", 400, null);
+        when(client.getEmployees()).thenReturn(new Response<>(List.of(m1, m2, m3, m4), Response.Status.HANDLED,null));
+
+        EmployeeSearchPage first = service.getEmployeesBySearchPage("MI", 2, null);
+        EmployeeSearchPage second = service.getEmployeesBySearchPage("MI", 2, first.nextCursor());
+
+        assertEquals(List.of("mike", "mila"), first.content().stream().map(EmployeeDto::name).toList());
+        assertEquals(List.of("kim"), second.content().stream().map(EmployeeDto::name).toList());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void searchPage_cursorFromOlderRoster_resumesAfterLastEmployee() {
+        UUID mikeId = UUID.randomUUID();
+        MockEmployee mike = getMockEmployee("mike", 100, mikeId);
+        MockEmployee m3 = getMockEmployee("mila", 300, null);
+        RosterSnapshot older = RosterSnapshot.of(1, List.of(mapper.map(m2), mapper.map(mike), mapper.map(m3)));
+        String cursor = SearchCursor.after(older, 1).encode();
+        when(client.getEmployees()).thenReturn(new Response<>(List.of(mike, m3), Response.Status.HANDLED,null));
+
+        EmployeeSearchPage page = service.searchEmployeesPage("title:mr", 10, cursor);
+
+        assertEquals(List.of("mila"), page.content().stream().map(EmployeeDto::name).toList());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void searchPage_invalidCursorOrLimit_throwsInvalidInputException() {
+        UUID goneId = UUID.randomUUID();
+        when(client.getEmployees()).thenReturn(new Response<>(List.of(m1, m2), Response.Status.HANDLED,null));
+        String expired = new SearchCursor(-1, 1, goneId).encode();
+
+        assertThrows(InvalidInputException.class, () -> service.getEmployeesBySearchPage("mi", 10, "not a cursor"));
+        assertThrows(InvalidInputException.class, () -> service.getEmployeesBySearchPage("mi", 10, expired));
+        assertThrows(InvalidInputException.class,
+                () -> service.searchEmployeesPage("mi", EmployeeService.MAX_SEARCH_PAGE_SIZE + 1, null));
+    }
+
+    @Test
+    void searchPage_cursorWithNegativeRow_throwsInvalidInputException() {
+        MockEmployee m3 = getMockEmployee("mila", 300, null);
+        when(client.getEmployees()).thenReturn(new Response<>(List.of(m1, m2, m3), Response.Status.HANDLED,null));
+        SearchCursor issued = SearchCursor.decode(service.getEmployeesBySearchPage("mi", 1, null).nextCursor());
+        String crafted = new SearchCursor(issued.version(), -3, issued.lastId()).encode();
+
+        assertThrows(InvalidInputException.class, () -> service.getEmployeesBySearchPage("mi", 1, crafted));
+        assertThrows(InvalidInputException.class, () -> service.searchEmployeesPage("name:mi", 1, crafted));
+    }
+
+    @Test
+    void getEmployeesByFuzzySearch_toleratesTypos() {
+        when(client.getEmployees()).thenReturn(new Response<>(List.of(m1, m2), Response.Status.HANDLED,null));
+
+        List<EmployeeDto> out = service.getEmployeesByFuzzySearch("TYSNO", 5);
+
+        assertEquals(List.of("tyson"), out.stream().map(EmployeeDto::name).toList());
+        assertThrows(InvalidInputException.class, () -> service.getEmployeesByFuzzySearch(" ", 5));
+        assertThrows(InvalidInputException.class, () -> service.getEmployeesByFuzzySearch("mike", 0));
+    }
+
     @Test
     void getEmployeeById_invalidUUID_throwsBeforeMapping() {
         String invalidUUID = "1234";
@@ -135,6 +272,43 @@ public class EmployeeServiceTest {
         assertEquals(200, max);
     }
 
+    @Test
+    void getSalaryStatistics_summarisesCachedRoster() {
+        when(client.getEmployees()).thenReturn(new Response<>(List.of(m1, m2), Response.Status.HANDLED,null));
+
+        SalaryStatistics statistics = service.getSalaryStatistics();
+
+        assertEquals(2, statistics.count());
+        assertEquals(100, statistics.min());
+        assertEquals(200, statistics.max());
+        assertEquals(150.0, statistics.mean());
+        assertEquals(100, statistics.p50());
+        assertEquals(200, statistics.p99());
+    }
+
+    @Test
+    void getSalaryStatistics_noEmployees_returnsEmptySummary() {
+        when(client.getEmployees()).thenReturn(new Response<>(List.of(), Response.Status.HANDLED,null));
+
+        SalaryStatistics statistics = service.getSalaryStatistics();
+
+        assertEquals(0, statistics.count());
+        assertNull(statistics.max());
+    }
+
+    @Test
+    void getTitleAggregates_groupsCachedRosterByTitle() {
+        when(client.getEmployees()).thenReturn(new Response<>(List.of(m1, m2), Response.Status.HANDLED,null));
+
+        List<TitleAggregate> aggregates = service.getTitleAggregates();
+
+        assertEquals(1, aggregates.size());
+        assertEquals("mr", aggregates.get(0).title());
+        assertEquals(2, aggregates.get(0).headcount());
+        assertEquals(300, aggregates.get(0).salarySum());
+        assertEquals("tyson", aggregates.get(0).topEarners().get(0).name());
+    }
+
     @Test
     void getHighestSalary_noEmployees_throwsNoEmployeesFoundException() {
         when(client.getEmployees()).thenReturn(new Response<>(new ArrayList<>(),null, null));
@@ -157,6 +331,24 @@ public class EmployeeServiceTest {
         assertEquals("3", names.get(9));
     }
 
+    @Test
+    void getTopAndBottomEmployees_rankByRequestedColumn() {
+        MockEmployee m3 = getMockEmployee("mila", 300, null);
+        when(client.getEmployees()).thenReturn(new Response<>(List.of(m1, m2, m3), Response.Status.HANDLED,null));
+
+        assertEquals(List.of("mila", "tyson"), service.getTopEmployees("SALARY", 2).stream().map(EmployeeDto::name).toList());
+        assertEquals(List.of("mike"), service.getBottomEmployees("salary", 1).stream().map(EmployeeDto::name).toList());
+        assertEquals(3, service.getTopEmployees("age", 10).size());
+    }
+
+    @Test
+    void getTopEmployees_invalidColumnOrSize_throwsInvalidInputException() {
+        assertThrows(InvalidInputException.class, () -> service.getTopEmployees("name", 10));
+        assertThrows(InvalidInputException.class, () -> service.getBottomEmployees("salary", 0));
+        assertThrows(InvalidInputException.class,
+                () -> service.getTopEmployees("salary", EmployeeService.MAX_RANK_SIZE + 1));
+    }
+
     @Test
     void getTopTenSalaryEmployees_empty_throwsEmployeeNotFoundException() {
         when(client.getEmployees()).thenReturn(new Response<>(new ArrayList<>(), null,null));
@@ -179,6 +371,7 @@ public class EmployeeServiceTest {
 
         assertEquals("mike", dto.name());
         assertEquals(9999, dto.salary());
+        verify(broadcaster).created(dto);
     }
 
     @Test
@@ -192,6 +385,7 @@ public class EmployeeServiceTest {
         when(client.createEmployee(createMockEmployeeInput)).thenReturn(new Response<>(null, Response.Status.ERROR,"error"));
 
         assertThrows(MockEmployeeServiceFailureException.class, () -> service.createEmployee(createMockEmployeeInput));
+        verifyNoInteractions(broadcaster);
     }
 
     @Test
@@ -216,6 +410,7 @@ public class EmployeeServiceTest {
         var captor = ArgumentCaptor.forClass(DeleteMockEmployeeInput.class);
         verify(client).deleteEmployee(captor.capture());
         assertEquals("mike", captor.getValue().getName());
+        verify(broadcaster).deleted(any(EmployeeDto.class));
     }
 
     @Test
@@ -0,0 +1,125 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.CacheProperties;
+import com.reliaquest.api.mapper.EmployeeMapper;
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.RosterSnapshot;
+import com.reliaquest.api.store.InMemoryMessageBus;
+import com.reliaquest.api.store.InMemorySharedStore;
+import com.reliaquest.api.store.MessageBus;
+import com.reliaquest.api.store.SharedStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class RosterChangeBroadcasterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final SharedStore sharedStore = new InMemorySharedStore();
+    private final MessageBus messageBus = new InMemoryMessageBus();
+    private final EmployeeDto mike = EmployeeDto.builder().id(UUID.randomUUID()).name("mike").salary(100).build();
+
+    private Replica first;
+    private Replica second;
+
+    @BeforeEach
+    void setUp() {
+        first = new Replica();
+        second = new Replica();
+    }
+
+    @Test
+    void created_isAppliedByEveryReplica() {
+        EmployeeDto tyson = EmployeeDto.builder().id(UUID.randomUUID()).name("tyson").salary(200).build();
+
+        first.broadcaster.created(tyson);
+
+        assertEquals(List.of(mike, tyson), first.roster().employees());
+        assertEquals(List.of(mike, tyson), second.roster().employees());
+        assertNull(second.cacheManager.getCache("employeeSearchPages").get("mi"));
+    }
+
+    @Test
+    void deleted_isAppliedByEveryReplica() {
+        first.broadcaster.deleted(mike);
+
+        assertTrue(second.roster().employees().isEmpty());
+    }
+
+    @Test
+    void poll_afterMissedBroadcast_dropsCachedRoster() {
+        sharedStore.increment(new CacheProperties().getSharedKeyPrefix() + ":roster-generation");
+
+        second.broadcaster.pollGeneration();
+
+        assertNull(second.cacheManager.getCache("employees").get(SimpleKey.EMPTY));
+        assertNotNull(first.roster());
+    }
+
+    @Test
+    void gapInReceivedGenerations_dropsCachedRoster() {
+        sharedStore.increment(new CacheProperties().getSharedKeyPrefix() + ":roster-generation");
+
+        first.broadcaster.created(EmployeeDto.builder().id(UUID.randomUUID()).name("tyson").build());
+
+        assertNull(second.cacheManager.getCache("employees").get(SimpleKey.EMPTY));
+    }
+
+    @Test
+    void created_withSharedStoreDown_isStillAppliedLocally() {
+        SharedStore unreachable = new InMemorySharedStore() {
+            @Override
+            public long increment(String key) {
+                throw new IllegalStateException("shared store unreachable");
+            }
+        };
+        Replica replica = new Replica(unreachable);
+        EmployeeDto tyson = EmployeeDto.builder().id(UUID.randomUUID()).name("tyson").salary(200).build();
+
+        replica.broadcaster.created(tyson);
+
+        assertEquals(List.of(mike, tyson), replica.roster().employees());
+        assertEquals(List.of(mike), second.roster().employees());
+    }
+
+    @Test
+    void poll_withoutChanges_keepsCachedRoster() {
+        first.broadcaster.created(EmployeeDto.builder().id(UUID.randomUUID()).name("tyson").build());
+
+        second.broadcaster.pollGeneration();
+
+        assertEquals(2, second.roster().size());
+    }
+
+    private class Replica {
+
+        final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("employees", "employeeSearchPages");
+        final RosterChangeBroadcaster broadcaster;
+
+        Replica() {
+            this(sharedStore);
+        }
+
+        Replica(SharedStore sharedStore) {
+            EmployeeRosterCache rosterCache = mock(EmployeeRosterCache.class);
+            EmployeeRosterUpdater updater = new EmployeeRosterUpdater(cacheManager, new EmployeeMapper(), rosterCache);
+            cacheManager.getCache("employees").put(SimpleKey.EMPTY, RosterSnapshot.of(1, List.of(mike)));
+            cacheManager.getCache("employeeSearchPages").put("mi", List.of(mike));
+            broadcaster = new RosterChangeBroadcaster(messageBus, sharedStore, objectMapper, updater, new CacheProperties());
+            broadcaster.subscribe();
+        }
+
+        RosterSnapshot roster() {
+            return cacheManager.getCache("employees").get(SimpleKey.EMPTY, RosterSnapshot.class);
+        }
+    }
+}
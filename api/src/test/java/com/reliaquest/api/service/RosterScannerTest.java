@@ -0,0 +1,65 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.RankBy;
+import com.reliaquest.api.model.RosterSnapshot;
+import com.reliaquest.api.model.RowRanking;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RosterScannerTest {
+
+    private final RosterScanner parallel = new RosterScanner(1_000, 4);
+    private final RosterSnapshot roster = roster(20_000);
+
+    @AfterEach
+    void tearDown() {
+        parallel.shutdown();
+    }
+
+    @Test
+    void filter_aboveThreshold_matchesSequentialScanInOrder() {
+        IntPredicate evenSalary = row -> roster.salary(row) != RosterSnapshot.MISSING && roster.salary(row) % 2 == 0;
+
+        assertTrue(parallel.isParallel(roster));
+        assertArrayEquals(IntStream.range(0, roster.size()).filter(evenSalary).toArray(),
+                parallel.filter(roster, evenSalary));
+    }
+
+    @Test
+    void rank_aboveThreshold_matchesSequentialSelection() {
+        for (int n : new int[]{1, 10, 777}) {
+            for (RankBy by : RankBy.values()) {
+                assertArrayEquals(RowRanking.highest(roster, by, n), parallel.rank(roster, by, n, true), by + " " + n);
+                assertArrayEquals(RowRanking.lowest(roster, by, n), parallel.rank(roster, by, n, false), by + " " + n);
+            }
+        }
+    }
+
+    @Test
+    void smallRosters_andSequentialScanner_stayOnCallingThread() {
+        assertFalse(parallel.isParallel(roster(999)));
+        assertFalse(RosterScanner.sequential().isParallel(roster));
+        assertArrayEquals(new int[]{0, 1, 2}, RosterScanner.sequential().filter(roster(3), row -> true));
+    }
+
+    private static RosterSnapshot roster(int size) {
+        Random random = new Random(size);
+        List<EmployeeDto> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            // few distinct values, so rankings are decided by ties
+            employees.add(new EmployeeDto(UUID.randomUUID(), "e" + i,
+                    random.nextInt(50) == 0 ? null : random.nextInt(500) * 1000, 16 + random.nextInt(50), "t", null));
+        }
+        return RosterSnapshot.of(1, employees);
+    }
+}
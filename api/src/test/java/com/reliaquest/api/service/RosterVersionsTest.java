@@ -0,0 +1,55 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.store.InMemorySharedStore;
+import com.reliaquest.api.store.SharedStore;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RosterVersionsTest {
+
+    private final Clock clock = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    void next_replicasSharingTheStore_neverHandOutTheSameVersion() {
+        SharedStore store = new InMemorySharedStore();
+        RosterVersions first = new RosterVersions(store, "test", clock);
+        RosterVersions second = new RosterVersions(store, "test", clock);
+
+        Set<Long> versions = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(versions.add(first.next()));
+            assertTrue(versions.add(second.next()));
+        }
+    }
+
+    @Test
+    void next_lostCounter_staysAheadOfEarlierVersions() {
+        long before = new RosterVersions(new InMemorySharedStore(), "test", clock).next();
+
+        long after = new RosterVersions(new InMemorySharedStore(), "test", Clock.offset(clock,
+                Duration.ofMillis(1))).next();
+
+        assertTrue(after > before);
+    }
+
+    @Test
+    void next_storeUnreachable_stillHandsOutAVersion() {
+        SharedStore store = mock(SharedStore.class);
+        when(store.increment(anyString())).thenThrow(new IllegalStateException("down"));
+
+        long version = new RosterVersions(store, "test", clock).next();
+
+        assertEquals(clock.millis(), version >>> RosterVersions.SEQUENCE_BITS);
+    }
+}
@@ -0,0 +1,105 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.exception.MockEmployeeServiceFailureException;
+import com.reliaquest.api.exception.MockEmployeeServiceUnavailableException;
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.RosterSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RosterWarmUpTest {
+
+    private EmployeeService employeeService;
+    private MutableClock clock;
+    private List<Long> sleeps;
+    private RosterWarmUp warmUp;
+    private final RosterSnapshot roster = RosterSnapshot.of(1, List.of(
+            EmployeeDto.builder().id(UUID.randomUUID()).name("mike").salary(100).build()));
+
+    @BeforeEach
+    void setUp() {
+        employeeService = mock(EmployeeService.class);
+        clock = new MutableClock();
+        sleeps = new ArrayList<>();
+        warmUp = new RosterWarmUp(employeeService, Duration.ofMinutes(1), clock, millis -> {
+            sleeps.add(millis);
+            clock.advance(Duration.ofMillis(millis));
+        });
+    }
+
+    @Test
+    void health_outOfServiceUntilWarm() {
+        assertEquals(Status.OUT_OF_SERVICE, warmUp.health().getStatus());
+        when(employeeService.getRosterSnapshot()).thenReturn(roster);
+
+        warmUp.warmUp();
+
+        assertEquals(RosterWarmUp.State.WARM, warmUp.getState());
+        assertEquals(Status.UP, warmUp.health().getStatus());
+        verify(employeeService).getTopTenSalaryEmployees();
+        assertTrue(sleeps.isEmpty());
+    }
+
+    @Test
+    void warmUp_retriesWithBackoffHonouringRetryAfter() {
+        when(employeeService.getRosterSnapshot())
+                .thenThrow(new MockEmployeeServiceUnavailableException("cooling down", Duration.ofSeconds(20)))
+                .thenThrow(new MockEmployeeServiceFailureException("error"))
+                .thenReturn(roster.asStale())
+                .thenReturn(roster);
+
+        warmUp.warmUp();
+
+        assertEquals(RosterWarmUp.State.WARM, warmUp.getState());
+        assertEquals(3, sleeps.size());
+        assertTrue(sleeps.get(0) >= 20_000);
+        assertTrue(sleeps.get(1) >= 1_000 && sleeps.get(1) <= 2_000);
+    }
+
+    @Test
+    void warmUp_givesUpAtTimeoutAndReportsReady() {
+        when(employeeService.getRosterSnapshot()).thenThrow(new MockEmployeeServiceFailureException("error"));
+
+        warmUp.warmUp();
+
+        assertEquals(RosterWarmUp.State.TIMED_OUT, warmUp.getState());
+        assertEquals(Status.UP, warmUp.health().getStatus());
+        assertTrue(sleeps.stream().mapToLong(Long::longValue).sum() <= Duration.ofMinutes(1).toMillis());
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.reliaquest.api.web;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long MILLIS = 1_000_000;
+
+    @Test
+    void tryAcquire_refusesBeyondLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, 1.5, 100);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        limit.onIgnore();
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    void risingLatency_shrinksLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(40, 2, 100, 1.5, 1000);
+        saturate(limit, 10 * MILLIS, 5);
+        int before = limit.getLimit();
+
+        saturate(limit, 100 * MILLIS, 20);
+
+        assertTrue(limit.getLimit() < before / 2, "limit " + limit.getLimit() + " from " + before);
+        assertTrue(limit.getLimit() >= 2);
+    }
+
+    @Test
+    void steadyLatencyUnderLoad_growsLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 100, 1.5, 1000);
+
+        saturate(limit, 10 * MILLIS, 20);
+
+        assertTrue(limit.getLimit() > 10);
+        assertTrue(limit.getLimit() <= 100);
+    }
+
+    @Test
+    void lightLoad_doesNotGrowLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 100, 1.5, 1000);
+
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.onSuccess(10 * MILLIS);
+        }
+
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    void onDropped_cutsLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 2, 100, 1.5, 1000);
+
+        assertTrue(limit.tryAcquire());
+        limit.onDropped();
+
+        assertEquals(18, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    /**
+     * Fills the limit, then completes every request with the given latency, for the given number of rounds.
+     */
+    private static void saturate(AdaptiveConcurrencyLimit limit, long rttNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limit.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limit.onSuccess(rttNanos);
+            }
+        }
+    }
+}
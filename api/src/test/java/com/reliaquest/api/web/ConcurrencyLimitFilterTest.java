@@ -0,0 +1,82 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.config.ConcurrencyLimitProperties;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties(),
+            Jackson2ObjectMapperBuilder.json().build());
+
+    @Test
+    void saturatedDownstreamBulkhead_shedsDownstreamButNotCachedEndpoints() throws Exception {
+        AdaptiveConcurrencyLimit downstream = filter.bulkheadFor(request("GET", "/api/v1/employee/4a3a170b-22cd-4ac2-aad1-9bb5b34a1507"));
+        assertTrue(downstream.tryAcquire());
+
+        MockHttpServletResponse shed = perform(request("DELETE", "/api/v1/employee/4a3a170b-22cd-4ac2-aad1-9bb5b34a1507"));
+        MockHttpServletResponse cached = perform(request("GET", "/api/v1/employee/search/mi"));
+
+        assertEquals(503, shed.getStatus());
+        assertEquals("1", shed.getHeader("Retry-After"));
+        assertTrue(shed.getContentAsString().contains("SERVICE_UNAVAILABLE"));
+        assertEquals(200, cached.getStatus());
+    }
+
+    @Test
+    void bulkheadFor_classifiesEndpoints() {
+        AdaptiveConcurrencyLimit cached = filter.bulkheadFor(request("GET", "/api/v1/employee"));
+
+        assertSame(cached, filter.bulkheadFor(request("GET", "/api/v1/employee/search/mi")));
+        assertSame(cached, filter.bulkheadFor(request("GET", "/api/v1/employee/highestSalary")));
+        assertSame(cached, filter.bulkheadFor(request("GET", "/api/v1/employee/topTenHighestEarningEmployeeNames")));
+        AdaptiveConcurrencyLimit downstream = filter.bulkheadFor(request("POST", "/api/v1/employee"));
+        assertNotSame(cached, downstream);
+        assertSame(downstream, filter.bulkheadFor(request("GET", "/api/v1/employee/4a3a170b-22cd-4ac2-aad1-9bb5b34a1507")));
+    }
+
+    @Test
+    void failingRequest_releasesItsSlot() throws Exception {
+        FilterChain failing = (request, response) -> {
+            throw new IllegalStateException("boom");
+        };
+        MockHttpServletRequest request = request("POST", "/api/v1/employee");
+
+        assertThrows(IllegalStateException.class, () -> filter.doFilter(request, new MockHttpServletResponse(), failing));
+
+        assertEquals(0, filter.bulkheadFor(request).getInFlight());
+    }
+
+    @Test
+    void otherPaths_areNotLimited() throws Exception {
+        AdaptiveConcurrencyLimit cached = filter.bulkheadFor(request("GET", "/api/v1/employee"));
+        while (cached.tryAcquire()) {
+            // fill the bulkhead
+        }
+
+        assertEquals(200, perform(request("GET", "/actuator/health")).getStatus());
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+
+    private static ConcurrencyLimitProperties properties() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setDownstream(new ConcurrencyLimitProperties.Spec(1, 1, 1));
+        properties.setCached(new ConcurrencyLimitProperties.Spec(2, 2, 2));
+        return properties;
+    }
+}
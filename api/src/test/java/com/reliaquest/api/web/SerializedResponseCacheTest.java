@@ -0,0 +1,92 @@
+package com.reliaquest.api.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.RosterSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SerializedResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final EmployeeDto clark = EmployeeDto.builder().id(UUID.randomUUID()).name("clark").salary(100).build();
+
+    @Test
+    void get_sameVersion_serializedOnce() {
+        SerializedResponseCache cache = new SerializedResponseCache(objectMapper, true, 1024, 4, 16);
+        RosterSnapshot roster = RosterSnapshot.of(1, List.of(clark));
+
+        SerializedResponseCache.SerializedBody first = cache.get(roster);
+        SerializedResponseCache.SerializedBody second = cache.get(roster.asStale());
+
+        assertSame(first, second);
+        assertNull(first.gzip(), "small bodies are not worth compressing");
+    }
+
+    @Test
+    void get_otherVersion_serializedSeparately() throws Exception {
+        SerializedResponseCache cache = new SerializedResponseCache(objectMapper, true, 1024, 4, 16);
+
+        SerializedResponseCache.SerializedBody first = cache.get(RosterSnapshot.of(1, List.of(clark)));
+        SerializedResponseCache.SerializedBody second = cache.get(RosterSnapshot.of(2, List.of()));
+
+        assertNotSame(first, second);
+        assertEquals(0, objectMapper.readValue(second.json(), List.class).size());
+    }
+
+    @Test
+    void gzip_largeBody_compressedOnceAndRoundTrips() throws Exception {
+        SerializedResponseCache cache = new SerializedResponseCache(objectMapper, true, 64, 4, 16);
+        RosterSnapshot roster = RosterSnapshot.of(1, IntStream.range(0, 100)
+                .mapToObj(i -> EmployeeDto.builder().id(UUID.randomUUID()).name("name" + i).salary(i).build())
+                .toList());
+
+        SerializedResponseCache.SerializedBody serialized = cache.get(roster);
+
+        assertSame(serialized.gzip(), serialized.gzip());
+        assertTrue(serialized.gzip().length < serialized.json().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(serialized.gzip()))) {
+            assertArrayEquals(serialized.json(), in.readAllBytes());
+        }
+        assertEquals(100, objectMapper.readValue(serialized.json(), List.class).size());
+    }
+
+    @Test
+    void get_sameCachedBody_serializedOncePerKey() throws Exception {
+        SerializedResponseCache cache = new SerializedResponseCache(objectMapper, true, 1024, 4, 16);
+        List<String> topTen = List.of("clark", "lois");
+
+        SerializedResponseCache.SerializedBody first = cache.get("/topTen", topTen);
+        SerializedResponseCache.SerializedBody second = cache.get("/topTen", topTen);
+
+        assertSame(first, second);
+        assertNotSame(first, cache.get("/other", topTen));
+        assertEquals(topTen, objectMapper.readValue(first.json(), List.class));
+    }
+
+    @Test
+    void get_newBodyForSameKey_serializedAgain() throws Exception {
+        SerializedResponseCache cache = new SerializedResponseCache(objectMapper, true, 1024, 4, 16);
+        SerializedResponseCache.SerializedBody before = cache.get("/topTen", List.of("clark"));
+
+        // the roster changed, so the derived cache hands out a new instance
+        SerializedResponseCache.SerializedBody after = cache.get("/topTen", List.of("lois"));
+
+        assertNotSame(before, after);
+        assertEquals(List.of("lois"), objectMapper.readValue(after.json(), List.class));
+    }
+
+    @Test
+    void gzip_disabled_neverCompresses() {
+        SerializedResponseCache cache = new SerializedResponseCache(objectMapper, false, 0, 4, 16);
+
+        assertNull(cache.get(RosterSnapshot.of(1, List.of(clark))).gzip());
+    }
+}
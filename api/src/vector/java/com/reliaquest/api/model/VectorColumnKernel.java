@@ -0,0 +1,91 @@
+package com.reliaquest.api.model;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD implementation on the incubating JDK Vector API, processing as many ints per instruction as the CPU's widest
+ * vector registers hold (8 with AVX2, 16 with AVX-512). Only built with {@code -Pvector} and only loaded by
+ * {@link ColumnKernels} when the {@code jdk.incubator.vector} module is present, so the rest of the code never links
+ * against it.
+ */
+final class VectorColumnKernel implements ColumnKernel {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public int max(int[] column) {
+        IntVector max = IntVector.broadcast(SPECIES, RosterSnapshot.MISSING);
+        int row = 0;
+        for (int bound = SPECIES.loopBound(column.length); row < bound; row += SPECIES.length()) {
+            max = max.max(IntVector.fromArray(SPECIES, column, row));
+        }
+        int result = max.reduceLanes(VectorOperators.MAX);
+        for (; row < column.length; row++) {
+            result = Math.max(result, column[row]);
+        }
+        return result;
+    }
+
+    @Override
+    public int min(int[] column, int floor) {
+        IntVector min = IntVector.broadcast(SPECIES, Integer.MAX_VALUE);
+        int row = 0;
+        for (int bound = SPECIES.loopBound(column.length); row < bound; row += SPECIES.length()) {
+            IntVector values = IntVector.fromArray(SPECIES, column, row);
+            // lanes below the floor are replaced by the neutral element before taking the minimum
+            min = min.min(values.blend(Integer.MAX_VALUE, values.compare(VectorOperators.LT, floor)));
+        }
+        int result = min.reduceLanes(VectorOperators.MIN);
+        for (; row < column.length; row++) {
+            if (column[row] >= floor && column[row] < result) {
+                result = column[row];
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int countInRange(int[] column, int min, int max) {
+        int low = Math.max(min, RosterSnapshot.MISSING + 1);
+        int count = 0;
+        int row = 0;
+        for (int bound = SPECIES.loopBound(column.length); row < bound; row += SPECIES.length()) {
+            count += inRange(IntVector.fromArray(SPECIES, column, row), low, max).trueCount();
+        }
+        for (; row < column.length; row++) {
+            if (column[row] >= low && column[row] <= max) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int[] rowsInRange(int[] column, int min, int max) {
+        int low = Math.max(min, RosterSnapshot.MISSING + 1);
+        int[] rows = new int[countInRange(column, low, max)];
+        int count = 0;
+        int row = 0;
+        for (int bound = SPECIES.loopBound(column.length); row < bound; row += SPECIES.length()) {
+            // one bit per lane; walk the set bits instead of testing every lane
+            long lanes = inRange(IntVector.fromArray(SPECIES, column, row), low, max).toLong();
+            while (lanes != 0) {
+                rows[count++] = row + Long.numberOfTrailingZeros(lanes);
+                lanes &= lanes - 1;
+            }
+        }
+        for (; row < column.length; row++) {
+            if (column[row] >= low && column[row] <= max) {
+                rows[count++] = row;
+            }
+        }
+        return rows;
+    }
+
+    private static VectorMask<Integer> inRange(IntVector values, int low, int max) {
+        return values.compare(VectorOperators.GE, low).and(values.compare(VectorOperators.LE, max));
+    }
+}
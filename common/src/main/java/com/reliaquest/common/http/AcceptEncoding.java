@@ -0,0 +1,55 @@
+package com.reliaquest.common.http;
+
+import java.util.Collection;
+
+/**
+ * Reads {@code Accept-Encoding} request headers, e.g. {@code gzip;q=0.8, br, *;q=0}. A coding is accepted when it is
+ * listed, or covered by {@code *}, with a quality above zero; a listed coding takes precedence over {@code *}.
+ * Codings are matched as whole tokens, ignoring case, so {@code gzip;q=0} refuses gzip and {@code x-gzip} does not
+ * stand for it.
+ */
+public final class AcceptEncoding {
+
+    private static final String WILDCARD = "*";
+
+    private AcceptEncoding() {}
+
+    /**
+     * @param headerValues every value of the request's {@code Accept-Encoding} headers
+     */
+    public static boolean accepts(Collection<String> headerValues, String coding) {
+        double listed = -1;
+        double wildcard = -1;
+        for (String headerValue : headerValues) {
+            for (String element : headerValue.split(",")) {
+                final var parameters = element.split(";");
+                final var name = parameters[0].trim();
+                if (name.equalsIgnoreCase(coding)) {
+                    listed = Math.max(listed, quality(parameters));
+                } else if (name.equals(WILDCARD)) {
+                    wildcard = Math.max(wildcard, quality(parameters));
+                }
+            }
+        }
+        return (listed >= 0 ? listed : wildcard) > 0;
+    }
+
+    /*
+     * The q parameter, 1 when there is none; an unreadable one refuses the coding.
+     */
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            final var parameter = parameters[i];
+            final int separator = parameter.indexOf('=');
+            if (separator > 0 && parameter.substring(0, separator).trim().equalsIgnoreCase("q")) {
+                try {
+                    final double quality = Double.parseDouble(parameter.substring(separator + 1).trim());
+                    return quality >= 0 && quality <= 1 ? quality : 0;
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,39 @@
+package com.reliaquest.common.http;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AcceptEncodingTest {
+
+    @Test
+    void accepts_listedCoding_ignoringCaseAndWhitespace() {
+        assertTrue(AcceptEncoding.accepts(List.of("gzip"), "gzip"));
+        assertTrue(AcceptEncoding.accepts(List.of("br , GZIP ;q=0.5"), "gzip"));
+        assertTrue(AcceptEncoding.accepts(List.of("br", "gzip"), "gzip"));
+    }
+
+    @Test
+    void accepts_zeroQuality_refusesCoding() {
+        assertFalse(AcceptEncoding.accepts(List.of("gzip;q=0"), "gzip"));
+        assertFalse(AcceptEncoding.accepts(List.of("gzip; q=0.000, br"), "gzip"));
+        assertFalse(AcceptEncoding.accepts(List.of("gzip;q=nope"), "gzip"));
+    }
+
+    @Test
+    void accepts_matchesWholeTokensOnly() {
+        assertFalse(AcceptEncoding.accepts(List.of("x-gzip"), "gzip"));
+        assertFalse(AcceptEncoding.accepts(List.of("gzipped, deflate"), "gzip"));
+        assertFalse(AcceptEncoding.accepts(List.of(), "gzip"));
+    }
+
+    @Test
+    void accepts_wildcard_coversUnlistedCodingsOnly() {
+        assertTrue(AcceptEncoding.accepts(List.of("*"), "gzip"));
+        assertFalse(AcceptEncoding.accepts(List.of("*;q=0"), "gzip"));
+        assertFalse(AcceptEncoding.accepts(List.of("gzip;q=0, *"), "gzip"));
+        assertTrue(AcceptEncoding.accepts(List.of("gzip, *;q=0"), "gzip"));
+    }
+}
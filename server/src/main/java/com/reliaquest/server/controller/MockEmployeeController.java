@@ -3,32 +3,87 @@ package com.reliaquest.server.controller;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeePage;
+import com.reliaquest.server.model.MockEmployeeQuery;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.web.EncodedRoster;
+import com.reliaquest.server.web.EncodedRosterCache;
+import com.reliaquest.server.web.MockEmployeeEventStream;
 import jakarta.validation.Valid;
-import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final MockEmployeeService mockEmployeeService;
+    private final MockEmployeeEventStream mockEmployeeEventStream;
+    private final EncodedRosterCache encodedRosterCache;
 
+    /*
+     * The encoded roster carries the version it was copied at, so the ETag always matches the body; Spring answers a
+     * matching If-None-Match with 304 before anything is written. Besides JSON, the body is available as Smile when
+     * asked for with Accept: application/x-jackson-smile. Either is written pre-encoded by EncodedRosterBodyAdvice.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<EncodedRoster> getEmployees() {
+        final var roster = encodedRosterCache.current();
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(roster.version()))
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .body(roster);
+    }
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return mockEmployeeEventStream.subscribe(lastEventId);
+    }
+
+    /*
+     * Filtered, paged view of the roster, e.g. /query?title=engineer&minSalary=200000, answered from indexes.
+     */
+    @GetMapping("/query")
+    public ResponseEntity<Response<MockEmployeePage>> queryEmployees(
+            @RequestParam(name = "minSalary", required = false) Integer minSalary,
+            @RequestParam(name = "maxSalary", required = false) Integer maxSalary,
+            @RequestParam(name = "minAge", required = false) Integer minAge,
+            @RequestParam(name = "maxAge", required = false) Integer maxAge,
+            @RequestParam(name = "title", required = false) String title,
+            @RequestParam(name = "namePrefix", required = false) String namePrefix,
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "size", defaultValue = "50") int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("page must not be negative and size must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        final var query = MockEmployeeQuery.builder()
+                .minSalary(minSalary)
+                .maxSalary(maxSalary)
+                .minAge(minAge)
+                .maxAge(maxAge)
+                .title(title)
+                .namePrefix(namePrefix)
+                .build();
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.query(query, page, size)));
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,31 @@
+package com.reliaquest.server.model;
+
+import lombok.NonNull;
+
+/**
+ * Roster change applied by {@link com.reliaquest.server.service.MockEmployeeService}. The version is strictly increasing
+ * and doubles as the SSE event id, so subscribers can resume from the last event they have seen.
+ */
+public record MockEmployeeEvent(long version, @NonNull Type type, MockEmployee employee) {
+
+    public static MockEmployeeEvent created(long version, @NonNull MockEmployee employee) {
+        return new MockEmployeeEvent(version, Type.CREATED, employee);
+    }
+
+    public static MockEmployeeEvent deleted(long version, @NonNull MockEmployee employee) {
+        return new MockEmployeeEvent(version, Type.DELETED, employee);
+    }
+
+    /*
+     * Tells a subscriber that it may have missed changes and has to refetch the full roster.
+     */
+    public static MockEmployeeEvent reset(long version) {
+        return new MockEmployeeEvent(version, Type.RESET, null);
+    }
+
+    public enum Type {
+        CREATED,
+        DELETED,
+        RESET
+    }
+}
@@ -0,0 +1,8 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * One page of query results, in roster order; {@code totalElements} counts the matches across all pages.
+ */
+public record MockEmployeePage(List<MockEmployee> content, int page, int size, int totalElements) {}
@@ -0,0 +1,20 @@
+package com.reliaquest.server.model;
+
+import lombok.Builder;
+
+/**
+ * Filter over the mock employees; every criterion is optional and all given ones must match. Ranges are inclusive, the
+ * title and the name prefix are compared ignoring case.
+ */
+@Builder
+public record MockEmployeeQuery(
+        Integer minSalary, Integer maxSalary, Integer minAge, Integer maxAge, String title, String namePrefix) {
+
+    public boolean hasSalaryRange() {
+        return minSalary != null || maxSalary != null;
+    }
+
+    public boolean hasAgeRange() {
+        return minAge != null || maxAge != null;
+    }
+}
@@ -0,0 +1,8 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * Immutable copy of the roster as of {@code version}.
+ */
+public record MockEmployeeRoster(long version, List<MockEmployee> employees) {}
@@ -0,0 +1,207 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeQuery;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable indexes over a copy of the roster: sorted on salary, age and lower-cased name, plus a hash index on
+ * lower-cased title holding each title's employees sorted by salary, so "title and salary range" is a lookup and two
+ * binary searches. A query walks the narrowest index that applies and checks the remaining criteria per employee.
+ */
+class MockEmployeeIndex {
+
+    private final MockEmployee[] employees;
+    private final SortedPositions bySalary;
+    private final SortedPositions byAge;
+    private final String[] sortedNames;
+    private final int[] positionsByName;
+    private final Map<String, SortedPositions> bySalaryPerTitle;
+
+    MockEmployeeIndex(List<MockEmployee> roster) {
+        this.employees = roster.toArray(MockEmployee[]::new);
+        final int[] all = IntStream.range(0, employees.length).toArray();
+        this.bySalary = SortedPositions.of(employees, all, MockEmployee::getSalary);
+        this.byAge = SortedPositions.of(employees, all, MockEmployee::getAge);
+
+        this.positionsByName = IntStream.range(0, employees.length)
+                .filter(position -> employees[position].getName() != null)
+                .boxed()
+                .sorted(Comparator.comparing(position -> lowerCase(employees[position].getName())))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        this.sortedNames = Arrays.stream(positionsByName)
+                .mapToObj(position -> lowerCase(employees[position].getName()))
+                .toArray(String[]::new);
+
+        final Map<String, IntStream.Builder> positionsPerTitle = new HashMap<>();
+        for (int position = 0; position < employees.length; position++) {
+            final var title = lowerCase(employees[position].getTitle());
+            if (title != null) {
+                positionsPerTitle
+                        .computeIfAbsent(title, ignored -> IntStream.builder())
+                        .add(position);
+            }
+        }
+        this.bySalaryPerTitle = new HashMap<>();
+        positionsPerTitle.forEach((title, positions) -> bySalaryPerTitle.put(
+                title,
+                SortedPositions.of(employees, positions.build().toArray(), MockEmployee::getSalary)));
+    }
+
+    /**
+     * @return the matching employees in roster order
+     */
+    List<MockEmployee> query(MockEmployeeQuery query) {
+        final var title = lowerCase(query.title());
+        final var namePrefix = lowerCase(query.namePrefix());
+        final int minSalary = lowerBound(query.minSalary());
+        final int maxSalary = upperBound(query.maxSalary());
+        final int minAge = lowerBound(query.minAge());
+        final int maxAge = upperBound(query.maxAge());
+
+        // narrowest candidate range among the indexes the query can use; null candidates mean the whole roster
+        int[] candidates = null;
+        int from = 0;
+        int to = employees.length;
+        if (title != null) {
+            final var positions = bySalaryPerTitle.get(title);
+            if (positions == null) {
+                return List.of();
+            }
+            candidates = positions.positions;
+            from = query.hasSalaryRange() ? positions.firstAtLeast(minSalary) : 0;
+            to = query.hasSalaryRange() ? positions.firstAbove(maxSalary) : positions.positions.length;
+        } else if (query.hasSalaryRange()) {
+            candidates = bySalary.positions;
+            from = bySalary.firstAtLeast(minSalary);
+            to = bySalary.firstAbove(maxSalary);
+        }
+        if (query.hasAgeRange()) {
+            final int ageFrom = byAge.firstAtLeast(minAge);
+            final int ageTo = byAge.firstAbove(maxAge);
+            if (candidates == null || ageTo - ageFrom < to - from) {
+                candidates = byAge.positions;
+                from = ageFrom;
+                to = ageTo;
+            }
+        }
+        if (namePrefix != null) {
+            final int nameFrom = firstNameAtLeast(namePrefix);
+            final int nameTo = firstNameAtLeast(namePrefix + Character.MAX_VALUE);
+            if (candidates == null || nameTo - nameFrom < to - from) {
+                candidates = positionsByName;
+                from = nameFrom;
+                to = nameTo;
+            }
+        }
+
+        final int[] source = candidates;
+        return IntStream.range(from, Math.max(from, to))
+                .map(i -> source == null ? i : source[i])
+                .filter(position -> matches(employees[position], query, title, namePrefix))
+                .sorted()
+                .mapToObj(position -> employees[position])
+                .toList();
+    }
+
+    private static boolean matches(MockEmployee employee, MockEmployeeQuery query, String title, String namePrefix) {
+        if (query.hasSalaryRange()
+                && !within(employee.getSalary(), lowerBound(query.minSalary()), upperBound(query.maxSalary()))) {
+            return false;
+        }
+        if (query.hasAgeRange() && !within(employee.getAge(), lowerBound(query.minAge()), upperBound(query.maxAge()))) {
+            return false;
+        }
+        if (title != null && !title.equals(lowerCase(employee.getTitle()))) {
+            return false;
+        }
+        final var name = lowerCase(employee.getName());
+        return namePrefix == null || (name != null && name.startsWith(namePrefix));
+    }
+
+    private int firstNameAtLeast(String value) {
+        int low = 0;
+        int high = sortedNames.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (sortedNames[mid].compareTo(value) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static boolean within(Integer value, int min, int max) {
+        return value != null && value >= min && value <= max;
+    }
+
+    private static int lowerBound(Integer min) {
+        return min == null ? Integer.MIN_VALUE : min;
+    }
+
+    private static int upperBound(Integer max) {
+        return max == null ? Integer.MAX_VALUE : max;
+    }
+
+    private static String lowerCase(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    /*
+     * Positions ordered by an int key; employees without a value are left out.
+     */
+    private static final class SortedPositions {
+
+        private final int[] keys;
+        private final int[] positions;
+
+        private SortedPositions(int[] keys, int[] positions) {
+            this.keys = keys;
+            this.positions = positions;
+        }
+
+        static SortedPositions of(MockEmployee[] employees, int[] candidates, Function<MockEmployee, Integer> key) {
+            // key in the high half and position in the low half, so a primitive sort orders by key, then position
+            final long[] packed = Arrays.stream(candidates)
+                    .filter(position -> key.apply(employees[position]) != null)
+                    .mapToLong(position -> ((long) key.apply(employees[position]) << 32) | position)
+                    .sorted()
+                    .toArray();
+            final int[] keys = new int[packed.length];
+            final int[] positions = new int[packed.length];
+            for (int i = 0; i < packed.length; i++) {
+                keys[i] = (int) (packed[i] >> 32);
+                positions[i] = (int) packed[i];
+            }
+            return new SortedPositions(keys, positions);
+        }
+
+        int firstAtLeast(int key) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (keys[mid] < key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        int firstAbove(int key) {
+            return key == Integer.MAX_VALUE ? keys.length : firstAtLeast(key + 1);
+        }
+    }
+}
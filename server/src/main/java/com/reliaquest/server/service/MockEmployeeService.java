@@ -4,15 +4,21 @@ import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeEvent;
+import com.reliaquest.server.model.MockEmployeePage;
+import com.reliaquest.server.model.MockEmployeeQuery;
+import com.reliaquest.server.model.MockEmployeeRoster;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -22,9 +28,33 @@ public class MockEmployeeService {
 
     private final Faker faker;
 
+    private final ApplicationEventPublisher eventPublisher;
+
     @Getter
     private final List<MockEmployee> mockEmployees;
 
+    /*
+     * Seeded from the clock so versions keep increasing across restarts and a subscriber resuming with an id from a
+     * previous run is never mistaken for being up to date.
+     */
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    /*
+     * Rebuilt by the first query after a change; writes only drop it, so bursts of changes cost a single rebuild.
+     */
+    private volatile MockEmployeeIndex index;
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    /*
+     * Taken under the writers' lock, so the copy is exactly the roster of the version it carries.
+     */
+    public synchronized MockEmployeeRoster getRoster() {
+        return new MockEmployeeRoster(version.get(), List.copyOf(mockEmployees));
+    }
+
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
         return mockEmployees.stream()
                 .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
@@ -32,24 +62,48 @@ public class MockEmployeeService {
                 .findFirst();
     }
 
-    public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
+    public MockEmployeePage query(@NonNull MockEmployeeQuery query, int page, int size) {
+        final var matches = index().query(query);
+        final int from = (int) Math.min(matches.size(), (long) page * size);
+        final int to = (int) Math.min(matches.size(), (long) from + size);
+        return new MockEmployeePage(matches.subList(from, to), page, size, matches.size());
+    }
+
+    private MockEmployeeIndex index() {
+        final var current = index;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (index == null) {
+                index = new MockEmployeeIndex(mockEmployees);
+            }
+            return index;
+        }
+    }
+
+    public synchronized MockEmployee create(@NonNull CreateMockEmployeeInput input) {
         final var mockEmployee = MockEmployee.from(
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
         mockEmployees.add(mockEmployee);
+        index = null;
         log.debug("Added employee: {}", mockEmployee);
+        eventPublisher.publishEvent(MockEmployeeEvent.created(version.incrementAndGet(), mockEmployee));
         return mockEmployee;
     }
 
-    public boolean delete(@NonNull DeleteMockEmployeeInput input) {
+    public synchronized boolean delete(@NonNull DeleteMockEmployeeInput input) {
         final var mockEmployee = mockEmployees.stream()
                 .filter(employee -> Objects.nonNull(employee.getName())
                         && employee.getName().equalsIgnoreCase(input.getName()))
                 .findFirst();
         if (mockEmployee.isPresent()) {
             mockEmployees.remove(mockEmployee.get());
+            index = null;
             log.debug("Removed employee: {}", mockEmployee.get());
+            eventPublisher.publishEvent(MockEmployeeEvent.deleted(version.incrementAndGet(), mockEmployee.get()));
             return true;
         }
 
@@ -0,0 +1,73 @@
+package com.reliaquest.server.web;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeRoster;
+import com.reliaquest.server.model.Response;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.springframework.http.MediaType;
+
+/**
+ * One version of the roster together with its response bodies, each encoded on first use by the
+ * {@link EncodedRosterCache} and then served as is until the roster changes. Should the roster ever reach a message
+ * converter itself, it serializes as the {@link Response} it stands for.
+ */
+public final class EncodedRoster {
+
+    private final MockEmployeeRoster roster;
+    private final Map<Variant, EncodedBody> bodies = new ConcurrentHashMap<>();
+
+    EncodedRoster(MockEmployeeRoster roster) {
+        this.roster = roster;
+    }
+
+    public long version() {
+        return roster.version();
+    }
+
+    @JsonValue
+    public Response<List<MockEmployee>> response() {
+        return Response.handledWith(roster.employees());
+    }
+
+    EncodedBody body(Variant variant, Function<Variant, EncodedBody> encoder) {
+        return bodies.computeIfAbsent(variant, encoder);
+    }
+
+    public enum Format {
+        JSON(MediaType.APPLICATION_JSON),
+        SMILE(new MediaType("application", "x-jackson-smile"));
+
+        private final MediaType mediaType;
+
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        /*
+         * Null for content types that are neither, which are left to the message converters.
+         */
+        public static Format of(MediaType contentType) {
+            if (SMILE.mediaType.isCompatibleWith(contentType)) {
+                return SMILE;
+            }
+            return JSON.mediaType.isCompatibleWith(contentType) ? JSON : null;
+        }
+    }
+
+    record Variant(Format format, boolean gzip) {}
+
+    /**
+     * @param gzip whether {@code bytes} are gzip encoded; bodies too small to be worth it never are
+     * @param file canonical path of a copy of {@code bytes} for the container to send from, or null
+     */
+    public record EncodedBody(byte[] bytes, boolean gzip, Path file) {}
+}
@@ -0,0 +1,82 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.common.http.AcceptEncoding;
+import com.reliaquest.server.controller.MockEmployeeController;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Writes an {@link EncodedRoster} returned by {@link MockEmployeeController} from its pre-encoded bytes in whichever
+ * format content negotiation picked, instead of letting Jackson serialize the roster again. When the body was spooled
+ * to a file and the connector supports it, Tomcat is handed the file through its sendfile request attributes and
+ * transfers it to the socket with {@code FileChannel.transferTo}; otherwise the bytes are written in one go. Returning
+ * null afterwards tells Spring there is nothing left to write.
+ */
+@ControllerAdvice(assignableTypes = MockEmployeeController.class)
+@RequiredArgsConstructor
+public class EncodedRosterBodyAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final String GZIP = "gzip";
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final EncodedRosterCache encodedRosterCache;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response) {
+        final var format = EncodedRoster.Format.of(selectedContentType);
+        if (!(body instanceof EncodedRoster roster) || format == null) {
+            return body;
+        }
+        final var encoded = encodedRosterCache.body(roster, format, acceptsGzip(request));
+        final var headers = response.getHeaders();
+        headers.setContentType(format.getMediaType());
+        headers.setContentLength(encoded.bytes().length);
+        if (encoded.gzip()) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        if (encoded.file() != null
+                && request instanceof ServletServerHttpRequest servletRequest
+                && Boolean.TRUE.equals(servletRequest.getServletRequest().getAttribute(SENDFILE_SUPPORTED))) {
+            final var attributes = servletRequest.getServletRequest();
+            attributes.setAttribute(SENDFILE_FILENAME, encoded.file().toString());
+            attributes.setAttribute(SENDFILE_START, 0L);
+            attributes.setAttribute(SENDFILE_END, (long) encoded.bytes().length);
+            return null;
+        }
+        try {
+            response.getBody().write(encoded.bytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return null;
+    }
+
+    private static boolean acceptsGzip(ServerHttpRequest request) {
+        return AcceptEncoding.accepts(request.getHeaders().getOrEmpty(HttpHeaders.ACCEPT_ENCODING), GZIP);
+    }
+}
@@ -0,0 +1,199 @@
+package com.reliaquest.server.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.web.EncodedRoster.EncodedBody;
+import com.reliaquest.server.web.EncodedRoster.Format;
+import com.reliaquest.server.web.EncodedRoster.Variant;
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pre-encoded roster responses, so load tests against {@code GET /api/v1/employee} measure the api under test rather
+ * than this server's serialization. The bodies of one roster version are encoded once per format and content coding,
+ * and a change in {@link MockEmployeeService} only drops them: the next request encodes the new version.
+ * <p>
+ * With a spool directory, every body is also written to a file there, so the container can send it with
+ * {@code FileChannel.transferTo} (see {@link EncodedRosterBodyAdvice}) instead of copying it through the heap. Files
+ * exist only for the current and the previous version: a request still holding an older roster is served its bodies
+ * from memory, and nothing is spooled for it.
+ */
+@Slf4j
+@Component
+public class EncodedRosterCache {
+
+    private static final String FILE_PREFIX = "roster-";
+
+    private final MockEmployeeService mockEmployeeService;
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper smileMapper;
+    private final int gzipMinBytes;
+    private final Path spoolDirectory;
+
+    private volatile EncodedRoster current;
+
+    /*
+     * Kept one version longer, so a transfer of its files that is still in flight finds them.
+     */
+    private volatile EncodedRoster previous;
+
+    public EncodedRosterCache(
+            MockEmployeeService mockEmployeeService,
+            ObjectMapper objectMapper,
+            @Value("${mock.roster.gzip-min-bytes:1024}") int gzipMinBytes,
+            @Value("${mock.roster.spool-dir:}") String spoolDirectory) {
+        this.mockEmployeeService = mockEmployeeService;
+        this.jsonMapper = objectMapper;
+        this.smileMapper = objectMapper.copyWith(new SmileFactory());
+        this.gzipMinBytes = gzipMinBytes;
+        this.spoolDirectory = spoolDirectory(spoolDirectory);
+    }
+
+    public EncodedRoster current() {
+        final var roster = current;
+        if (roster != null && roster.version() == mockEmployeeService.getVersion()) {
+            return roster;
+        }
+        synchronized (this) {
+            if (current == null || current.version() != mockEmployeeService.getVersion()) {
+                if (previous != null) {
+                    delete(previous);
+                }
+                previous = current;
+                current = new EncodedRoster(mockEmployeeService.getRoster());
+            }
+            return current;
+        }
+    }
+
+    /**
+     * @param gzip whether the client accepts gzip
+     */
+    public EncodedBody body(EncodedRoster roster, Format format, boolean gzip) {
+        final var plain = roster.body(new Variant(format, false), variant -> encode(roster, variant));
+        if (!gzip || plain.bytes().length < gzipMinBytes) {
+            return servable(roster, plain);
+        }
+        return servable(
+                roster, roster.body(new Variant(format, true), variant -> spool(roster, variant, gzip(plain.bytes()))));
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (previous != null) {
+            delete(previous);
+        }
+        if (current != null) {
+            delete(current);
+        }
+    }
+
+    private EncodedBody encode(EncodedRoster roster, Variant variant) {
+        final var mapper = variant.format() == Format.SMILE ? smileMapper : jsonMapper;
+        try {
+            return spool(roster, variant, mapper.writeValueAsBytes(roster.response()));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * Drops the file of a roster that was retired since, as it is deleted or about to be.
+     */
+    private EncodedBody servable(EncodedRoster roster, EncodedBody body) {
+        if (body.file() == null || roster == current || roster == previous) {
+            return body;
+        }
+        return new EncodedBody(body.bytes(), body.gzip(), null);
+    }
+
+    private EncodedBody spool(EncodedRoster roster, Variant variant, byte[] bytes) {
+        if (spoolDirectory == null || (roster != current && roster != previous)) {
+            return new EncodedBody(bytes, variant.gzip(), null);
+        }
+        final var name = FILE_PREFIX + roster.version() + "-" + variant.format().name().toLowerCase(Locale.ROOT)
+                + (variant.gzip() ? ".gz" : "");
+        try {
+            final var temp = Files.createTempFile(spoolDirectory, name, ".tmp");
+            try {
+                Files.write(temp, bytes);
+                // under the lock current() retires rosters with, so a file is never left behind by a retired roster
+                synchronized (this) {
+                    if (roster != current && roster != previous) {
+                        return new EncodedBody(bytes, variant.gzip(), null);
+                    }
+                    final var file = Files.move(
+                            temp, spoolDirectory.resolve(name), StandardCopyOption.REPLACE_EXISTING);
+                    // the container only sends files by their canonical path
+                    return new EncodedBody(bytes, variant.gzip(), file.toRealPath());
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            log.warn("Unable to spool roster body {}, serving it from memory", name, e);
+            return new EncodedBody(bytes, variant.gzip(), null);
+        }
+    }
+
+    /*
+     * By name rather than through the roster's bodies, which do not hold a body spooled just before the roster was
+     * retired yet.
+     */
+    private void delete(EncodedRoster roster) {
+        if (spoolDirectory == null) {
+            return;
+        }
+        try (final var files = Files.newDirectoryStream(spoolDirectory, FILE_PREFIX + roster.version() + "-*")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            log.warn("Unable to delete the spooled bodies of roster {}", roster.version(), e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        final var out = new ByteArrayOutputStream(bytes.length / 4);
+        try (final var gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /*
+     * Creates the directory and removes bodies spooled by a previous run; null turns spooling off.
+     */
+    private static Path spoolDirectory(String path) {
+        if (path == null || path.isBlank()) {
+            return null;
+        }
+        final var directory = Path.of(path);
+        try {
+            Files.createDirectories(directory);
+            try (final var files = Files.newDirectoryStream(directory, FILE_PREFIX + "*")) {
+                for (Path file : files) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            return directory;
+        } catch (IOException e) {
+            log.warn("Unable to use {} for roster bodies, serving them from memory", directory, e);
+            return null;
+        }
+    }
+}
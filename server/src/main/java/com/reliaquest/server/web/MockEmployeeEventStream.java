@@ -0,0 +1,207 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.model.MockEmployeeEvent;
+import com.reliaquest.server.service.MockEmployeeService;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Fans roster changes out to server-sent event subscribers. A bounded window of recent events is retained so a
+ * subscriber reconnecting with {@code Last-Event-ID} gets the changes it missed; anything older is answered with a
+ * {@link MockEmployeeEvent.Type#RESET} event instead.
+ * <p>
+ * Events reach this stream synchronously from within the {@link MockEmployeeService} mutations, so they are only queued
+ * per subscriber here and written to the clients by a delivery task of its own. A slow client thus never holds up a
+ * mutation; one that falls behind by more than the replay window is dropped and resumes through the replay, or a
+ * reset, when it reconnects.
+ */
+@Slf4j
+@Component
+public class MockEmployeeEventStream {
+
+    private final MockEmployeeService mockEmployeeService;
+    private final int retainedEvents;
+    private final Duration subscriptionTimeout;
+    private final Executor deliveryExecutor;
+
+    private final Deque<MockEmployeeEvent> recentEvents = new ArrayDeque<>();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public MockEmployeeEventStream(
+            MockEmployeeService mockEmployeeService,
+            @Value("${mock.employees.events.retained:256}") int retainedEvents,
+            @Value("${mock.employees.events.timeout:30m}") Duration subscriptionTimeout) {
+        this(mockEmployeeService, retainedEvents, subscriptionTimeout, Executors.newCachedThreadPool(runnable -> {
+            final var thread = new Thread(runnable, "employee-events");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    MockEmployeeEventStream(
+            MockEmployeeService mockEmployeeService,
+            int retainedEvents,
+            Duration subscriptionTimeout,
+            Executor deliveryExecutor) {
+        this.mockEmployeeService = mockEmployeeService;
+        this.retainedEvents = retainedEvents;
+        this.subscriptionTimeout = subscriptionTimeout;
+        this.deliveryExecutor = deliveryExecutor;
+    }
+
+    public SseEmitter subscribe(Long lastEventId) {
+        final var subscriber = new Subscriber(new SseEmitter(subscriptionTimeout.toMillis()));
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(ignored -> subscribers.remove(subscriber));
+
+        // Holding the lock keeps a concurrent mutation from slipping in between the replay and the registration.
+        synchronized (recentEvents) {
+            for (MockEmployeeEvent event : missedEvents(lastEventId)) {
+                subscriber.offer(event);
+            }
+            subscribers.add(subscriber);
+        }
+        log.debug("Added event subscriber, lastEventId={}, subscribers={}", lastEventId, subscribers.size());
+        return subscriber.emitter;
+    }
+
+    @EventListener
+    public void onEvent(MockEmployeeEvent event) {
+        synchronized (recentEvents) {
+            recentEvents.addLast(event);
+            while (recentEvents.size() > retainedEvents) {
+                recentEvents.removeFirst();
+            }
+            subscribers.removeIf(subscriber -> !subscriber.offer(event));
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (deliveryExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private List<MockEmployeeEvent> missedEvents(Long lastEventId) {
+        final long currentVersion = mockEmployeeService.getVersion();
+        if (lastEventId == null || lastEventId > currentVersion) {
+            return List.of(MockEmployeeEvent.reset(currentVersion));
+        }
+        if (lastEventId == currentVersion) {
+            return List.of();
+        }
+        if (recentEvents.isEmpty() || recentEvents.getFirst().version() > lastEventId + 1) {
+            return List.of(MockEmployeeEvent.reset(currentVersion));
+        }
+        final var missed = new ArrayList<MockEmployeeEvent>();
+        for (MockEmployeeEvent event : recentEvents) {
+            if (event.version() > lastEventId) {
+                missed.add(event);
+            }
+        }
+        return missed;
+    }
+
+    private static boolean send(SseEmitter emitter, MockEmployeeEvent event) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(event.version()))
+                    .name(event.type().name().toLowerCase())
+                    .data(event, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping event subscriber: {}", e.getMessage());
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    /*
+     * One subscriber's queued events, written in order by at most one delivery task at a time. Only that task touches
+     * the emitter, so a write blocked on a stalled client holds no lock anyone else waits for.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Deque<MockEmployeeEvent> pending = new ArrayDeque<>();
+        private boolean delivering;
+        private boolean dropped;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /*
+         * Returns false once the subscriber was dropped, for falling too far behind or failing a write.
+         */
+        boolean offer(MockEmployeeEvent event) {
+            final boolean kept;
+            synchronized (this) {
+                if (dropped) {
+                    return false;
+                }
+                kept = pending.size() < retainedEvents;
+                if (kept) {
+                    pending.addLast(event);
+                } else {
+                    // it resumes from where it got to when it reconnects
+                    dropped = true;
+                    pending.clear();
+                }
+                if (delivering) {
+                    return kept;
+                }
+                delivering = true;
+            }
+            deliveryExecutor.execute(this::deliver);
+            return kept;
+        }
+
+        private void deliver() {
+            while (true) {
+                final MockEmployeeEvent event;
+                synchronized (this) {
+                    event = pending.pollFirst();
+                    if (event == null) {
+                        delivering = false;
+                        if (!dropped) {
+                            return;
+                        }
+                    }
+                }
+                if (event == null) {
+                    log.debug("Dropping event subscriber that fell behind");
+                    emitter.complete();
+                    return;
+                }
+                if (!send(emitter, event)) {
+                    synchronized (this) {
+                        dropped = true;
+                        pending.clear();
+                        delivering = false;
+                    }
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -7,6 +7,7 @@ import java.time.Instant;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.random.RandomGenerator;
 import lombok.Getter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.servlet.HandlerInterceptor;
 
@@ -25,6 +26,9 @@ public class RandomRequestLimitInterceptor implements HandlerInterceptor {
                     .minus(REQUEST_BACKOFF_DURATION)
                     .isBefore(requestLimit.get().getLastRequested())) {
                 response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(
+                        HttpHeaders.RETRY_AFTER,
+                        String.valueOf(retryAfterSeconds(requestLimit.get().getLastRequested())));
                 return false;
             }
             if (Instant.now()
@@ -40,6 +44,15 @@ public class RandomRequestLimitInterceptor implements HandlerInterceptor {
         return true;
     }
 
+    /**
+     * Whole seconds until the backoff started by the last counted request ends, rounded up so a client waiting that long
+     * is let through.
+     */
+    private static long retryAfterSeconds(Instant lastRequested) {
+        Duration remaining = Duration.between(Instant.now(), lastRequested.plus(REQUEST_BACKOFF_DURATION));
+        return Math.max(1, (remaining.toMillis() + 999) / 1000);
+    }
+
     private record RequestLimit(@Getter int count, @Getter Instant lastRequested) {
         public static RequestLimit init() {
             return new RequestLimit(0, Instant.now());
@@ -0,0 +1,71 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeQuery;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeIndexTest {
+
+    private final MockEmployee ada = employee("Ada Lovelace", 300, 36, "Engineer");
+    private final MockEmployee bob = employee("bob builder", 100, 45, "engineer");
+    private final MockEmployee cid = employee("Cid Highwind", 200, 28, "Pilot");
+    private final MockEmployee dee = employee("Dee", null, null, null);
+    private final MockEmployee eve = employee("Adele", 200, 52, "ENGINEER");
+
+    private final MockEmployeeIndex index = new MockEmployeeIndex(List.of(ada, bob, cid, dee, eve));
+
+    @Test
+    void query_withoutCriteria_returnsWholeRosterInOrder() {
+        assertEquals(List.of(ada, bob, cid, dee, eve), index.query(query().build()));
+    }
+
+    @Test
+    void query_titleAndSalaryRange_ignoresTitleCase() {
+        final var matches =
+                index.query(query().title("Engineer").minSalary(150).maxSalary(300).build());
+
+        assertEquals(List.of(ada, eve), matches);
+    }
+
+    @Test
+    void query_salaryRange_isInclusiveAndLeavesOutEmployeesWithoutSalary() {
+        assertEquals(List.of(bob, cid, eve), index.query(query().maxSalary(200).build()));
+        assertEquals(List.of(ada, cid, eve), index.query(query().minSalary(200).build()));
+    }
+
+    @Test
+    void query_ageRange_combinedWithNamePrefix() {
+        assertEquals(List.of(ada, eve), index.query(query().namePrefix("AD").build()));
+        assertEquals(List.of(eve), index.query(query().namePrefix("ad").minAge(40).build()));
+    }
+
+    @Test
+    void query_unknownTitle_returnsNothing() {
+        assertTrue(index.query(query().title("astronaut").build()).isEmpty());
+    }
+
+    @Test
+    void query_emptyRange_returnsNothing() {
+        assertTrue(index.query(query().minSalary(400).build()).isEmpty());
+        assertTrue(index.query(query().minAge(50).maxAge(40).build()).isEmpty());
+    }
+
+    private static MockEmployeeQuery.MockEmployeeQueryBuilder query() {
+        return MockEmployeeQuery.builder();
+    }
+
+    private static MockEmployee employee(String name, Integer salary, Integer age, String title) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(salary)
+                .age(age)
+                .title(title)
+                .build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeEvent;
+import com.reliaquest.server.model.MockEmployeeQuery;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeServiceTest {
+
+    private final List<Object> events = new ArrayList<>();
+    private final MockEmployee ada = MockEmployee.builder()
+            .id(UUID.randomUUID())
+            .name("Ada")
+            .salary(300)
+            .age(36)
+            .title("Engineer")
+            .build();
+
+    private MockEmployeeService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new MockEmployeeService(new Faker(), events::add, new ArrayList<>(List.of(ada)));
+    }
+
+    @Test
+    void query_afterCreate_seesNewEmployee() {
+        final var engineers = MockEmployeeQuery.builder().title("engineer").build();
+        assertEquals(List.of(ada), service.query(engineers, 0, 10).content());
+
+        final var created = service.create(input("Bob", 100, "Engineer"));
+
+        final var page = service.query(engineers, 0, 10);
+        assertEquals(List.of(ada, created), page.content());
+        assertEquals(2, page.totalElements());
+        assertEquals(List.of(created), service.query(MockEmployeeQuery.builder().maxSalary(100).build(), 0, 10)
+                .content());
+    }
+
+    @Test
+    void query_afterDelete_leavesOutRemovedEmployee() {
+        final var created = service.create(input("Bob", 100, "Engineer"));
+        final var engineers = MockEmployeeQuery.builder().title("engineer").build();
+        assertEquals(List.of(ada, created), service.query(engineers, 0, 10).content());
+
+        final var input = new DeleteMockEmployeeInput();
+        input.setName("ada");
+        assertTrue(service.delete(input));
+
+        assertEquals(List.of(created), service.query(engineers, 0, 10).content());
+        assertTrue(service.query(MockEmployeeQuery.builder().namePrefix("ad").build(), 0, 10)
+                .content()
+                .isEmpty());
+    }
+
+    @Test
+    void create_publishesEventWithNextVersion() {
+        final long before = service.getVersion();
+
+        final var created = service.create(input("Bob", 100, "Engineer"));
+
+        assertEquals(List.of(MockEmployeeEvent.created(before + 1, created)), events);
+    }
+
+    private static CreateMockEmployeeInput input(String name, int salary, String title) {
+        final var input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(salary);
+        input.setAge(30);
+        input.setTitle(title);
+        return input;
+    }
+}
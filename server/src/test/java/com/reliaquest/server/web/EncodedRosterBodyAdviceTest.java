@@ -0,0 +1,172 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.server.controller.MockEmployeeController;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeRoster;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/*
+ * Standalone, so the random request limit of ServerConfiguration stays out of the way.
+ */
+class EncodedRosterBodyAdviceTest {
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    @TempDir
+    Path spoolDirectory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MockEmployee ada = MockEmployee.builder()
+            .id(UUID.randomUUID())
+            .name("Ada")
+            .salary(300)
+            .age(36)
+            .title("Engineer")
+            .email("ada@company.com")
+            .build();
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        final var mockEmployeeService = mock(MockEmployeeService.class);
+        when(mockEmployeeService.getVersion()).thenReturn(7L);
+        when(mockEmployeeService.getRoster()).thenReturn(new MockEmployeeRoster(7, List.of(ada)));
+        // gzip-min-bytes of 0, so even this small roster is compressed when the client accepts it
+        final var encodedRosterCache =
+                new EncodedRosterCache(mockEmployeeService, objectMapper, 0, spoolDirectory.toString());
+        mockMvc = MockMvcBuilders.standaloneSetup(new MockEmployeeController(
+                        mockEmployeeService, mock(MockEmployeeEventStream.class), encodedRosterCache))
+                .setControllerAdvice(new EncodedRosterBodyAdvice(encodedRosterCache))
+                .build();
+    }
+
+    @Test
+    void getEmployees_json_writesPreEncodedBody() throws Exception {
+        final var body = mockMvc.perform(get("/api/v1/employee"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn()
+                .getResponse();
+
+        final var bytes = body.getContentAsByteArray();
+        assertEquals(bytes.length, body.getContentLength());
+        assertEquals(expected(), objectMapper.readTree(bytes));
+    }
+
+    @Test
+    void getEmployees_smile_writesSmileBody() throws Exception {
+        final var bytes = mockMvc.perform(get("/api/v1/employee").accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        assertEquals(expected(), new ObjectMapper(new SmileFactory()).readTree(bytes));
+    }
+
+    @Test
+    void getEmployees_acceptingGzip_writesGzipBody() throws Exception {
+        final var bytes = mockMvc.perform(get("/api/v1/employee").header(HttpHeaders.ACCEPT_ENCODING, "gzip, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        assertEquals(expected(), objectMapper.readTree(gunzip(bytes)));
+    }
+
+    @Test
+    void getEmployees_gzipRefused_writesIdentityBody() throws Exception {
+        final var refusing = get("/api/v1/employee").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, x-gzip");
+        final var bytes = mockMvc.perform(refusing)
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        assertEquals(expected(), objectMapper.readTree(bytes));
+    }
+
+    @Test
+    void getEmployees_taggedAndVariedByNegotiatedHeaders() throws Exception {
+        mockMvc.perform(get("/api/v1/employee"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7\""))
+                .andExpect(header().string(HttpHeaders.VARY, "Accept, Accept-Encoding"));
+    }
+
+    @Test
+    void getEmployees_matchingETag_answersNotModified() throws Exception {
+        mockMvc.perform(get("/api/v1/employee").header(HttpHeaders.IF_NONE_MATCH, "\"7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7\""))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void getEmployees_sendfileSupported_handsSpooledFileToContainer() throws Exception {
+        final var response = mockMvc.perform(get("/api/v1/employee").requestAttr(SENDFILE_SUPPORTED, true))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(new byte[0]))
+                .andReturn();
+
+        final var file = Path.of((String) response.getRequest().getAttribute(SENDFILE_FILENAME));
+        assertEquals(spoolDirectory.toRealPath(), file.getParent());
+        assertEquals(Files.size(file), response.getResponse().getContentLength());
+        assertEquals(expected(), objectMapper.readTree(Files.readAllBytes(file)));
+    }
+
+    @Test
+    void getEmployees_sendfileUnsupported_writesBytes() throws Exception {
+        final var response = mockMvc.perform(get("/api/v1/employee").requestAttr(SENDFILE_SUPPORTED, false))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertNull(response.getRequest().getAttribute(SENDFILE_FILENAME));
+        assertEquals(expected(), objectMapper.readTree(response.getResponse().getContentAsByteArray()));
+    }
+
+    private JsonNode expected() {
+        return objectMapper.valueToTree(Response.handledWith(List.of(ada)));
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (final var in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+}
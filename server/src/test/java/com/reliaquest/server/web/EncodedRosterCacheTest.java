@@ -0,0 +1,84 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.MockEmployeeRoster;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.web.EncodedRoster.Format;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EncodedRosterCacheTest {
+
+    @TempDir
+    Path spoolDirectory;
+
+    private final MockEmployeeService mockEmployeeService = mock(MockEmployeeService.class);
+
+    private EncodedRosterCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new EncodedRosterCache(mockEmployeeService, new ObjectMapper(), 1024, spoolDirectory.toString());
+    }
+
+    @Test
+    void body_spoolsCurrentAndPreviousRoster() {
+        final var first = rosterAt(1);
+        final var firstBody = cache.body(first, Format.JSON, false);
+        final var second = rosterAt(2);
+
+        assertNotNull(firstBody.file());
+        assertTrue(Files.exists(firstBody.file()));
+        assertNotNull(cache.body(first, Format.SMILE, false).file());
+        assertNotNull(cache.body(second, Format.JSON, false).file());
+    }
+
+    @Test
+    void body_ofRetiredRoster_isServedFromMemory() throws IOException {
+        final var first = rosterAt(1);
+        final var spooled = cache.body(first, Format.JSON, false);
+        rosterAt(2);
+        rosterAt(3);
+
+        assertFalse(Files.exists(spooled.file()));
+        final var json = cache.body(first, Format.JSON, false);
+        assertNull(json.file());
+        assertSame(spooled.bytes(), json.bytes());
+        assertNull(cache.body(first, Format.SMILE, false).file());
+        try (final var files = Files.list(spoolDirectory)) {
+            assertTrue(files.noneMatch(file -> file.getFileName().toString().startsWith("roster-1-")));
+        }
+    }
+
+    @Test
+    void close_deletesSpooledBodies() throws IOException {
+        cache.body(rosterAt(1), Format.JSON, false);
+        cache.body(rosterAt(2), Format.SMILE, false);
+
+        cache.close();
+
+        try (final var files = Files.list(spoolDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private EncodedRoster rosterAt(long version) {
+        when(mockEmployeeService.getVersion()).thenReturn(version);
+        when(mockEmployeeService.getRoster()).thenReturn(new MockEmployeeRoster(version, List.of()));
+        return cache.current();
+    }
+}
@@ -0,0 +1,126 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import com.reliaquest.server.controller.MockEmployeeController;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployeeEvent;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/*
+ * Standalone, so the random request limit of ServerConfiguration stays out of the way.
+ */
+class MockEmployeeEventStreamTest {
+
+    private final List<Runnable> deliveries = new ArrayList<>();
+
+    private MockEmployeeService service;
+    private MockEmployeeEventStream stream;
+    private MockMvc mockMvc;
+
+    @Test
+    void subscribe_withLastEventId_replaysMissedEvents() throws Exception {
+        start(8, Runnable::run);
+        final long seen = service.getVersion();
+        create("Ada");
+        create("Bob");
+
+        final var events = subscribe(seen).getContentAsString();
+
+        assertTrue(events.contains("id:" + (seen + 1) + "\nevent:created\n"), events);
+        assertTrue(events.contains("id:" + (seen + 2) + "\nevent:created\n"), events);
+        assertFalse(events.contains("event:reset"), events);
+    }
+
+    @Test
+    void subscribe_upToDate_replaysNothingAndReceivesNextEvent() throws Exception {
+        start(8, Runnable::run);
+        create("Ada");
+        final var response = subscribe(service.getVersion());
+        assertEquals("", response.getContentAsString());
+
+        create("Bob");
+
+        assertTrue(response.getContentAsString().contains("id:" + service.getVersion() + "\nevent:created\n"));
+    }
+
+    @Test
+    void subscribe_olderThanRetainedEvents_resets() throws Exception {
+        start(1, Runnable::run);
+        final long seen = service.getVersion();
+        create("Ada");
+        create("Bob");
+
+        final var events = subscribe(seen).getContentAsString();
+
+        assertTrue(events.contains("id:" + service.getVersion() + "\nevent:reset\n"), events);
+        assertFalse(events.contains("event:created"), events);
+    }
+
+    @Test
+    void subscribe_withoutLastEventId_resets() throws Exception {
+        start(8, Runnable::run);
+
+        final var events = subscribe(null).getContentAsString();
+
+        assertTrue(events.contains("id:" + service.getVersion() + "\nevent:reset\n"), events);
+    }
+
+    @Test
+    void mutation_doesNotWaitForDelivery() throws Exception {
+        start(8, deliveries::add);
+        final var response = subscribe(service.getVersion());
+
+        create("Ada");
+        create("Bob");
+
+        assertEquals("", response.getContentAsString());
+        final long version = service.getVersion();
+        new ArrayList<>(deliveries).forEach(Runnable::run);
+        final var events = response.getContentAsString();
+        assertTrue(events.indexOf("id:" + (version - 1) + "\n") < events.indexOf("id:" + version + "\n"), events);
+    }
+
+    private void start(int retainedEvents, Executor deliveryExecutor) {
+        service = new MockEmployeeService(
+                new Faker(), event -> stream.onEvent((MockEmployeeEvent) event), new ArrayList<>());
+        stream = new MockEmployeeEventStream(service, retainedEvents, Duration.ofMinutes(1), deliveryExecutor);
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                        new MockEmployeeController(service, stream, mock(EncodedRosterCache.class)))
+                .build();
+    }
+
+    private MockHttpServletResponse subscribe(Long lastEventId) throws Exception {
+        final var events = get("/api/v1/employee/events");
+        if (lastEventId != null) {
+            events.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(events)
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    private void create(String name) {
+        final var input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(100);
+        input.setAge(30);
+        input.setTitle("Engineer");
+        service.create(input);
+    }
+}